@@ -0,0 +1,49 @@
+package com.example.jwttemplate;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.TestJwtProperties;
+
+import java.time.Duration;
+
+/**
+ * Shared configuration for benchmarks, mirroring the test application.yml.
+ */
+public final class BenchmarkSupport {
+    private BenchmarkSupport() {}
+
+    public static final String SECRET = "BENCH_BENCH_BENCH_BENCH_BENCH_BENCH_BENCH_32_BYTES";
+
+    public static JwtProperties jwtProperties(boolean fastVerify, boolean verifiedCache) {
+        return jwtProperties(fastVerify, verifiedCache, false);
+    }
+
+    public static JwtProperties jwtProperties(boolean fastVerify, boolean verifiedCache, boolean denylist) {
+        return bench()
+            .verifiedCache(verifiedCache, 10_000)
+            .fastVerify(fastVerify)
+            .denylist(denylist, 100_000, 0.01)
+            .build();
+    }
+
+    public static JwtProperties jwtProperties(JwtProperties.SigningAlgorithm algorithm) {
+        return bench().signing(algorithm).build();
+    }
+
+    public static JwtProperties jwtProperties(boolean fastVerify, int accessTokenVersion) {
+        return bench().fastVerify(fastVerify).accessTokenVersion(accessTokenVersion).build();
+    }
+
+    public static JwtProperties jwtProperties(JwtProperties.RefreshTokenFormat refreshTokenFormat) {
+        return bench().refreshTokenFormat(refreshTokenFormat).build();
+    }
+
+    private static TestJwtProperties bench() {
+        return TestJwtProperties.builder()
+            .secret(SECRET)
+            .issuer("jwt-template-bench")
+            .ttlSeconds(900, 1209600)
+            .verifiedCache(false, 10_000)
+            .denylist(false, 100_000, 0.01)
+            .epochCache(10_000, Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.jwttemplate;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.jwt.JwtKeyRing;
+import com.example.jwttemplate.jwt.JwtTokenProvider;
+import com.example.jwttemplate.refreshtoken.TokenHashing;
+import com.example.jwttemplate.user.UserRole;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-thread pool (Tomcat default: 200 workers) vs. virtual thread per request.
+ * Each simulated request verifies an access token, hashes a refresh token, runs one query through
+ * a Hikari pool on H2 and then waits {@code ioMillis} to stand in for network latency to a real DB.
+ * The score is the time to complete a burst of {@code concurrency} requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class ExecutionModeBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"0", "5"})
+    public int ioMillis;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    ExecutorService executor;
+    HikariDataSource dataSource;
+    JwtTokenProvider provider;
+    String accessToken;
+    String refreshToken;
+
+    @Setup
+    public void setup() throws Exception {
+        executor = mode.equals("virtual")
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(200);
+
+        HikariConfig hc = new HikariConfig();
+        hc.setJdbcUrl("jdbc:h2:mem:exec_mode_bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        hc.setUsername("sa");
+        hc.setMaximumPoolSize(20);
+        dataSource = new HikariDataSource(hc);
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+            st.execute("create table if not exists users (id bigint primary key, email varchar(120))");
+            st.execute("merge into users key(id) values (1, 'user@example.com')");
+        }
+
+        JwtProperties props = BenchmarkSupport.jwtProperties(true, false);
+        provider = new JwtTokenProvider(props, new JwtKeyRing(props), new SimpleMeterRegistry());
+        accessToken = provider.createAccessToken(1L, "user@example.com", UserRole.USER, 0);
+        refreshToken = provider.createRefreshToken(1L, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(executor.submit(this::handleRequest));
+        }
+        int sum = 0;
+        for (Future<Integer> f : futures) sum += f.get();
+        return sum;
+    }
+
+    private int handleRequest() throws Exception {
+        provider.verify(accessToken);
+        TokenHashing.sha256(refreshToken);
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("select email from users where id = ?")) {
+            ps.setLong(1, 1L);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+            }
+        }
+        if (ioMillis > 0) Thread.sleep(ioMillis);
+        return 1;
+    }
+}
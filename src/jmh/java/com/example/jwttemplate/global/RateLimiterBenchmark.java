@@ -0,0 +1,48 @@
+package com.example.jwttemplate.global;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link RateLimiter#tryAcquire} call: all threads on one key (one attacker IP)
+ * vs spread over many keys (normal traffic).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    RateLimiter limiter;
+    String[] keys;
+
+    @Setup
+    public void setup() {
+        // 거의 거절되지 않도록 넉넉한 bucket: CAS 경로를 측정한다
+        limiter = new RateLimiter(1_000_000, 1, 100_000);
+        keys = new String[4096];
+        for (int i = 0; i < keys.length; i++) keys[i] = "10.0." + (i >> 8) + "." + (i & 255);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public long singleKey() {
+        return limiter.tryAcquire(keys[0]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long singleKey_contended() {
+        return limiter.tryAcquire(keys[0]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long manyKeys_contended(Cursor c) {
+        return limiter.tryAcquire(keys[c.next++ & 4095]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.BenchmarkSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link AccessTokenDenylist#isRevoked} with {@code revokedCount} ids on the list.
+ * {@code notRevoked} is what almost every request pays; {@code revoked} goes through the exact set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AccessTokenDenylistBenchmark {
+
+    @Param({"1000", "100000"})
+    public int revokedCount;
+
+    AccessTokenDenylist denylist;
+    String revokedJti;
+    String[] liveJtis;
+    int next;
+
+    @Setup
+    public void setup() {
+        denylist = new AccessTokenDenylist(
+            BenchmarkSupport.jwtProperties(false, false, true), new SimpleMeterRegistry()
+        );
+        long exp = System.currentTimeMillis() + 600_000;
+        for (int i = 0; i < revokedCount; i++) {
+            revokedJti = UUID.randomUUID().toString();
+            denylist.revoke(revokedJti, exp);
+        }
+        liveJtis = new String[1024];
+        for (int i = 0; i < liveJtis.length; i++) liveJtis[i] = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return denylist.isRevoked(liveJtis[next++ & 1023]);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return denylist.isRevoked(revokedJti);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.BenchmarkSupport;
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.user.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * v1 vs v2 access token: issue and verify cost, on both verification paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessTokenFormatBenchmark {
+
+    @Param({"1", "2"})
+    public int version;
+
+    @Param({"false", "true"})
+    public boolean fastVerify;
+
+    JwtTokenProvider provider;
+    String accessToken;
+
+    @Setup
+    public void setup() {
+        JwtProperties props = BenchmarkSupport.jwtProperties(fastVerify, version);
+        provider = new JwtTokenProvider(props, new JwtKeyRing(props), new SimpleMeterRegistry());
+        accessToken = provider.createAccessToken(1L, "user@example.com", UserRole.USER, 0);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return provider.createAccessToken(1L, "user@example.com", UserRole.USER, 0);
+    }
+
+    @Benchmark
+    public TokenClaims verify() {
+        return provider.verify(accessToken);
+    }
+}
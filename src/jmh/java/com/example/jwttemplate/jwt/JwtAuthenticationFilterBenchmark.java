@@ -0,0 +1,95 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.BenchmarkSupport;
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.user.TokenEpochs;
+import com.example.jwttemplate.user.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter} for an authenticated call such as {@code GET /api/me}.
+ * Calls {@code doFilterInternal} directly so the same request object can be reused.
+ * {@code publicPathRequest} goes through {@code doFilter} with a bearer token on {@code POST /api/auth/login},
+ * which the filter should skip without verifying anything.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"false", "true"})
+        public boolean fastVerify;
+
+        @Param({"false", "true"})
+        public boolean verifiedCache;
+
+        // 다른 토큰 10,000개가 폐기된 상태에서 폐기되지 않은 토큰으로 요청
+        @Param({"false", "true"})
+        public boolean denylist;
+
+        JwtAuthenticationFilter filter;
+        String bearer;
+
+        @Setup
+        public void setup() {
+            JwtProperties props = BenchmarkSupport.jwtProperties(fastVerify, verifiedCache, denylist);
+            JwtKeyRing keyRing = new JwtKeyRing(props);
+            JwtTokenProvider provider = new JwtTokenProvider(props, keyRing, new SimpleMeterRegistry());
+            AccessTokenDenylist deny = new AccessTokenDenylist(props, new SimpleMeterRegistry());
+            long exp = System.currentTimeMillis() + 600_000;
+            for (int i = 0; i < 10_000; i++) deny.revoke(UUID.randomUUID().toString(), exp);
+            filter = new JwtAuthenticationFilter(
+                provider, new VerifiedTokenCache(props, keyRing, new SimpleMeterRegistry()), deny,
+                new TokenEpochs(props, id -> 0L, new SimpleMeterRegistry()), new SimpleMeterRegistry()
+            );
+            bearer = "Bearer " + provider.createAccessToken(1L, "user@example.com", UserRole.USER, 0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PerThread {
+        MockHttpServletRequest request;
+        MockHttpServletRequest publicRequest;
+        MockHttpServletResponse response;
+        FilterChain chain = (req, res) -> {};
+
+        @Setup
+        public void setup(Shared shared) {
+            request = new MockHttpServletRequest("GET", "/api/me");
+            request.addHeader(HttpHeaders.AUTHORIZATION, shared.bearer);
+            publicRequest = new MockHttpServletRequest("POST", "/api/auth/login");
+            publicRequest.addHeader(HttpHeaders.AUTHORIZATION, shared.bearer);
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public Object authenticatedRequest(Shared shared, PerThread t) throws Exception {
+        shared.filter.doFilterInternal(t.request, t.response, t.chain);
+        Object auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+
+    @Benchmark
+    public Object publicPathRequest(Shared shared, PerThread t) throws Exception {
+        shared.filter.doFilter(t.publicRequest, t.response, t.chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object authenticatedRequest_contended(Shared shared, PerThread t) throws Exception {
+        return authenticatedRequest(shared, t);
+    }
+}
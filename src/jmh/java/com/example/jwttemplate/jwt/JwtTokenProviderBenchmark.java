@@ -0,0 +1,61 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.BenchmarkSupport;
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.user.UserRole;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"false", "true"})
+    public boolean fastVerify;
+
+    JwtTokenProvider provider;
+    String accessToken;
+
+    @Setup
+    public void setup() {
+        JwtProperties props = BenchmarkSupport.jwtProperties(fastVerify, false);
+        provider = new JwtTokenProvider(props, new JwtKeyRing(props), new SimpleMeterRegistry());
+        accessToken = provider.createAccessToken(1L, "user@example.com", UserRole.USER, 0);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return provider.createAccessToken(1L, "user@example.com", UserRole.USER, 0);
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        return provider.createRefreshToken(1L, 0);
+    }
+
+    @Benchmark
+    public Claims parseAndValidate() {
+        return provider.parseAndValidate(accessToken);
+    }
+
+    @Benchmark
+    public TokenClaims verify() {
+        return provider.verify(accessToken);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String createAccessToken_contended() {
+        return provider.createAccessToken(1L, "user@example.com", UserRole.USER, 0);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public TokenClaims verify_contended() {
+        return provider.verify(accessToken);
+    }
+}
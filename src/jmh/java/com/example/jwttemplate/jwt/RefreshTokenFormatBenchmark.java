@@ -0,0 +1,51 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.BenchmarkSupport;
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.refreshtoken.TokenHashing;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signed JWT vs opaque refresh token: issue, read, and the whole CPU side of a refresh
+ * (read the cookie, digest it, issue and digest the replacement); the store round trips are the same
+ * for both. The cookie value size is printed in setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RefreshTokenFormatBenchmark {
+
+    @Param({"JWT", "OPAQUE"})
+    public JwtProperties.RefreshTokenFormat format;
+
+    JwtTokenProvider provider;
+    String refreshToken;
+
+    @Setup
+    public void setup() {
+        JwtProperties props = BenchmarkSupport.jwtProperties(format);
+        provider = new JwtTokenProvider(props, new JwtKeyRing(props), new SimpleMeterRegistry());
+        refreshToken = provider.issueRefreshToken(1L, 0).value();
+    }
+
+    @Benchmark
+    public IssuedToken issueRefreshToken() {
+        return provider.issueRefreshToken(1L, 0);
+    }
+
+    @Benchmark
+    public RefreshTokenClaims verifyRefreshToken() {
+        return provider.verifyRefreshToken(refreshToken);
+    }
+
+    @Benchmark
+    public byte[] rotate() {
+        RefreshTokenClaims claims = provider.verifyRefreshToken(refreshToken);
+        TokenHashing.sha256(refreshToken);
+        IssuedToken next = provider.issueRefreshToken(claims.userId(), claims.epoch());
+        return TokenHashing.sha256(next.value());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.BenchmarkSupport;
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.user.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token sign/verify cost per {@code jwt.signing.algorithm}. {@code verify} is what every
+ * authenticated request (or a resource server using the JWKS) pays on a verified-cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SigningAlgorithmBenchmark {
+
+    @Param({"HMAC", "ES256", "EDDSA"})
+    public JwtProperties.SigningAlgorithm algorithm;
+
+    JwtTokenProvider provider;
+    String accessToken;
+
+    @Setup
+    public void setup() {
+        JwtProperties props = BenchmarkSupport.jwtProperties(algorithm);
+        provider = new JwtTokenProvider(props, new JwtKeyRing(props), new SimpleMeterRegistry());
+        accessToken = provider.createAccessToken(1L, "user@example.com", UserRole.USER, 0);
+    }
+
+    @Benchmark
+    public String sign() {
+        return provider.createAccessToken(1L, "user@example.com", UserRole.USER, 0);
+    }
+
+    @Benchmark
+    public TokenClaims verify() {
+        return provider.verify(accessToken);
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.BenchmarkSupport;
+import com.example.jwttemplate.config.RefreshTokenProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single {@code refresh_tokens} table (schema from db/schema-h2.sql, purge as in RefreshTokenPurgeJob:
+ * select 500 expired ids, delete by id) vs. one table per expiry day ({@link PartitionedRefreshTokenStore}),
+ * both on H2 preloaded with {@code rows} tokens whose expiries are spread over the 14-day refresh TTL.
+ * <p>
+ * insert / lookup: average time per operation on the loaded tables (lookup = revoke-if-active
+ * routing by exp, the refresh path). purge: single shot removing one expired day
+ * ({@code rows / 14} tokens) - batched deletes vs. {@code drop table}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RefreshTokenStorageBenchmark {
+
+    private static final int DAYS = 14;
+    private static final int SAMPLES = 100_000;
+    private static final int PURGE_BATCH = 500;
+
+    @Param({"single", "partitioned"})
+    public String layout;
+
+    @Param({"1000000"})
+    public int rows;
+
+    HikariDataSource dataSource;
+    Layout store;
+    byte[][] sampleDigests = new byte[SAMPLES][];
+    Instant[] sampleExpiries = new Instant[SAMPLES];
+    Instant now;
+
+    /** The operations being compared, on top of raw JDBC for both layouts. */
+    interface Layout {
+        void save(byte[] digest, long userId, Instant expiresAt);
+
+        boolean revokeIfActive(byte[] digest, Instant expiresAt, Instant now);
+
+        Optional<StoredRefreshToken> find(byte[] digest, Instant expiresAt);
+
+        int purgeExpired(Instant now);
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HikariConfig hc = new HikariConfig();
+        hc.setJdbcUrl("jdbc:h2:mem:refresh_storage_bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        hc.setUsername("sa");
+        hc.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(hc);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        store = layout.equals("single") ? new SingleTable(jdbc) : partitioned(jdbc);
+
+        now = Instant.now();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < rows; i++) {
+            byte[] digest = randomDigest();
+            Instant exp = now.plusMillis(random.nextLong(Duration.ofDays(DAYS).toMillis()));
+            store.save(digest, i, exp);
+            if (i < SAMPLES) {
+                sampleDigests[i] = digest;
+                sampleExpiries[i] = exp;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void insert() {
+        store.save(randomDigest(), 1L, now.plus(Duration.ofDays(DAYS)));
+    }
+
+    @Benchmark
+    public Optional<StoredRefreshToken> lookup() {
+        int i = ThreadLocalRandom.current().nextInt(SAMPLES);
+        return store.find(sampleDigests[i], sampleExpiries[i]);
+    }
+
+    @Benchmark
+    public boolean revokeMiss() {
+        // 활성 토큰이 아니어서 실패하는 CAS (이미 회전된 토큰 재사용)
+        return store.revokeIfActive(randomDigest(), now.plus(Duration.ofDays(1)), now);
+    }
+
+    /** One expired day of tokens on top of the preloaded table(s), recreated before each purge. */
+    @State(Scope.Benchmark)
+    public static class ExpiredDay {
+        Instant purgeAt;
+
+        @Setup(Level.Iteration)
+        public void fill(RefreshTokenStorageBenchmark bench) {
+            // 하루 전에 끝난 bucket 하나를 가득 채운다
+            Instant dayStart = bench.now.truncatedTo(ChronoUnit.DAYS).minus(Duration.ofDays(2));
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < bench.rows / DAYS; i++) {
+                bench.store.save(randomDigest(), i, dayStart.plusMillis(random.nextLong(Duration.ofDays(1).toMillis())));
+            }
+            purgeAt = dayStart.plus(Duration.ofDays(1));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int purge(ExpiredDay day) {
+        return store.purgeExpired(day.purgeAt);
+    }
+
+    private static byte[] randomDigest() {
+        byte[] digest = new byte[32];
+        ThreadLocalRandom.current().nextBytes(digest);
+        return digest;
+    }
+
+    private static Layout partitioned(JdbcTemplate jdbc) {
+        RefreshTokenProperties props = new RefreshTokenProperties(
+            RefreshTokenProperties.Store.PARTITIONED, RefreshTokenProperties.HashStorage.BINARY, null, null, null,
+            new RefreshTokenProperties.Partitioned(Duration.ofDays(1), Duration.ofMinutes(10)));
+        // maintain()(lease 필요)은 쓰지 않으므로 JobLeases 없이
+        PartitionedRefreshTokenStore partitioned = new PartitionedRefreshTokenStore(
+            jdbc, null, props, BenchmarkSupport.jwtProperties(false, false), new SimpleMeterRegistry());
+        return new Layout() {
+            @Override
+            public void save(byte[] digest, long userId, Instant expiresAt) {
+                partitioned.save(digest, userId, expiresAt);
+            }
+
+            @Override
+            public boolean revokeIfActive(byte[] digest, Instant expiresAt, Instant now) {
+                return partitioned.revokeIfActive(digest, expiresAt, now);
+            }
+
+            @Override
+            public Optional<StoredRefreshToken> find(byte[] digest, Instant expiresAt) {
+                return partitioned.find(digest, expiresAt);
+            }
+
+            @Override
+            public int purgeExpired(Instant now) {
+                return partitioned.dropExpired(partitioned.buckets(), now.toEpochMilli());
+            }
+        };
+    }
+
+    /** refresh_tokens as created by Hibernate, with the queries JpaRefreshTokenStore and the purge job run. */
+    static final class SingleTable implements Layout {
+
+        private final JdbcTemplate jdbc;
+
+        SingleTable(JdbcTemplate jdbc) {
+            this.jdbc = jdbc;
+            jdbc.execute("create table refresh_tokens ("
+                + "created_at timestamp(6) with time zone not null, "
+                + "expires_at timestamp(6) with time zone not null, "
+                + "id bigint generated by default as identity, "
+                + "revoked_at timestamp(6) with time zone, "
+                + "user_id bigint not null, "
+                + "token_digest binary(32) unique, "
+                + "token_hash varchar(64) unique, "
+                + "primary key (id))");
+            jdbc.execute("create index idx_refresh_token_user on refresh_tokens (user_id)");
+            jdbc.execute("create index idx_refresh_token_expires on refresh_tokens (expires_at)");
+            jdbc.execute("create index idx_refresh_token_revoked on refresh_tokens (revoked_at)");
+        }
+
+        @Override
+        public void save(byte[] digest, long userId, Instant expiresAt) {
+            jdbc.update("insert into refresh_tokens (token_digest, user_id, expires_at, created_at) "
+                + "values (?, ?, ?, ?)", digest, userId, utc(expiresAt), utc(Instant.now()));
+        }
+
+        @Override
+        public boolean revokeIfActive(byte[] digest, Instant expiresAt, Instant now) {
+            return jdbc.update("update refresh_tokens set revoked_at = ? "
+                + "where token_digest = ? and revoked_at is null and expires_at > ?", utc(now), digest, utc(now)) == 1;
+        }
+
+        @Override
+        public Optional<StoredRefreshToken> find(byte[] digest, Instant expiresAt) {
+            return jdbc.query("select user_id, expires_at, revoked_at from refresh_tokens where token_digest = ?",
+                (rs, i) -> new StoredRefreshToken(rs.getLong(1), rs.getObject(2, OffsetDateTime.class).toInstant(),
+                    rs.getObject(3, OffsetDateTime.class) == null ? null : rs.getObject(3, OffsetDateTime.class).toInstant()),
+                (Object) digest).stream().findFirst();
+        }
+
+        @Override
+        public int purgeExpired(Instant now) {
+            int total = 0;
+            while (true) {
+                List<Long> ids = jdbc.queryForList(
+                    "select id from refresh_tokens where expires_at < ? limit ?", Long.class, utc(now), PURGE_BATCH);
+                if (ids.isEmpty()) return total;
+                String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+                total += jdbc.update("delete from refresh_tokens where id in (" + in + ")", ids.toArray());
+            }
+        }
+
+        private static OffsetDateTime utc(Instant instant) {
+            return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+        }
+    }
+}
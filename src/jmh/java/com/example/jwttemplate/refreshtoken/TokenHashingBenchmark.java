@@ -0,0 +1,40 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.BenchmarkSupport;
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.jwt.JwtKeyRing;
+import com.example.jwttemplate.jwt.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TokenHashingBenchmark {
+
+    String refreshToken;
+
+    @Setup
+    public void setup() {
+        JwtProperties props = BenchmarkSupport.jwtProperties(false, false);
+        refreshToken = new JwtTokenProvider(props, new JwtKeyRing(props), new SimpleMeterRegistry()).createRefreshToken(1L, 0);
+    }
+
+    @Benchmark
+    public byte[] sha256() {
+        return TokenHashing.sha256(refreshToken);
+    }
+
+    @Benchmark
+    public String sha256Hex() {
+        return TokenHashing.sha256Hex(refreshToken);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String sha256Hex_contended() {
+        return TokenHashing.sha256Hex(refreshToken);
+    }
+}
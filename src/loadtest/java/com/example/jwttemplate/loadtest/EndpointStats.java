@@ -0,0 +1,69 @@
+package com.example.jwttemplate.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, 3 significant digits, up to one minute) and response status
+ * counts for one endpoint. Transport failures are counted under the {@code io_error} status.
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    /**
+     * {@code expectedIntervalMicros > 0} back-fills samples a stalled closed-loop user would have
+     * sent (coordinated omission correction); pass 0 when there is no think time.
+     */
+    void record(long latencyMicros, String status, long expectedIntervalMicros) {
+        long value = Math.min(Math.max(latencyMicros, 1), HIGHEST_MICROS);
+        if (expectedIntervalMicros > 0) histogram.recordValueWithExpectedInterval(value, expectedIntervalMicros);
+        else histogram.recordValue(value);
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    void error() {
+        statuses.computeIfAbsent("io_error", s -> new LongAdder()).increment();
+    }
+
+    void reset() {
+        histogram.reset();
+        statuses.clear();
+    }
+
+    long requests() {
+        return statuses.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Map<String, Long> statuses() {
+        Map<String, Long> sorted = new TreeMap<>();
+        statuses.forEach((k, v) -> sorted.put(k, v.sum()));
+        return sorted;
+    }
+
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+
+    /**
+     * Full distribution in HdrHistogram's .hgrm text format (milliseconds), for plotting.
+     */
+    void writeDistribution(PrintStream out) {
+        Histogram copy = histogram.copy();
+        copy.outputPercentileDistribution(out, 1000.0);
+    }
+}
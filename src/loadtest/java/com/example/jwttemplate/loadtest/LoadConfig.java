@@ -0,0 +1,74 @@
+package com.example.jwttemplate.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Harness settings, read from {@code loadtest.*} system properties (see the loadTest task).
+ * {@code edition} is {@code servlet} (default) or {@code reactive}.
+ * {@code mix} is a weight per endpoint, e.g. {@code login=5,refresh=15,me=75,logout=5};
+ * a user without a session always logs in first, whatever the mix.
+ */
+record LoadConfig(
+    LoadTest.Edition edition,
+    int users,
+    int durationSeconds,
+    int warmupSeconds,
+    Map<Op, Integer> mix,
+    long thinkTimeMs,
+    Path reportDir
+) {
+    private static final String DEFAULT_MIX = "login=5,refresh=15,me=75,logout=5";
+
+    LoadConfig {
+        if (users < 1) throw new IllegalArgumentException("loadtest.users must be positive: " + users);
+    }
+
+    static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+            LoadTest.Edition.valueOf(System.getProperty("loadtest.edition", "servlet").toUpperCase(Locale.ROOT)),
+            Integer.getInteger("loadtest.users", 50),
+            Integer.getInteger("loadtest.durationSeconds", 30),
+            Integer.getInteger("loadtest.warmupSeconds", 5),
+            parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+            Long.getLong("loadtest.thinkTimeMs", 0),
+            Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest"))
+        );
+    }
+
+    static Map<Op, Integer> parseMix(String spec) {
+        Map<Op, Integer> mix = new EnumMap<>(Op.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("invalid mix entry: " + part);
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("negative weight: " + part);
+            mix.put(Op.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix has no positive weight: " + spec);
+        }
+        return mix;
+    }
+
+    int totalWeight() {
+        return mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    Op pick(int roll) {
+        for (Map.Entry<Op, Integer> e : mix.entrySet()) {
+            roll -= e.getValue();
+            if (roll < 0) return e.getKey();
+        }
+        throw new IllegalStateException("roll out of range");
+    }
+
+    String mixSpec() {
+        StringJoiner joiner = new StringJoiner(",");
+        mix.forEach((op, weight) -> joiner.add(op.key() + "=" + weight));
+        return joiner.toString();
+    }
+}
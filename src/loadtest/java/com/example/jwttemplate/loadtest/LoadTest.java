@@ -0,0 +1,234 @@
+package com.example.jwttemplate.loadtest;
+
+import com.example.jwttemplate.config.SeedProperties;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Starts the selected {@link Edition} of the application in its own JVM on a free port (H2, as
+ * configured in its application.yml) and drives it with {@code loadtest.users} concurrent
+ * {@link VirtualUser}s for the configured duration. Both editions get the same heap, so their
+ * reports are comparable. Results after the warmup are written to {@code report.json} (also copied
+ * to {@code <commit>-<edition>.json} for diffing across commits) and one {@code .hgrm} per endpoint.
+ */
+public final class LoadTest {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final List<String> APP_JVM_ARGS = List.of("-Xms1g", "-Xmx1g");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    /** Servlet (MVC + JPA) or reactive (WebFlux + R2DBC) edition; the classpath comes from the loadTest task. */
+    enum Edition {
+        SERVLET("com.example.jwttemplate.JwtTemplateApplication"),
+        REACTIVE("com.example.jwttemplate.reactive.ReactiveJwtApplication");
+
+        final String mainClass;
+
+        Edition(String mainClass) {
+            this.mainClass = mainClass;
+        }
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        String classpath() {
+            String classpath = System.getProperty("loadtest.classpath." + key());
+            if (classpath == null) throw new IllegalStateException("loadtest.classpath." + key() + " is not set");
+            return classpath;
+        }
+    }
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+
+        Files.createDirectories(config.reportDir());
+        int port = freePort();
+        Path appLog = config.reportDir().resolve(config.edition().key() + "-app.log");
+        Process app = start(config.edition(), port, config.users(), appLog);
+        int exitCode = 0;
+        try {
+            URI base = URI.create("http://127.0.0.1:" + port);
+            awaitLogin(base, app, SeedProperties.loadUserEmail(config.users() - 1));
+            Map<Op, EndpointStats> stats = run(base, config);
+            writeReport(config, stats);
+        } catch (Exception e) {
+            System.err.printf("load test failed: %s (app log: %s)%n", e, appLog);
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                System.err.printf("  caused by: %s%n", cause);
+            }
+            exitCode = 1;
+        } finally {
+            app.destroy();
+            if (!app.waitFor(30, TimeUnit.SECONDS)) app.destroyForcibly().waitFor();
+        }
+        System.exit(exitCode);
+    }
+
+    private static Process start(Edition edition, int port, int users, Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(APP_JVM_ARGS);
+        command.addAll(List.of("-cp", edition.classpath(), edition.mainClass,
+            // 명령행 인자로 넘겨야 application.yml 보다 우선한다. 로그인 제한과 SQL 로그는 끈다
+            // 가상 사용자마다 자기 계정을 쓰도록 users 만큼 시드한다 (계정 두 개에 몰리지 않게)
+            "--server.port=" + port,
+            "--seed.load-users=" + users,
+            "--security.rate-limit.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--spring.jpa.show-sql=false"));
+        System.out.printf("starting %s edition on port %d (log: %s)%n", edition.key(), port, log);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    // 마지막 부하 테스트 계정으로 로그인이 될 때까지 기다린다 (시드는 순서대로 만들어진다)
+    private static void awaitLogin(URI base, Process app, String email) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest login = HttpRequest.newBuilder(base.resolve("/api/auth/login"))
+            .timeout(Duration.ofSeconds(10))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + email + "\",\"password\":\"password1234\"}"))
+            .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) throw new IllegalStateException("application exited with " + app.exitValue());
+            try {
+                if (client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+            } catch (IOException notListeningYet) {
+                // 아직 기동 중
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        throw new IllegalStateException("application did not accept a login within " + STARTUP_TIMEOUT);
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<Op, EndpointStats> run(URI base, LoadConfig config) throws InterruptedException {
+        Map<Op, EndpointStats> stats = new EnumMap<>(Op.class);
+        for (Op op : Op.values()) stats.put(op, new EndpointStats());
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < config.users(); i++) {
+            users.submit(new VirtualUser(base, SeedProperties.loadUserEmail(i), config, stats, running, httpExecutor));
+        }
+
+        System.out.printf("load: %s edition, %d users, warmup %ds, measure %ds, mix %s%n",
+            config.edition().key(), config.users(), config.warmupSeconds(), config.durationSeconds(), config.mixSpec());
+        TimeUnit.SECONDS.sleep(config.warmupSeconds());
+        stats.values().forEach(EndpointStats::reset);
+        TimeUnit.SECONDS.sleep(config.durationSeconds());
+        running.set(false);
+
+        users.shutdown();
+        if (!users.awaitTermination(60, TimeUnit.SECONDS)) users.shutdownNow();
+        httpExecutor.shutdownNow();
+        return stats;
+    }
+
+    private static void writeReport(LoadConfig config, Map<Op, EndpointStats> stats) throws IOException {
+        String commit = commit();
+
+        StringJoiner endpoints = new StringJoiner(",\n", "{\n", "\n  }");
+        System.out.printf("%-8s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+            "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+        for (Map.Entry<Op, EndpointStats> e : stats.entrySet()) {
+            String name = e.getKey().key();
+            EndpointStats s = e.getValue();
+            long requests = s.requests();
+            double throughput = requests / (double) config.durationSeconds();
+
+            StringJoiner percentiles = new StringJoiner(", ");
+            for (double p : PERCENTILES) {
+                percentiles.add("\"p" + label(p) + "Ms\": " + format(s.percentileMillis(p)));
+            }
+            StringJoiner statuses = new StringJoiner(", ", "{", "}");
+            s.statuses().forEach((status, count) -> statuses.add("\"" + status + "\": " + count));
+            endpoints.add("    \"" + name + "\": {\"requests\": " + requests
+                + ", \"throughputPerSecond\": " + format(throughput)
+                + ", " + percentiles
+                + ", \"maxMs\": " + format(s.maxMillis())
+                + ", \"statuses\": " + statuses + "}");
+
+            System.out.printf("%-8s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", name, requests, throughput,
+                s.percentileMillis(50), s.percentileMillis(90), s.percentileMillis(99), s.percentileMillis(99.9),
+                s.maxMillis(), s.statuses());
+
+            try (PrintStream out = new PrintStream(
+                Files.newOutputStream(config.reportDir().resolve(name + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                s.writeDistribution(out);
+            }
+        }
+
+        String json = "{\n"
+            + "  \"commit\": \"" + commit + "\",\n"
+            + "  \"finishedAt\": \"" + Instant.now() + "\",\n"
+            + "  \"edition\": \"" + config.edition().key() + "\",\n"
+            + "  \"users\": " + config.users() + ",\n"
+            + "  \"durationSeconds\": " + config.durationSeconds() + ",\n"
+            + "  \"warmupSeconds\": " + config.warmupSeconds() + ",\n"
+            + "  \"mix\": \"" + config.mixSpec() + "\",\n"
+            + "  \"thinkTimeMs\": " + config.thinkTimeMs() + ",\n"
+            + "  \"processors\": " + Runtime.getRuntime().availableProcessors() + ",\n"
+            + "  \"endpoints\": " + endpoints + "\n"
+            + "}\n";
+        Path report = config.reportDir().resolve("report.json");
+        Files.writeString(report, json);
+        Files.writeString(config.reportDir().resolve(commit + "-" + config.edition().key() + ".json"), json);
+        System.out.println("report: " + report.toAbsolutePath());
+    }
+
+    // git 이 없거나 저장소 밖이면 "unknown"
+    static String commit() {
+        try {
+            Process p = new ProcessBuilder("git", "describe", "--always", "--dirty").redirectErrorStream(true).start();
+            String out = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return p.waitFor() == 0 && !out.isEmpty() ? out : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile)
+            ? String.valueOf((long) percentile)
+            : String.valueOf(percentile).replace(".", "");
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.jwttemplate.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Endpoints the harness drives. {@link #key()} is the name used in {@code -PloadMix} and the report.
+ */
+enum Op {
+    LOGIN("POST", "/api/auth/login"),
+    REFRESH("POST", "/api/auth/refresh"),
+    ME("GET", "/api/me"),
+    LOGOUT("POST", "/api/auth/logout");
+
+    final String method;
+    final String path;
+
+    Op(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
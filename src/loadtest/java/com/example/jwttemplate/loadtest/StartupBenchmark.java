@@ -0,0 +1,149 @@
+package com.example.jwttemplate.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the extracted boot jar in a fresh JVM per run and measures the time from process
+ * start to the first HTTP response and to the first successful {@code POST /api/auth/login}
+ * (so deferred seeding is included). Each {@link Mode} adds one startup optimisation on top of
+ * the previous one; the medians are written to {@code startup.json} and {@code <commit>-startup.json}.
+ */
+public final class StartupBenchmark {
+
+    private static final String LOGIN_BODY = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    enum Mode {
+        DEFAULT("default"),
+        FAST_STARTUP("fast-startup", "--spring.profiles.active=fast-startup"),
+        FAST_STARTUP_AOT("fast-startup+aot", "--spring.profiles.active=fast-startup"),
+        FAST_STARTUP_AOT_CDS("fast-startup+aot+cds", "--spring.profiles.active=fast-startup");
+
+        final String key;
+        final List<String> appArgs;
+
+        Mode(String key, String... appArgs) {
+            this.key = key;
+            this.appArgs = List.of(appArgs);
+        }
+
+        List<String> jvmArgs(Path cdsArchive) {
+            return switch (this) {
+                case DEFAULT, FAST_STARTUP -> List.of();
+                case FAST_STARTUP_AOT -> List.of("-Dspring.aot.enabled=true");
+                case FAST_STARTUP_AOT_CDS -> List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + cdsArchive);
+            };
+        }
+    }
+
+    record Sample(long firstResponseMillis, long firstLoginMillis) {}
+
+    private StartupBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(System.getProperty("startup.jar"));
+        Path cdsArchive = Path.of(System.getProperty("startup.cdsArchive"));
+        Path reportDir = Path.of(System.getProperty("startup.reportDir", "build/reports/startup"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        System.out.printf("startup: %d runs per mode, %s%n", runs, jar);
+        System.out.printf("%-22s %16s %16s%n", "mode", "first resp ms", "first login ms");
+        StringJoiner modes = new StringJoiner(",\n", "{\n", "\n  }");
+        for (Mode mode : Mode.values()) {
+            if (mode == Mode.FAST_STARTUP_AOT_CDS && !Files.exists(cdsArchive)) {
+                System.out.printf("%-22s skipped (no CDS archive at %s)%n", mode.key, cdsArchive);
+                continue;
+            }
+            long[] response = new long[runs];
+            long[] login = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Sample sample = measure(client, java, jar, cdsArchive, mode, reportDir.resolve(mode.key + ".log"));
+                response[i] = sample.firstResponseMillis();
+                login[i] = sample.firstLoginMillis();
+            }
+            System.out.printf("%-22s %16d %16d%n", mode.key, median(response), median(login));
+            modes.add("    \"" + mode.key + "\": {\"firstResponseMs\": " + median(response)
+                + ", \"firstLoginMs\": " + median(login)
+                + ", \"firstLoginRunsMs\": " + Arrays.toString(login) + "}");
+        }
+
+        String commit = LoadTest.commit();
+        String json = "{\n"
+            + "  \"commit\": \"" + commit + "\",\n"
+            + "  \"finishedAt\": \"" + Instant.now() + "\",\n"
+            + "  \"runs\": " + runs + ",\n"
+            + "  \"processors\": " + Runtime.getRuntime().availableProcessors() + ",\n"
+            + "  \"modes\": " + modes + "\n"
+            + "}\n";
+        Path report = reportDir.resolve("startup.json");
+        Files.writeString(report, json);
+        Files.writeString(reportDir.resolve(commit + "-startup.json"), json);
+        System.out.println("report: " + report.toAbsolutePath());
+    }
+
+    private static Sample measure(HttpClient client, String java, Path jar, Path cdsArchive, Mode mode, Path log)
+        throws IOException, InterruptedException {
+        int port = LoadTest.freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs(cdsArchive));
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port,
+            // 로그인 실패(시드 전 401)를 반복해도 429 로 막히지 않도록
+            "--security.rate-limit.enabled=false"));
+        command.addAll(mode.appArgs);
+
+        Files.createDirectories(log.getParent());
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/auth/login"))
+            .timeout(Duration.ofSeconds(10))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+            .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long firstResponse = -1;
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.key + " exited with " + process.exitValue() + ", see " + log);
+                }
+                int status;
+                try {
+                    status = client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (IOException notListeningYet) {
+                    TimeUnit.MILLISECONDS.sleep(5);
+                    continue;
+                }
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (firstResponse < 0) firstResponse = elapsed;
+                if (status == 200) return new Sample(firstResponse, elapsed);
+                TimeUnit.MILLISECONDS.sleep(5);
+            }
+            throw new IllegalStateException(mode.key + " did not accept a login within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.jwttemplate.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One simulated client: its own {@link HttpClient} and cookie jar (so the refresh cookie is
+ * rotated per user), and the current access token. Logs in whenever it has no valid session,
+ * otherwise picks the next call from the configured mix.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final String PASSWORD = "password1234";
+
+    private final URI base;
+    private final String email;
+    private final LoadConfig config;
+    private final Map<Op, EndpointStats> stats;
+    private final AtomicBoolean running;
+    private final HttpClient client;
+
+    private String authorization;
+
+    VirtualUser(URI base, String email, LoadConfig config, Map<Op, EndpointStats> stats,
+                AtomicBoolean running, Executor executor) {
+        this.base = base;
+        this.email = email;
+        this.config = config;
+        this.stats = stats;
+        this.running = running;
+        this.client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+    }
+
+    @Override
+    public void run() {
+        long thinkMicros = TimeUnit.MILLISECONDS.toMicros(config.thinkTimeMs());
+        int totalWeight = config.totalWeight();
+        while (running.get()) {
+            Op op = authorization == null ? Op.LOGIN : config.pick(ThreadLocalRandom.current().nextInt(totalWeight));
+            call(op, thinkMicros);
+            if (thinkMicros > 0) {
+                try {
+                    Thread.sleep(config.thinkTimeMs());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void call(Op op, long expectedIntervalMicros) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(base.resolve(op.path)).timeout(Duration.ofSeconds(30));
+        switch (op) {
+            case LOGIN -> request.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"));
+            case ME -> request.header("Authorization", authorization).GET();
+            case REFRESH -> request.POST(HttpRequest.BodyPublishers.noBody());
+            case LOGOUT -> request.header("Authorization", authorization).POST(HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            stats.get(op).error();
+            authorization = null;
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.set(false);
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        int status = response.statusCode();
+        stats.get(op).record(micros, String.valueOf(status), expectedIntervalMicros);
+
+        switch (op) {
+            case LOGIN, REFRESH -> authorization = status == 200
+                ? response.headers().firstValue("Authorization").orElse(null)
+                : null;
+            case ME -> {
+                if (status != 200) authorization = null;
+            }
+            case LOGOUT -> authorization = null;
+        }
+    }
+}
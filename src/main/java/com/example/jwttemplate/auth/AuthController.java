@@ -6,6 +6,7 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -36,9 +37,18 @@ public class AuthController {
     @PostMapping("/auth/logout")
     public ApiResponse<Void> logout(
         @CookieValue(name = "refresh_token", required = false) String refreshToken,
+        @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
         HttpServletResponse response
     ) {
-        return authService.logout(response, refreshToken);
+        return authService.logout(response, refreshToken, authorization);
+    }
+
+    @PostMapping("/auth/logout-all")
+    public ApiResponse<Void> logoutAll(
+        @AuthenticationPrincipal JwtPrincipal principal,
+        HttpServletResponse response
+    ) {
+        return authService.logoutAll(response, principal.userId());
     }
 
     @GetMapping("/me")
@@ -0,0 +1,91 @@
+package com.example.jwttemplate.auth;
+
+import com.example.jwttemplate.jwt.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the auth endpoints: one timer per operation and a result counter tagged with the
+ * outcome code the client sees ({@code ok}, {@code invalid_credentials}, {@code refresh_revoked}, ...).
+ * Meters are built once; error counters on first use. Only codes in {@link #OUTCOMES} become tag
+ * values, anything else is counted as {@code error}, so an exception message can never grow the
+ * number of series.
+ */
+@Component
+public class AuthMetrics {
+
+    public enum Op { LOGIN, REFRESH, LOGOUT, LOGOUT_ALL }
+
+    // GlobalExceptionHandler 가 응답에 쓰는 코드 중 인증 흐름에서 나올 수 있는 것
+    static final Set<String> OUTCOMES = Set.of(
+        "invalid_credentials", "too_many_login_attempts", "login_busy", "login_timeout", "login_interrupted",
+        "missing_refresh_cookie", "invalid_token", "invalid_token_type", "invalid_refresh_token", "invalid_subject",
+        "invalid_role", "missing_role", "unknown_key", "user_not_found",
+        "refresh_expired", "refresh_revoked", "refresh_not_found"
+    );
+
+    private final MeterRegistry registry;
+    private final Map<Op, Timer> timers = new EnumMap<>(Op.class);
+    private final Map<Op, Counter> okCounters = new EnumMap<>(Op.class);
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Timer hashTimer;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Op op : Op.values()) {
+            String name = op.name().toLowerCase(Locale.ROOT);
+            timers.put(op, Timer.builder("auth.operation")
+                .tag("op", name)
+                .publishPercentileHistogram()
+                .register(registry));
+            okCounters.put(op, result(name, "ok"));
+        }
+        this.hashTimer = Timer.builder("auth.refresh.hash")
+            .description("SHA-256 of a refresh token before it is stored or looked up")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    public <T> T record(Op op, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            okCounters.get(op).increment();
+            return result;
+        } catch (RuntimeException e) {
+            String name = op.name().toLowerCase(Locale.ROOT);
+            String code = outcome(e);
+            errorCounters.computeIfAbsent(name + '/' + code, k -> result(name, code)).increment();
+            throw e;
+        } finally {
+            timers.get(op).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public Timer hashTimer() {
+        return hashTimer;
+    }
+
+    private Counter result(String op, String outcome) {
+        return Counter.builder("auth.operation.results").tag("op", op).tag("outcome", outcome).register(registry);
+    }
+
+    static String outcome(RuntimeException e) {
+        if (e instanceof JwtException || e instanceof LoginUnavailableException || e instanceof IllegalArgumentException
+            || e instanceof LoginRateLimitedException) {
+            String code = e.getMessage();
+            if (code != null && OUTCOMES.contains(code)) return code;
+        }
+        return "error";
+    }
+}
@@ -2,120 +2,227 @@ package com.example.jwttemplate.auth;
 
 import com.example.jwttemplate.config.SecurityProperties;
 import com.example.jwttemplate.global.ApiResponse;
+import com.example.jwttemplate.jwt.IssuedToken;
 import com.example.jwttemplate.jwt.JwtException;
 import com.example.jwttemplate.jwt.JwtTokenProvider;
 import com.example.jwttemplate.jwt.JwtTokenType;
-import com.example.jwttemplate.refreshtoken.RefreshToken;
-import com.example.jwttemplate.refreshtoken.RefreshTokenRepository;
+import com.example.jwttemplate.jwt.RefreshTokenClaims;
+import com.example.jwttemplate.jwt.TokenClaims;
+import com.example.jwttemplate.refreshtoken.RefreshTokenStore;
 import com.example.jwttemplate.refreshtoken.TokenHashing;
-import com.example.jwttemplate.user.User;
+import com.example.jwttemplate.revocation.Revocations;
+import com.example.jwttemplate.user.TokenEpochs;
 import com.example.jwttemplate.user.UserRepository;
-import io.jsonwebtoken.Claims;
+import com.example.jwttemplate.user.UserSnapshot;
+import com.example.jwttemplate.user.UserSnapshots;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserSnapshots userSnapshots;
+    private final RefreshTokenStore refreshTokenStore;
+    private final PasswordVerifier passwordVerifier;
     private final JwtTokenProvider tokenProvider;
+    private final Revocations revocations;
+    private final TokenEpochs tokenEpochs;
     private final SecurityProperties securityProperties;
+    private final AuthMetrics authMetrics;
+    private final LoginRateLimiter loginRateLimiter;
 
     public ApiResponse<AuthDtos.LoginResponse> login(
         AuthDtos.LoginRequest req,
         HttpServletResponse response
     ) {
-        User user = userRepository.findByEmail(req.email())
+        return authMetrics.record(AuthMetrics.Op.LOGIN, () -> doLogin(req, response));
+    }
+
+    public ApiResponse<Void> refresh(HttpServletResponse response, String refreshTokenFromCookie) {
+        return authMetrics.record(AuthMetrics.Op.REFRESH, () -> doRefresh(response, refreshTokenFromCookie));
+    }
+
+    public ApiResponse<Void> logout(
+        HttpServletResponse response,
+        String refreshTokenFromCookie,
+        String authorizationHeader
+    ) {
+        return authMetrics.record(AuthMetrics.Op.LOGOUT,
+            () -> doLogout(response, refreshTokenFromCookie, authorizationHeader));
+    }
+
+    public ApiResponse<Void> logoutAll(HttpServletResponse response, Long userId) {
+        return authMetrics.record(AuthMetrics.Op.LOGOUT_ALL, () -> {
+            revokeAllSessions(userId);
+            clearRefreshCookie(response);
+            return ApiResponse.ok("logout_all_ok");
+        });
+    }
+
+    private ApiResponse<AuthDtos.LoginResponse> doLogin(AuthDtos.LoginRequest req, HttpServletResponse response) {
+        // 계정 단위 제한은 사용자 조회/BCrypt 전에 (IP 단위는 LoginRateLimitFilter 에서)
+        loginRateLimiter.checkEmail(req.email());
+
+        UserSnapshot user = userSnapshots.findByEmail(req.email())
             .orElseThrow(() -> new IllegalArgumentException("invalid_credentials"));
 
-        if (!passwordEncoder.matches(req.password(), user.getPasswordHash())) {
+        if (!passwordVerifier.matches(req.password(), user.passwordHash())) {
             throw new IllegalArgumentException("invalid_credentials");
         }
 
-        String access = tokenProvider.createAccessToken(user.getId(), user.getEmail(), user.getRole());
-        String refresh = tokenProvider.createRefreshToken(user.getId());
+        // epoch 도 캐시에서 (캐시된 사용자의 로그인은 DB 조회 없음). 다른 노드의 logout-all 직후
+        // 옛 epoch 로 발급될 수 있지만 그 토큰은 bump 를 본 노드에서 거부될 뿐 더 허용되지는 않는다
+        long epoch = tokenEpochs.current(user.id());
+        if (epoch < 0) throw new IllegalArgumentException("invalid_credentials");
 
-        persistRefresh(user.getId(), refresh);
+        String access = tokenProvider.createAccessToken(user.id(), user.email(), user.role(), epoch);
+        IssuedToken refresh = tokenProvider.issueRefreshToken(user.id(), epoch);
+
+        persistRefresh(user.id(), refresh);
 
         setAccessHeader(response, access);
-        setRefreshCookie(response, refresh, tokenProvider.parseAndValidate(refresh).getExpiration().toInstant());
+        setRefreshCookie(response, refresh);
 
         return ApiResponse.ok("login_ok",
-            new AuthDtos.LoginResponse(user.getId(), user.getEmail(), user.getRole().name())
+            new AuthDtos.LoginResponse(user.id(), user.email(), user.role().name())
         );
     }
 
-    public ApiResponse<Void> refresh(HttpServletResponse response, String refreshTokenFromCookie) {
+    private ApiResponse<Void> doRefresh(HttpServletResponse response, String refreshTokenFromCookie) {
         if (refreshTokenFromCookie == null || refreshTokenFromCookie.isBlank()) {
             throw new JwtException("missing_refresh_cookie");
         }
 
-        Claims claims = tokenProvider.parseAndValidate(refreshTokenFromCookie);
-        if (tokenProvider.tokenType(claims) != JwtTokenType.REFRESH) {
-            throw new JwtException("invalid_refresh_token");
-        }
-
-        Long userId = tokenProvider.userId(claims);
+        // JWT 는 서명 검증, opaque 는 selector 디코딩만 (진위는 아래 저장소 조회로 확인)
+        RefreshTokenClaims claims = tokenProvider.verifyRefreshToken(refreshTokenFromCookie);
 
-        String hash = TokenHashing.sha256Hex(refreshTokenFromCookie);
-        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash)
-            .orElseThrow(() -> new JwtException("refresh_not_found"));
+        Long userId = claims.userId();
+        // logout-all 이후의 refresh token 은 DB 조회 없이 거부. 서명 없는 opaque selector 의 사용자/epoch 는
+        // 저장소에서 찾기 전까지 믿지 않는다 (위조한 selector 로 사용자 id/epoch 를 떠보지 못하게)
+        if (claims.signed() && !tokenEpochs.isCurrent(userId, claims.epoch())) {
+            throw new JwtException("refresh_revoked");
+        }
 
-        if (stored.isRevoked()) throw new JwtException("refresh_revoked");
-        if (stored.getExpiresAt().isBefore(Instant.now())) throw new JwtException("refresh_expired");
+        // 이미 폐기된 것으로 알려진 토큰(재사용)은 DB 조회 없이 거부
+        byte[] digest = digest(refreshTokenFromCookie);
+        if (revocations.isRefreshTokenRevoked(digest)) {
+            throw new JwtException("refresh_revoked");
+        }
 
-        // Rotate refresh
-        stored.revoke();
-        refreshTokenRepository.save(stored);
+        // Rotate refresh: 조건부 UPDATE(CAS) 한 번으로 검사+폐기 (동시 요청 중 하나만 성공)
+        // exp 는 만료 구간별로 나뉜 저장소(store=partitioned)에서 bucket 을 찾는 데 쓰인다
+        Instant now = Instant.now();
+        Instant expiresAt = Instant.ofEpochSecond(claims.expiresAt());
+        if (!refreshTokenStore.revokeIfActive(digest, expiresAt, now)) {
+            throw new JwtException(rejectReason(digest, expiresAt, now));
+        }
+        revocations.refreshToken(userId, digest, expiresAt);
+        // 저장소에서 찾았으니 이제 selector 도 진짜다
+        if (!claims.signed() && !tokenEpochs.isCurrent(userId, claims.epoch())) {
+            throw new JwtException("refresh_revoked");
+        }
 
-        String newRefresh = tokenProvider.createRefreshToken(userId);
+        IssuedToken newRefresh = tokenProvider.issueRefreshToken(userId, claims.epoch());
         persistRefresh(userId, newRefresh);
 
-        User user = userRepository.findById(userId).orElseThrow(() -> new JwtException("user_not_found"));
-        String newAccess = tokenProvider.createAccessToken(user.getId(), user.getEmail(), user.getRole());
+        // email/role 은 캐시된 스냅샷에서 (대부분의 재발급에서 DB 조회 생략)
+        UserSnapshot user = userSnapshots.findById(userId).orElseThrow(() -> new JwtException("user_not_found"));
+        String newAccess = tokenProvider.createAccessToken(user.id(), user.email(), user.role(), claims.epoch());
 
         setAccessHeader(response, newAccess);
-        setRefreshCookie(response, newRefresh, tokenProvider.parseAndValidate(newRefresh).getExpiration().toInstant());
+        setRefreshCookie(response, newRefresh);
 
         return ApiResponse.ok("refresh_ok");
     }
 
-    public ApiResponse<Void> logout(HttpServletResponse response, String refreshTokenFromCookie) {
+    private ApiResponse<Void> doLogout(
+        HttpServletResponse response,
+        String refreshTokenFromCookie,
+        String authorizationHeader
+    ) {
         if (refreshTokenFromCookie != null && !refreshTokenFromCookie.isBlank()) {
-            String hash = TokenHashing.sha256Hex(refreshTokenFromCookie);
-            refreshTokenRepository.findByTokenHash(hash).ifPresent(rt -> {
-                rt.revoke();
-                refreshTokenRepository.save(rt);
-            });
+            revokeRefreshToken(refreshTokenFromCookie);
+        }
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            denyAccessToken(authorizationHeader.substring(7));
         }
 
         clearRefreshCookie(response);
         return ApiResponse.ok("logout_ok");
     }
 
-    private void persistRefresh(Long userId, String refresh) {
-        Instant exp = tokenProvider.parseAndValidate(refresh).getExpiration().toInstant();
-        refreshTokenRepository.save(new RefreshToken(TokenHashing.sha256Hex(refresh), userId, exp));
+    /**
+     * Invalidates every access and refresh token of the user: one epoch increment plus one bulk
+     * revoke of the refresh rows. Also what password and role changes should call.
+     */
+    public void revokeAllSessions(Long userId) {
+        userRepository.incrementTokenEpoch(userId);
+        refreshTokenStore.revokeAllForUser(userId, Instant.now());
+        // 이 노드의 epoch/사용자 캐시를 비우고 다른 노드에도 전파
+        revocations.allSessions(userId);
+    }
+
+    private void revokeRefreshToken(String refreshToken) {
+        RefreshTokenClaims claims;
+        try {
+            claims = tokenProvider.verifyRefreshToken(refreshToken);
+        } catch (JwtException e) {
+            // 위조되었거나 이미 만료된 토큰은 저장소에서도 활성 상태가 아니다
+            return;
+        }
+        byte[] digest = digest(refreshToken);
+        Instant expiresAt = Instant.ofEpochSecond(claims.expiresAt());
+        if (refreshTokenStore.revokeIfActive(digest, expiresAt, Instant.now())) {
+            revocations.refreshToken(claims.userId(), digest, expiresAt);
+        }
+    }
+
+    // 이미 만료됐거나 잘못된 access token 은 막을 필요가 없다
+    private void denyAccessToken(String accessToken) {
+        try {
+            TokenClaims claims = tokenProvider.verify(accessToken);
+            if (claims.type() == JwtTokenType.ACCESS) {
+                revocations.accessToken(claims.userId(), claims.jti(), Instant.ofEpochSecond(claims.expiresAt()));
+            }
+        } catch (JwtException ignored) {
+        }
+    }
+
+    private byte[] digest(String token) {
+        long start = System.nanoTime();
+        byte[] digest = TokenHashing.sha256(token);
+        authMetrics.hashTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return digest;
+    }
+
+    private void persistRefresh(Long userId, IssuedToken refresh) {
+        refreshTokenStore.save(digest(refresh.value()), userId, refresh.expiresAt());
+    }
+
+    // 실패한 경우에만 조회해서 원인을 구분한다
+    private String rejectReason(byte[] digest, Instant expiresAt, Instant now) {
+        return refreshTokenStore.find(digest, expiresAt)
+            .map(rt -> !rt.isRevoked() && !rt.expiresAt().isAfter(now) ? "refresh_expired" : "refresh_revoked")
+            .orElse("refresh_not_found");
     }
 
     private void setAccessHeader(HttpServletResponse response, String accessToken) {
         response.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
     }
 
-    private void setRefreshCookie(HttpServletResponse response, String refreshToken, Instant expiresAt) {
+    private void setRefreshCookie(HttpServletResponse response, IssuedToken refreshToken) {
         SecurityProperties.Cookie c = securityProperties.cookie();
-        long maxAge = Math.max(0, expiresAt.getEpochSecond() - Instant.now().getEpochSecond());
+        long maxAge = Math.max(0, refreshToken.expiresAt().getEpochSecond() - Instant.now().getEpochSecond());
 
-        ResponseCookie cookie = ResponseCookie.from(c.refreshName(), refreshToken)
+        ResponseCookie cookie = ResponseCookie.from(c.refreshName(), refreshToken.value())
             .httpOnly(true)
             .secure(c.secure())
             .sameSite(c.sameSite())
@@ -0,0 +1,71 @@
+package com.example.jwttemplate.auth;
+
+import com.example.jwttemplate.config.SecurityProperties;
+import com.example.jwttemplate.global.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login attempt limits per client IP ({@link LoginRateLimitFilter}, before the body is read)
+ * and per account ({@link AuthService}, before the user lookup and BCrypt).
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final RateLimiter perIp;
+    private final RateLimiter perEmail;
+    private final Counter rejectedIp;
+    private final Counter rejectedEmail;
+
+    public LoginRateLimiter(SecurityProperties props, MeterRegistry meterRegistry) {
+        SecurityProperties.RateLimit conf = props.rateLimit();
+        boolean enabled = conf != null && conf.enabled();
+        this.perIp = enabled ? limiter(conf.perIp(), conf.maxKeys()) : null;
+        this.perEmail = enabled ? limiter(conf.perEmail(), conf.maxKeys()) : null;
+
+        this.rejectedIp = Counter.builder("auth.rate_limit.rejected").tag("key", "ip").register(meterRegistry);
+        this.rejectedEmail = Counter.builder("auth.rate_limit.rejected").tag("key", "email").register(meterRegistry);
+        if (enabled) {
+            register(meterRegistry, "ip", perIp);
+            register(meterRegistry, "email", perEmail);
+        }
+    }
+
+    public void checkIp(String ip) {
+        if (perIp == null || ip == null) return;
+        long waitNanos = perIp.tryAcquire(ip);
+        if (waitNanos > 0) {
+            rejectedIp.increment();
+            throw new LoginRateLimitedException("too_many_login_attempts", retryAfterSeconds(waitNanos));
+        }
+    }
+
+    public void checkEmail(String email) {
+        if (perEmail == null || email == null) return;
+        long waitNanos = perEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        if (waitNanos > 0) {
+            rejectedEmail.increment();
+            throw new LoginRateLimitedException("too_many_login_attempts", retryAfterSeconds(waitNanos));
+        }
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static RateLimiter limiter(SecurityProperties.RateLimit.Bucket bucket, int maxKeys) {
+        return new RateLimiter(bucket.capacity(), bucket.refillEvery().toNanos(), maxKeys);
+    }
+
+    private static void register(MeterRegistry registry, String key, RateLimiter limiter) {
+        Gauge.builder("auth.rate_limit.keys", limiter, RateLimiter::size).tag("key", key).register(registry);
+        FunctionCounter.builder("auth.rate_limit.evictions", limiter, RateLimiter::evictionCount)
+            .tag("key", key).register(registry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.jwttemplate.auth;
+
+/**
+ * Login could not be processed right now (password verification pool saturated or too slow).
+ */
+public class LoginUnavailableException extends RuntimeException {
+    public LoginUnavailableException(String message) {
+        super(message);
+    }
+}
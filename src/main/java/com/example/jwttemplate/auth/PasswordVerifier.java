@@ -0,0 +1,113 @@
+package com.example.jwttemplate.auth;
+
+import com.example.jwttemplate.config.SecurityProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt verification on a dedicated, CPU-sized pool so a login storm cannot occupy
+ * every request thread. When the queue is full or the wait exceeds the timeout, login fails
+ * fast with {@link LoginUnavailableException} instead of piling up.
+ */
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer waitTimer;
+    private final Timer matchTimer;
+    private final Counter rejectedBusy;
+    private final Counter rejectedTimeout;
+
+    public PasswordVerifier(
+        PasswordEncoder passwordEncoder,
+        SecurityProperties securityProperties,
+        MeterRegistry meterRegistry
+    ) {
+        SecurityProperties.Login conf = securityProperties.login();
+        int threads = conf.passwordThreads() > 0 ? conf.passwordThreads() : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = conf.passwordTimeoutMillis();
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(conf.passwordQueueCapacity()),
+            r -> {
+                Thread t = new Thread(r, "password-verify-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.waitTimer = Timer.builder("auth.password.queue.wait")
+            .description("Time a login waits for a password verification thread")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.matchTimer = Timer.builder("auth.password.match")
+            .description("Time spent in PasswordEncoder.matches (BCrypt)")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.rejectedBusy = Counter.builder("auth.password.rejected").tag("reason", "busy").register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("auth.password.rejected").tag("reason", "timeout").register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return passwordEncoder.matches(rawPassword, passwordHash);
+                } finally {
+                    matchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedBusy.increment();
+            throw new LoginUnavailableException("login_busy");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedTimeout.increment();
+            throw new LoginUnavailableException("login_timeout");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginUnavailableException("login_interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("password_verification_failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
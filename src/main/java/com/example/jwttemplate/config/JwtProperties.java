@@ -2,10 +2,123 @@ package com.example.jwttemplate.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "jwt")
 public record JwtProperties(
     String secret,
     String issuer,
     long accessTtlSeconds,
-    long refreshTtlSeconds
-) {}
+    long refreshTtlSeconds,
+    String keyId,
+    List<PreviousKey> previousKeys,
+    VerifiedCache verifiedCache,
+    boolean fastVerify,
+    Denylist denylist,
+    EpochCache epochCache,
+    Signing signing,
+    AccessToken accessToken,
+    RefreshToken refreshToken
+) {
+    /**
+     * HMAC: secret 으로 서명/검증 / ES256, EDDSA: 개인키로 서명하고 공개키는 JWKS 로 공개
+     */
+    public enum SigningAlgorithm { HMAC, ES256, EDDSA }
+
+    /**
+     * 교체된 이전 서명 키. 검증에만 사용되며, retireAt 이후에는 더 이상 받아주지 않는다.
+     * HMAC 키는 secret, ES256/EDDSA 키는 publicKey(X.509 PEM) 만 있으면 된다.
+     */
+    public record PreviousKey(
+        String keyId,
+        String secret,
+        Instant retireAt,
+        SigningAlgorithm algorithm,
+        String publicKey
+    ) {
+        public PreviousKey(String keyId, String secret, Instant retireAt) {
+            this(keyId, secret, retireAt, SigningAlgorithm.HMAC, null);
+        }
+    }
+
+    /**
+     * 활성 서명 키의 알고리즘. 비대칭 키는 PEM(PKCS#8 개인키, X.509 공개키)으로 넣고,
+     * 비워두면 시작할 때마다 임시 키를 만든다(개발용, 재시작/다중 노드에서 토큰이 무효가 됨).
+     */
+    public record Signing(
+        SigningAlgorithm algorithm,
+        String privateKey,
+        String publicKey,
+        Duration jwksMaxAge
+    ) {}
+
+    public SigningAlgorithm algorithm() {
+        return signing == null || signing.algorithm() == null ? SigningAlgorithm.HMAC : signing.algorithm();
+    }
+
+    /**
+     * access token 포맷. version 1 은 기존 클레임(typ/email/role/jti UUID), version 2 는
+     * 짧은 키와 정수 코드, 16바이트 jti 를 쓴다. 검증은 버전과 상관없이 둘 다 받는다.
+     * includeEmail=false 면 v2 토큰에서 email 을 빼서 헤더를 더 줄인다(principal.email 은 null).
+     */
+    public record AccessToken(
+        int version,
+        boolean includeEmail
+    ) {
+        // 0 = 미지정(v1). 오타로 넣은 버전이 조용히 v1 로 발급되지 않도록 바인딩 시점에 실패시킨다
+        public AccessToken {
+            if (version < 0 || version > 2) {
+                throw new IllegalArgumentException("jwt.access-token.version must be 1 or 2: " + version);
+            }
+        }
+    }
+
+    public int accessTokenVersion() {
+        return accessToken == null || accessToken.version() == 0 ? 1 : accessToken.version();
+    }
+
+    /**
+     * JWT: 서명된 JWT / OPAQUE: selector(사용자 id, epoch, 만료 시각) + 256비트 난수 verifier.
+     * opaque 는 서명/JSON 없이 저장소의 hash 조회 한 번으로 확인한다.
+     */
+    public enum RefreshTokenFormat { JWT, OPAQUE }
+
+    /**
+     * 새로 발급하는 refresh token 의 포맷. 읽을 때는 포맷과 상관없이 둘 다 받으므로
+     * 기존 JWT refresh 쿠키는 만료될 때까지 그대로 쓸 수 있다.
+     */
+    public record RefreshToken(
+        RefreshTokenFormat format
+    ) {}
+
+    public RefreshTokenFormat refreshTokenFormat() {
+        return refreshToken == null || refreshToken.format() == null ? RefreshTokenFormat.JWT : refreshToken.format();
+    }
+
+    /**
+     * 검증된 access token 캐시. 같은 토큰이 반복해서 들어올 때 서명 검증/클레임 파싱을 건너뛴다.
+     */
+    public record VerifiedCache(
+        boolean enabled,
+        int maxSize
+    ) {}
+
+    /**
+     * 로그아웃 등으로 폐기된 access token(jti) 목록. expectedEntries 는 access TTL 동안 폐기될 토큰 수 기준.
+     */
+    public record Denylist(
+        boolean enabled,
+        int expectedEntries,
+        double falsePositiveRate
+    ) {}
+
+    /**
+     * 사용자별 token epoch 캐시. ttl 은 다른 노드에서 올린 epoch 가 이 노드에 반영되기까지의 최대 지연.
+     */
+    public record EpochCache(
+        int maxSize,
+        Duration ttl
+    ) {}
+}
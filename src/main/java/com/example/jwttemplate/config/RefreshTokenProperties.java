@@ -0,0 +1,75 @@
+package com.example.jwttemplate.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "refresh-token")
+public record RefreshTokenProperties(
+    Store store,
+    HashStorage hashStorage,
+    Purge purge,
+    Memory memory,
+    WriteBehind writeBehind,
+    Partitioned partitioned
+) {
+    /**
+     * JPA: DB 테이블(refresh_tokens) / MEMORY: 단일 노드용 in-memory 저장소
+     * PARTITIONED: 만료 시각 구간(bucket)별 테이블, 만료 정리는 테이블 drop
+     */
+    public enum Store { JPA, MEMORY, PARTITIONED }
+
+    /**
+     * HEX: SHA-256 hex 문자열(64자) / BINARY: 32바이트 binary 컬럼 (인덱스 크기 절반)
+     */
+    public enum HashStorage { HEX, BINARY }
+
+    /**
+     * 만료/폐기 refresh token 정리 작업. 폐기된 토큰은 revokedGrace 동안 남겨서 재사용 시 refresh_revoked로 응답한다.
+     */
+    public record Purge(
+        boolean enabled,
+        Duration interval,
+        int batchSize,
+        Duration pause,
+        int maxBatchesPerRun,
+        Duration revokedGrace,
+        Duration leaseTtl
+    ) {}
+
+    /**
+     * store=memory 설정. snapshotFile 을 지정하면 주기적으로/종료 시 파일로 저장하고 재시작 시 복구한다.
+     */
+    public record Memory(
+        int maxEntries,
+        Path snapshotFile,
+        Duration snapshotInterval
+    ) {}
+
+    /**
+     * store=jpa 에서 insert/폐기를 모아서 JDBC batch로 쓴다. window 또는 batchSize 중 먼저 도달한 쪽에서 flush.
+     * 발급 직후 flush 전에 서버가 죽으면 그 사이 발급된 refresh token은 유실된다(재로그인 필요).
+     * timeout 은 요청 스레드가 큐 자리와 폐기 결과를 기다리는 최대 시간 (넘으면 실패로 응답).
+     */
+    public record WriteBehind(
+        boolean enabled,
+        int batchSize,
+        Duration window,
+        int queueCapacity,
+        Duration timeout
+    ) {}
+
+    /**
+     * store=partitioned 설정. bucketWidth 구간마다 테이블 하나 (refresh_tokens_p<시작 시각>_<분>).
+     * maintenanceInterval 마다 앞으로 필요한 bucket 을 미리 만들고 끝난 bucket 을 drop 한다.
+     */
+    public record Partitioned(
+        Duration bucketWidth,
+        Duration maintenanceInterval
+    ) {}
+
+    public boolean binaryHash() {
+        return hashStorage == HashStorage.BINARY;
+    }
+}
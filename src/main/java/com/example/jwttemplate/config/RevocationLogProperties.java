@@ -0,0 +1,20 @@
+package com.example.jwttemplate.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 노드 간 폐기 전파용 revocation_log 테이블 설정. 각 노드는 pollInterval 마다 새 row 를 읽어 로컬 캐시에 반영하므로
+ * 다른 노드에서 폐기된 토큰을 계속 받아주는 시간은 최대 pollInterval (+ 조회 시간).
+ * gapTimeout: 먼저 읽힌 큰 id 보다 늦게 commit 되는 작은 id 를 기다리는 시간.
+ */
+@ConfigurationProperties(prefix = "revocation-log")
+public record RevocationLogProperties(
+    boolean enabled,
+    Duration pollInterval,
+    int batchSize,
+    Duration gapTimeout,
+    Duration purgeInterval,
+    int maxRevokedRefreshTokens
+) {}
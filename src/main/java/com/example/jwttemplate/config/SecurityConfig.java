@@ -1,9 +1,12 @@
 package com.example.jwttemplate.config;
 
+import com.example.jwttemplate.auth.LoginRateLimitFilter;
 import com.example.jwttemplate.jwt.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -13,6 +16,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,9 +29,25 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    /** 인증 없이 열린 경로. JwtAuthenticationFilter 는 이 경로들에서 토큰을 검증하지 않는다. */
+    public static final String[] PUBLIC_PATHS = {
+        "/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness", "/actuator/info"
+    };
+    public static final String PROMETHEUS_PATH = "/actuator/prometheus";
+    public static final String[] PUBLIC_GET_PATHS = {
+        "/.well-known/jwks.json"
+    };
+    public static final String[] PUBLIC_POST_PATHS = {
+        "/api/auth/login", "/api/auth/refresh", "/api/auth/logout"
+    };
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final LoginRateLimitFilter loginRateLimitFilter;
     private final SecurityProperties securityProperties;
 
+    // management.server.port 로 따로 뜬 actuator 서버의 실제 포트 (없으면 -1)
+    private volatile int managementPort = -1;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -36,15 +57,32 @@ public class SecurityConfig {
             .formLogin(form -> form.disable())
             .httpBasic(basic -> basic.disable())
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/actuator/health", "/actuator/info").permitAll()
-                .requestMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/refresh", "/api/auth/logout").permitAll()
+                .requestMatchers(PUBLIC_PATHS).permitAll()
+                // prometheus: management.server.port(내부망 전용 포트)로 온 스크레이프는 인증 없이, 서비스 포트에서는 ADMIN 만
+                .requestMatchers(onManagementPort(PROMETHEUS_PATH)).permitAll()
+                .requestMatchers(PROMETHEUS_PATH).hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, PUBLIC_GET_PATHS).permitAll()
+                .requestMatchers(HttpMethod.POST, PUBLIC_POST_PATHS).permitAll()
                 .anyRequest().authenticated()
             )
+            .addFilterBefore(loginRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    @EventListener
+    void onWebServerInitialized(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
+    private RequestMatcher onManagementPort(String path) {
+        RequestMatcher pathMatcher = AntPathRequestMatcher.antMatcher(path);
+        return request -> managementPort > 0 && request.getLocalPort() == managementPort && pathMatcher.matches(request);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -2,10 +2,15 @@ package com.example.jwttemplate.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "security")
 public record SecurityProperties(
     Cors cors,
-    Cookie cookie
+    Cookie cookie,
+    Login login,
+    UserCache userCache,
+    RateLimit rateLimit
 ) {
     public record Cors(String allowedOrigins) {}
 
@@ -15,4 +20,37 @@ public record SecurityProperties(
         String sameSite,
         String path
     ) {}
+
+    /**
+     * 로그인 비밀번호(BCrypt) 검증 전용 스레드 풀. passwordThreads <= 0 이면 CPU 코어 수.
+     */
+    public record Login(
+        int passwordThreads,
+        int passwordQueueCapacity,
+        long passwordTimeoutMillis
+    ) {}
+
+    /**
+     * 로그인/재발급용 사용자 스냅샷 캐시. ttl 은 다른 노드에서 바뀐 email/role 이 이 노드에 반영되기까지의 최대 지연.
+     */
+    public record UserCache(
+        int maxSize,
+        Duration ttl
+    ) {}
+
+    /**
+     * 로그인 시도 제한 (token bucket). capacity 만큼 연속 시도 가능하고 refillEvery 마다 한 번씩 회복된다.
+     * maxKeys 는 IP/email 별로 추적하는 키 수 상한.
+     */
+    public record RateLimit(
+        boolean enabled,
+        Bucket perIp,
+        Bucket perEmail,
+        int maxKeys
+    ) {
+        public record Bucket(
+            int capacity,
+            Duration refillEvery
+        ) {}
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.jwttemplate.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "seed")
+public record SeedProperties(
+    Mode mode,
+    // 부하 테스트용 USER 계정 load-user-{0..n-1}@example.com 수 (기본 0)
+    int loadUsers
+) {
+    public static String loadUserEmail(int index) {
+        return "load-user-" + index + "@example.com";
+    }
+
+    /**
+     * STARTUP: 기동 중에 생성 (완료 후 ready) / DEFERRED: ready 이후 백그라운드에서 생성 / OFF: 생성하지 않음
+     */
+    public enum Mode { STARTUP, DEFERRED, OFF }
+}
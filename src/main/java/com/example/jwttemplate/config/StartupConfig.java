@@ -0,0 +1,40 @@
+package com.example.jwttemplate.config;
+
+import com.example.jwttemplate.JwtTemplateApplication;
+import com.example.jwttemplate.auth.AuthController;
+import com.example.jwttemplate.auth.AuthService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * fast-startup 프로필(spring.main.lazy-initialization=true)에서도 기동 시 만들어 둘 bean.
+ * 로그인/인증 경로는 첫 요청이 bean 생성 비용을 떠안지 않도록, @Scheduled bean 은 생성되기 전까지 스케줄이 등록되지 않으므로 eager.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    private static final List<Class<?>> REQUEST_PATH = List.of(
+        SecurityFilterChain.class, AuthController.class, AuthService.class
+    );
+    private static final String APPLICATION_PACKAGE = JwtTemplateApplication.class.getPackageName() + ".";
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerRequestPathAndScheduledBeans() {
+        return (beanName, definition, type) ->
+            REQUEST_PATH.stream().anyMatch(t -> t.isAssignableFrom(type)) || hasScheduledMethods(type);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> type) {
+        if (!type.getName().startsWith(APPLICATION_PACKAGE)) return false;
+        return !MethodIntrospector.selectMethods(type, (MethodIntrospector.MetadataLookup<Scheduled>) (Method m) ->
+            AnnotatedElementUtils.findMergedAnnotation(m, Scheduled.class)).isEmpty();
+    }
+}
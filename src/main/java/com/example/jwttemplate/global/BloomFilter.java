@@ -0,0 +1,91 @@
+package com.example.jwttemplate.global;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent, insert-only Bloom filter over strings. {@link #mightContain} never returns
+ * {@code false} for an added value and returns {@code true} for others with roughly the
+ * configured probability while no more than {@code expectedInsertions} values are added.
+ * Both operations are lock-free and allocation-free. The bit count is rounded up to a power of
+ * two so probes are masked rather than divided, and the hash can be computed once with
+ * {@link #hash} and checked against several filters.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final long mask;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) throw new IllegalArgumentException("expectedInsertions must be positive");
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = Integer.highestOneBit((int) Math.max(1, (bits + 63) / 64 * 2 - 1));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.mask = bitCount - 1;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    public void add(String value) {
+        add(hash(value));
+    }
+
+    public void add(long h) {
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h1, h2, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                long witness = words.compareAndExchange(word, current, current | mask);
+                if (witness == current) break;
+                current = witness;
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        return mightContain(hash(value));
+    }
+
+    public boolean mightContain(long h) {
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h1, h2, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // Kirsch–Mitzenmacher: k개의 해시를 두 해시의 선형 결합으로 만든다
+    private long index(int h1, int h2, int i) {
+        return (h1 + (long) i * h2) & mask;
+    }
+
+    // String.hashCode() 는 String 에 캐시되고 JDK 21 에선 벡터화되어 있다. murmur3 fmix64 로 64비트로 퍼뜨린다
+    public static long hash(String value) {
+        long h = value.hashCode();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.jwttemplate.global;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded concurrent cache whose entries carry their own expiry time.
+ * Reads are lock-free; when the size bound is exceeded one thread sweeps expired entries
+ * and, if that is not enough, drops the least recently used ones down to 90% of the bound.
+ */
+public class BoundedExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedExpiringCache(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be positive");
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> e = map.get(key);
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (e.expiresAtMillis <= now) {
+            map.remove(key, e);
+            misses.increment();
+            return null;
+        }
+        // ms 단위로만 갱신해서 같은 엔트리를 읽는 스레드 간 write 경합을 줄인다
+        if (e.lastAccessMillis != now) e.lastAccessMillis = now;
+        hits.increment();
+        return e.value;
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) return;
+        map.put(key, new Entry<>(value, expiresAtMillis, now));
+        if (map.size() > maxSize) evict(now);
+    }
+
+    public void invalidate(K key) {
+        map.remove(key);
+    }
+
+    /**
+     * Removes the entry and returns its value (even if already expired) without counting a hit or miss.
+     */
+    public V remove(K key) {
+        Entry<V> e = map.remove(key);
+        return e == null ? null : e.value;
+    }
+
+    public void invalidateAll() {
+        map.clear();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void evict(long now) {
+        // 다른 스레드가 이미 정리 중이면 기다리지 않는다
+        if (!evictionLock.tryLock()) return;
+        try {
+            int before = map.size();
+            map.values().removeIf(e -> e.expiresAtMillis <= now);
+
+            int target = maxSize - maxSize / 10;
+            if (map.size() > target) {
+                List<Map.Entry<K, Entry<V>>> entries = new ArrayList<>(map.entrySet());
+                entries.sort(Comparator.comparingLong(me -> me.getValue().lastAccessMillis));
+                int toRemove = entries.size() - target;
+                for (int i = 0; i < toRemove; i++) {
+                    Map.Entry<K, Entry<V>> me = entries.get(i);
+                    map.remove(me.getKey(), me.getValue());
+                }
+            }
+            evictions.add(Math.max(0, before - map.size()));
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAtMillis;
+        volatile long lastAccessMillis;
+
+        Entry(V value, long expiresAtMillis, long lastAccessMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.jwttemplate.global;
 
+import com.example.jwttemplate.auth.LoginRateLimitedException;
+import com.example.jwttemplate.auth.LoginUnavailableException;
 import com.example.jwttemplate.jwt.JwtException;
+import com.example.jwttemplate.refreshtoken.RefreshTokenStoreUnavailableException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -20,6 +24,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.ok(e.getMessage(), null));
     }
 
+    @ExceptionHandler(LoginUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleLoginUnavailable(LoginUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiResponse.ok(e.getMessage(), null));
+    }
+
+    @ExceptionHandler(RefreshTokenStoreUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRefreshTokenStoreUnavailable(RefreshTokenStoreUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiResponse.ok(e.getMessage(), null));
+    }
+
+    @ExceptionHandler(LoginRateLimitedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleLoginRateLimited(LoginRateLimitedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.retryAfterSeconds()))
+            .body(ApiResponse.ok(e.getMessage(), null));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException e) {
         return ResponseEntity.badRequest().body(ApiResponse.ok(e.getMessage(), null));
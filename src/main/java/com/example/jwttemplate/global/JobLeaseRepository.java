@@ -0,0 +1,36 @@
+package com.example.jwttemplate.global;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes over (or renews) the lease if it has expired or is already ours.
+     */
+    @Transactional
+    @Modifying
+    @Query("update JobLease l set l.owner = :owner, l.leasedUntil = :until "
+        + "where l.name = :name and (l.leasedUntil < :now or l.owner = :owner)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") Instant now, @Param("until") Instant until);
+
+    /**
+     * Creates the lease row. A plain INSERT, so when two nodes race for a new lease the primary key
+     * lets exactly one through and the other gets a {@link org.springframework.dao.DuplicateKeyException}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into job_leases (name, owner, leased_until) values (:name, :owner, :until)", nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("until") Instant until);
+
+    @Transactional
+    @Modifying
+    @Query("update JobLease l set l.leasedUntil = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
@@ -0,0 +1,41 @@
+package com.example.jwttemplate.global;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class JobLeases {
+
+    private final JobLeaseRepository jobLeaseRepository;
+
+    // 노드(프로세스) 식별자
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * Takes the lease with a conditional UPDATE (expired or already ours), or creates it with an
+     * INSERT when there is no row yet. Both are single statements, so of several nodes racing for
+     * the same lease exactly one gets it. (saveAndFlush on an assigned id is a select + merge, which
+     * can update a row another node has just inserted.)
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        Instant now = Instant.now();
+        Instant until = now.plus(ttl);
+        if (jobLeaseRepository.acquire(name, owner, now, until) == 1) return true;
+        try {
+            return jobLeaseRepository.insert(name, owner, until) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // 행이 이미 있다: 다른 노드가 잡고 있거나 방금 만들었다
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        jobLeaseRepository.release(name, owner, Instant.now());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.jwttemplate.global;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-key token bucket, implemented as GCRA: each key holds one {@link AtomicLong} with the
+ * time its bucket will be full again, and an attempt is a single CAS on it. A bucket holds
+ * {@code capacity} attempts and regains one every {@code refillNanos}.
+ * <p>
+ * Keys whose bucket is already full carry no information, so they are what gets dropped when
+ * the map grows past {@code maxKeys}; if that is not enough, the fullest buckets go next.
+ */
+public class RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long refillNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder evictions = new LongAdder();
+
+    public RateLimiter(int capacity, long refillNanos, int maxKeys) {
+        if (capacity <= 0 || refillNanos <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("capacity, refillNanos and maxKeys must be positive");
+        }
+        this.refillNanos = refillNanos;
+        this.burstNanos = refillNanos * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one attempt from the key's bucket. Returns 0 if allowed, otherwise the nanoseconds
+     * until the next attempt would be allowed (nothing is taken in that case).
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            if (buckets.size() > maxKeys) evict(now);
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + refillNanos;
+            long over = next - now - burstNanos;
+            if (over > 0) return over;
+            if (bucket.compareAndSet(fullAt, next)) return 0;
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void evict(long now) {
+        // 다른 스레드가 이미 정리 중이면 기다리지 않는다
+        if (!evictionLock.tryLock()) return;
+        try {
+            int before = buckets.size();
+            buckets.values().removeIf(b -> b.get() - now <= 0);
+
+            int target = maxKeys - maxKeys / 10;
+            if (buckets.size() > target) {
+                // 정렬 중에 값이 바뀌지 않도록 시점 값을 복사해서 정렬한다
+                List<Candidate> candidates = new ArrayList<>(buckets.size());
+                for (Map.Entry<String, AtomicLong> e : buckets.entrySet()) {
+                    candidates.add(new Candidate(e.getKey(), e.getValue(), e.getValue().get() - now));
+                }
+                candidates.sort(Comparator.comparingLong(Candidate::remainingNanos));
+                int toRemove = candidates.size() - target;
+                for (int i = 0; i < toRemove; i++) {
+                    Candidate c = candidates.get(i);
+                    buckets.remove(c.key(), c.bucket());
+                }
+            }
+            evictions.add(Math.max(0, before - buckets.size()));
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private record Candidate(String key, AtomicLong bucket, long remainingNanos) {
+    }
+}
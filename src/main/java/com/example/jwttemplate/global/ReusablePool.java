@@ -0,0 +1,43 @@
+package com.example.jwttemplate.global;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reuses expensive, non-thread-safe helpers (MessageDigest, Mac, scratch buffers).
+ * Platform threads keep one instance in a ThreadLocal. Virtual threads are created per task,
+ * so a ThreadLocal would rebuild the helper on every request; they borrow from a bounded
+ * shared queue instead. Always pair {@link #acquire()} with {@link #release(Object)}.
+ */
+public final class ReusablePool<T> {
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> perThread;
+    private final ConcurrentLinkedQueue<T> shared = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sharedSize = new AtomicInteger();
+    private final int maxShared;
+
+    public ReusablePool(Supplier<T> factory, int maxShared) {
+        this.factory = factory;
+        this.perThread = ThreadLocal.withInitial(factory);
+        this.maxShared = maxShared;
+    }
+
+    public T acquire() {
+        if (!Thread.currentThread().isVirtual()) return perThread.get();
+        T t = shared.poll();
+        if (t == null) return factory.get();
+        sharedSize.decrementAndGet();
+        return t;
+    }
+
+    public void release(T t) {
+        if (!Thread.currentThread().isVirtual()) return;
+        if (sharedSize.incrementAndGet() <= maxShared) {
+            shared.offer(t);
+        } else {
+            sharedSize.decrementAndGet();
+        }
+    }
+}
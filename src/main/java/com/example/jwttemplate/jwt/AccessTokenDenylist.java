@@ -0,0 +1,125 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.global.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Denylist of revoked access token ids ({@code jti}), checked on every authenticated request.
+ * The fast path is a Bloom filter: almost every token is not revoked and is answered without
+ * touching the exact set, which is consulted only when the filter reports a possible match.
+ * <p>
+ * Entries need no explicit removal. Filters are rotated every access TTL (checked on revocation
+ * and on filter hits) and the previous one is still checked, so an id stays visible for at least
+ * one full TTL, after which the token it belongs to has expired anyway. The exact set drops
+ * entries past their {@code exp} on rotation. Revocations add to the filter under the rotation
+ * lock, so an id always lands in the generation that is current after the rotation check.
+ * <p>
+ * Each node keeps its own list; revocations made on other nodes arrive through the revocation
+ * log ({@code Revocations}).
+ */
+@Component
+public class AccessTokenDenylist {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final ReentrantLock rotationLock = new ReentrantLock();
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    private final Counter revokedHits;
+    private final Counter falsePositives;
+
+    public AccessTokenDenylist(JwtProperties props, MeterRegistry meterRegistry) {
+        JwtProperties.Denylist conf = props.denylist();
+        this.enabled = conf != null && conf.enabled();
+        this.ttlMillis = props.accessTtlSeconds() * 1000;
+        this.expectedEntries = enabled ? conf.expectedEntries() : 1;
+        this.falsePositiveRate = enabled ? conf.falsePositiveRate() : 0.5;
+        this.current = enabled ? new Generation(System.currentTimeMillis()) : null;
+
+        this.revokedHits = Counter.builder("jwt.denylist.filter_hits").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder("jwt.denylist.filter_hits").tag("result", "false_positive").register(meterRegistry);
+        Gauge.builder("jwt.denylist.size", revoked, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Denies the token id until {@code expiresAtMillis}. No-op when disabled or already expired.
+     */
+    public void revoke(String jti, long expiresAtMillis) {
+        if (!enabled || jti == null) return;
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) return;
+
+        revoked.put(jti, expiresAtMillis);
+        long hash = BloomFilter.hash(jti);
+        // rotation 과 겹치면 버려지는 generation 에만 들어갈 수 있으므로 lock 안에서 추가한다 (폐기는 드물다)
+        rotationLock.lock();
+        try {
+            rotateIfDue(now);
+            current.filter.add(hash);
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        if (!enabled || jti == null) return false;
+
+        // 대부분의 요청은 여기서 끝난다 (시계 조회도 하지 않음)
+        long hash = BloomFilter.hash(jti);
+        Generation c = current;
+        Generation p = previous;
+        if (!c.filter.mightContain(hash) && (p == null || !p.filter.mightContain(hash))) return false;
+
+        long now = System.currentTimeMillis();
+        rotateIfDue(now);
+
+        Long exp = revoked.get(jti);
+        if (exp != null && exp > now) {
+            revokedHits.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void rotateIfDue(long now) {
+        if (now - current.startedAtMillis < ttlMillis) return;
+        if (!rotationLock.tryLock()) return;
+        try {
+            Generation c = current;
+            if (now - c.startedAtMillis < ttlMillis) return;
+            // 두 TTL 이상 비어 있었으면 이전 generation 도 필요 없다
+            previous = now - c.startedAtMillis < 2 * ttlMillis ? c : null;
+            current = new Generation(now);
+            revoked.values().removeIf(exp -> exp <= now);
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private final class Generation {
+        final long startedAtMillis;
+        final BloomFilter filter = new BloomFilter(expectedEntries, falsePositiveRate);
+
+        Generation(long startedAtMillis) {
+            this.startedAtMillis = startedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.global.ReusablePool;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifies HMAC-signed compact tokens directly on their bytes, for the exact layouts
+ * {@link JwtTokenProvider} issues (flat header/payload, string and integer values only),
+ * both the v1 claims and the short v2 ones.
+ * <p>
+ * {@link #verify(String)} either returns the claims, throws {@link JwtException} when the token
+ * is definitely invalid (bad signature, unknown key, expired), or returns {@code null} when the
+ * token is outside the supported layout, in which case the caller falls back to JJWT.
+ */
+final class CompactHmacVerifier {
+
+    private static final int MAX_TOKEN_CHARS = 4096;
+
+    private static final byte[][] ALG_NAMES = {ascii("HS256"), ascii("HS384"), ascii("HS512")};
+    private static final String[] JCA_NAMES = {"HmacSHA256", "HmacSHA384", "HmacSHA512"};
+    private static final int[] ALG_BITS = {256, 384, 512};
+
+    private static final byte[] B64URL = new byte[128];
+
+    static {
+        Arrays.fill(B64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) B64URL[alphabet.charAt(i)] = (byte) i;
+    }
+
+    // header
+    private static final byte[] ALG = ascii("alg");
+    private static final byte[] KID = ascii("kid");
+    private static final byte[] TYP = ascii("typ");
+    // payload
+    private static final byte[] ISS = ascii("iss");
+    private static final byte[] SUB = ascii("sub");
+    private static final byte[] JTI = ascii("jti");
+    private static final byte[] EMAIL = ascii("email");
+    private static final byte[] ROLE = ascii("role");
+    private static final byte[] IAT = ascii("iat");
+    private static final byte[] EXP = ascii("exp");
+    private static final byte[] EP = ascii("ep");
+    // payload v2
+    private static final byte[] V = ascii("v");
+    private static final byte[] T = ascii("t");
+    private static final byte[] R = ascii("r");
+    private static final byte[] E = ascii("e");
+    private static final byte[] J = ascii("j");
+
+    private final JwtKeyRing keyRing;
+    private final Map<String, KeyState> keyStates;
+    private final ReusablePool<Scratch> scratch;
+
+    CompactHmacVerifier(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        Map<String, KeyState> map = new HashMap<>();
+        // ES256/EdDSA 키로 서명된 토큰은 keyStates 에 없으므로 JJWT 로 넘어간다
+        for (JwtKeyRing.SigningKey key : keyRing.keys()) {
+            if (key.isHmac()) map.put(key.id(), new KeyState(key, map.size()));
+        }
+        this.keyStates = Map.copyOf(map);
+        int keyCount = map.size();
+        this.scratch = new ReusablePool<>(() -> new Scratch(keyCount), 256);
+    }
+
+    TokenClaims verify(String token) {
+        if (token.length() > MAX_TOKEN_CHARS) return null;
+
+        Scratch s = scratch.acquire();
+        try {
+            return verify(token, s);
+        } finally {
+            scratch.release(s);
+        }
+    }
+
+    private TokenClaims verify(String token, Scratch s) {
+        int len = token.length();
+        byte[] chars = s.chars;
+        int dot1 = -1;
+        int dot2 = -1;
+        for (int i = 0; i < len; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (dot1 < 0) dot1 = i;
+                else if (dot2 < 0) dot2 = i;
+                else return null;
+            } else if (c >= 128 || B64URL[c] < 0) {
+                return null;
+            }
+            chars[i] = (byte) c;
+        }
+        if (dot1 <= 0 || dot2 <= dot1 + 1 || dot2 == len - 1) return null;
+
+        // header
+        int n = decode(chars, 0, dot1, s.decoded);
+        if (n < 0 || !s.parseHeader(n)) return null;
+
+        JwtKeyRing.SigningKey key = keyRing.verificationKey(s.kid);
+        if (key == null) throw new JwtException("invalid_token");
+        KeyState state = keyStates.get(key.id());
+        if (state == null || state.bits < ALG_BITS[s.alg]) return null;
+
+        // signature
+        Mac mac = s.mac(state, s.alg);
+        mac.update(chars, 0, dot2);
+        int macLen = mac.getMacLength();
+        try {
+            mac.doFinal(s.expected, 0);
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+        int sigLen = decode(chars, dot2 + 1, len, s.decoded);
+        if (sigLen != macLen) throw new JwtException("invalid_token");
+        int diff = 0;
+        for (int i = 0; i < macLen; i++) diff |= s.expected[i] ^ s.decoded[i];
+        if (diff != 0) throw new JwtException("invalid_token");
+
+        // payload
+        n = decode(chars, dot1 + 1, dot2, s.decoded);
+        if (n < 0 || !s.parsePayload(n)) return null;
+        if (!s.hasExp || s.exp > Long.MAX_VALUE / 1000) return null;
+        if (System.currentTimeMillis() > s.exp * 1000) throw new JwtException("invalid_token");
+
+        long iat = s.hasIat ? s.iat : 0;
+        if (s.version < 0) return TokenClaims.of(s.typ, s.sub, s.email, s.role, s.jti, s.ep, iat, s.exp);
+        if (s.version != 2) return null;
+        return TokenClaims.ofCodes(s.typeCode, s.sub, s.shortEmail, s.roleCode, s.shortJti, s.ep, iat, s.exp);
+    }
+
+    private static int decode(byte[] src, int from, int to, byte[] dst) {
+        int len = to - from;
+        int rem = len & 3;
+        if (rem == 1) return -1;
+        int outLen = (len >> 2) * 3 + (rem == 0 ? 0 : rem - 1);
+        if (outLen > dst.length) return -1;
+
+        int si = from;
+        int di = 0;
+        while (si + 4 <= to) {
+            int v = B64URL[src[si]] << 18 | B64URL[src[si + 1]] << 12 | B64URL[src[si + 2]] << 6 | B64URL[src[si + 3]];
+            dst[di++] = (byte) (v >> 16);
+            dst[di++] = (byte) (v >> 8);
+            dst[di++] = (byte) v;
+            si += 4;
+        }
+        if (rem == 2) {
+            int v = B64URL[src[si]] << 18 | B64URL[src[si + 1]] << 12;
+            dst[di++] = (byte) (v >> 16);
+        } else if (rem == 3) {
+            int v = B64URL[src[si]] << 18 | B64URL[src[si + 1]] << 12 | B64URL[src[si + 2]] << 6;
+            dst[di++] = (byte) (v >> 16);
+            dst[di++] = (byte) (v >> 8);
+        }
+        return di;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class KeyState {
+        final JwtKeyRing.SigningKey key;
+        final int index;
+        final int bits;
+
+        KeyState(JwtKeyRing.SigningKey key, int index) {
+            this.key = key;
+            this.index = index;
+            this.bits = key.verificationKey().getEncoded().length * 8;
+        }
+    }
+
+    /**
+     * Reusable buffers and Macs plus a minimal parser for flat JSON objects. Anything it does not
+     * understand (escapes, non-ASCII, nested values, unknown or duplicate members) makes
+     * the parse methods return false.
+     */
+    private static final class Scratch {
+        final byte[] chars = new byte[MAX_TOKEN_CHARS];
+        final byte[] decoded = new byte[MAX_TOKEN_CHARS];
+        final byte[] expected = new byte[64];
+        final Mac[][] macs;
+
+        int pos;
+        int end;
+        int valueStart;
+        int valueEnd;
+        long number;
+        boolean isString;
+
+        int alg;
+        String kid;
+
+        String typ;
+        String sub;
+        String email;
+        String role;
+        String jti;
+        long ep;
+        long iat;
+        long exp;
+        boolean hasIat;
+        boolean hasExp;
+
+        long version;
+        long typeCode;
+        long roleCode;
+        String shortEmail;
+        String shortJti;
+
+        Scratch(int keyCount) {
+            this.macs = new Mac[keyCount][JCA_NAMES.length];
+        }
+
+        Mac mac(KeyState state, int alg) {
+            Mac mac = macs[state.index][alg];
+            if (mac == null) {
+                try {
+                    mac = Mac.getInstance(JCA_NAMES[alg]);
+                    mac.init(state.key.verificationKey());
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("mac_init_failed", e);
+                }
+                macs[state.index][alg] = mac;
+            }
+            return mac;
+        }
+
+        boolean parseHeader(int length) {
+            alg = -1;
+            kid = null;
+            int seen = 0;
+            if (!begin(length) || !firstMember()) return false;
+            do {
+                int keyStart = valueStart;
+                int keyEnd = valueEnd;
+                if (!value()) return false;
+                int bit;
+                if (eq(keyStart, keyEnd, ALG)) {
+                    bit = 1;
+                    if (!isString) return false;
+                    for (int i = 0; i < ALG_NAMES.length; i++) {
+                        if (eq(valueStart, valueEnd, ALG_NAMES[i])) alg = i;
+                    }
+                    if (alg < 0) return false;
+                } else if (eq(keyStart, keyEnd, KID)) {
+                    bit = 2;
+                    if (!isString) return false;
+                    kid = string();
+                } else if (eq(keyStart, keyEnd, TYP)) {
+                    bit = 4;
+                    if (!isString) return false;
+                } else {
+                    return false;
+                }
+                if ((seen & bit) != 0) return false;
+                seen |= bit;
+            } while (next());
+            return alg >= 0 && atEnd();
+        }
+
+        boolean parsePayload(int length) {
+            typ = sub = email = role = jti = shortEmail = shortJti = null;
+            ep = 0;
+            version = typeCode = roleCode = -1;
+            hasIat = hasExp = false;
+            int seen = 0;
+            if (!begin(length) || !firstMember()) return false;
+            do {
+                int keyStart = valueStart;
+                int keyEnd = valueEnd;
+                if (!value()) return false;
+                int bit;
+                if (eq(keyStart, keyEnd, ISS)) {
+                    bit = 1;
+                    if (!isString) return false;
+                } else if (eq(keyStart, keyEnd, SUB)) {
+                    bit = 2;
+                    if (!isString) return false;
+                    sub = string();
+                } else if (eq(keyStart, keyEnd, JTI)) {
+                    bit = 4;
+                    if (!isString) return false;
+                    jti = string();
+                } else if (eq(keyStart, keyEnd, TYP)) {
+                    bit = 8;
+                    if (!isString) return false;
+                    typ = string();
+                } else if (eq(keyStart, keyEnd, EMAIL)) {
+                    bit = 16;
+                    if (!isString) return false;
+                    email = string();
+                } else if (eq(keyStart, keyEnd, ROLE)) {
+                    bit = 32;
+                    if (!isString) return false;
+                    role = string();
+                } else if (eq(keyStart, keyEnd, IAT)) {
+                    bit = 64;
+                    if (isString) return false;
+                    iat = number;
+                    hasIat = true;
+                } else if (eq(keyStart, keyEnd, EXP)) {
+                    bit = 128;
+                    if (isString) return false;
+                    exp = number;
+                    hasExp = true;
+                } else if (eq(keyStart, keyEnd, EP)) {
+                    bit = 256;
+                    if (isString) return false;
+                    ep = number;
+                } else if (eq(keyStart, keyEnd, V)) {
+                    bit = 512;
+                    if (isString) return false;
+                    version = number;
+                } else if (eq(keyStart, keyEnd, T)) {
+                    bit = 1024;
+                    if (isString) return false;
+                    typeCode = number;
+                } else if (eq(keyStart, keyEnd, R)) {
+                    bit = 2048;
+                    if (isString) return false;
+                    roleCode = number;
+                } else if (eq(keyStart, keyEnd, E)) {
+                    bit = 4096;
+                    if (!isString) return false;
+                    shortEmail = string();
+                } else if (eq(keyStart, keyEnd, J)) {
+                    bit = 8192;
+                    if (!isString) return false;
+                    shortJti = string();
+                } else {
+                    return false;
+                }
+                if ((seen & bit) != 0) return false;
+                seen |= bit;
+            } while (next());
+            return atEnd();
+        }
+
+        private boolean begin(int length) {
+            pos = 0;
+            end = length;
+            skipWs();
+            if (pos >= end || decoded[pos] != '{') return false;
+            pos++;
+            skipWs();
+            return true;
+        }
+
+        private boolean firstMember() {
+            if (pos < end && decoded[pos] == '}') return false;
+            return memberName();
+        }
+
+        private boolean memberName() {
+            if (!stringToken()) return false;
+            skipWs();
+            if (pos >= end || decoded[pos] != ':') return false;
+            pos++;
+            skipWs();
+            return true;
+        }
+
+        private boolean value() {
+            if (pos >= end) return false;
+            byte b = decoded[pos];
+            if (b == '"') {
+                isString = true;
+                return stringToken();
+            }
+            if (b < '0' || b > '9') return false;
+            isString = false;
+            int start = pos;
+            long v = 0;
+            while (pos < end && decoded[pos] >= '0' && decoded[pos] <= '9') {
+                if (pos - start >= 18) return false;
+                v = v * 10 + (decoded[pos] - '0');
+                pos++;
+            }
+            if (decoded[start] == '0' && pos - start > 1) return false;
+            if (pos < end && (decoded[pos] == '.' || decoded[pos] == 'e' || decoded[pos] == 'E')) return false;
+            number = v;
+            return true;
+        }
+
+        private boolean stringToken() {
+            if (pos >= end || decoded[pos] != '"') return false;
+            pos++;
+            int start = pos;
+            while (pos < end) {
+                byte b = decoded[pos];
+                if (b == '"') {
+                    valueStart = start;
+                    valueEnd = pos;
+                    pos++;
+                    return true;
+                }
+                // escape, control char, non-ASCII -> JJWT에 맡긴다
+                if (b == '\\' || b < 0x20) return false;
+                pos++;
+            }
+            return false;
+        }
+
+        // ',' 이면 다음 멤버 이름까지 읽고 true, '}' 이면 false
+        private boolean next() {
+            skipWs();
+            if (pos < end && decoded[pos] == ',') {
+                pos++;
+                skipWs();
+                if (!memberName()) {
+                    pos = end + 1;
+                    return false;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private boolean atEnd() {
+            if (pos >= end || decoded[pos] != '}') return false;
+            pos++;
+            skipWs();
+            return pos == end;
+        }
+
+        private void skipWs() {
+            while (pos < end) {
+                byte b = decoded[pos];
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') return;
+                pos++;
+            }
+        }
+
+        private String string() {
+            return new String(decoded, valueStart, valueEnd - valueStart, StandardCharsets.US_ASCII);
+        }
+
+        private boolean eq(int start, int stop, byte[] literal) {
+            if (stop - start != literal.length) return false;
+            for (int i = 0; i < literal.length; i++) {
+                if (decoded[start + i] != literal[i]) return false;
+            }
+            return true;
+        }
+    }
+}
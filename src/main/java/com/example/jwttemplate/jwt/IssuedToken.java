@@ -0,0 +1,11 @@
+package com.example.jwttemplate.jwt;
+
+import java.time.Instant;
+
+/**
+ * A freshly signed token together with its expiry, so callers never have to parse it back.
+ */
+public record IssuedToken(
+    String value,
+    Instant expiresAt
+) {}
@@ -0,0 +1,100 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Publishes the public halves of the ES256/EdDSA keys so other services can verify access
+ * tokens locally. The body only changes on redeploy, so it is rendered once and served with a
+ * strong ETag; clients revalidate with {@code If-None-Match} and get a bodyless 304.
+ * HMAC keys are never published.
+ */
+@RestController
+public class JwksController {
+
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(5);
+
+    private final JwtKeyRing keyRing;
+    private final CacheControl cacheControl;
+    private volatile Snapshot snapshot;
+
+    public JwksController(JwtKeyRing keyRing, JwtProperties props) {
+        this.keyRing = keyRing;
+        Duration maxAge = props.signing() == null || props.signing().jwksMaxAge() == null
+            ? DEFAULT_MAX_AGE : props.signing().jwksMaxAge();
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        this.snapshot = render(keyRing, Instant.now());
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks(
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        Snapshot s = current();
+        if (s.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(s.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(s.etag()).cacheControl(cacheControl).body(s.body());
+    }
+
+    // previous-keys 가 retire-at 을 지나면 목록에서 빠져야 하므로 그 시점에만 다시 렌더링한다
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s.nextRetireAt() != null && Instant.now().isAfter(s.nextRetireAt())) {
+            s = render(keyRing, Instant.now());
+            snapshot = s;
+        }
+        return s;
+    }
+
+    private static Snapshot render(JwtKeyRing keyRing, Instant now) {
+        List<String> jwks = new ArrayList<>();
+        Instant nextRetireAt = null;
+        for (JwtKeyRing.SigningKey key : keyRing.keys()) {
+            if (key.isHmac() || key.isRetired(now)) continue;
+            PublicJwk<?> jwk = Jwks.builder()
+                .key((PublicKey) key.verificationKey())
+                .id(key.id())
+                .publicKeyUse("sig")
+                .build();
+            jwks.add(Jwks.json(jwk));
+            if (key.retireAt() != null && (nextRetireAt == null || key.retireAt().isBefore(nextRetireAt))) {
+                nextRetireAt = key.retireAt();
+            }
+        }
+        jwks.sort(null);
+        String body = "{\"keys\":[" + String.join(",", jwks) + "]}";
+        return new Snapshot(body, etag(body), nextRetireAt);
+    }
+
+    private static String etag(String body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Snapshot(String body, String etag, Instant nextRetireAt) {
+    }
+}
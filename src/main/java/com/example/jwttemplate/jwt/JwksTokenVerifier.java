@@ -0,0 +1,164 @@
+package com.example.jwttemplate.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verifies access tokens issued by this service from another service, using only the public
+ * keys at {@code /.well-known/jwks.json}. Not a Spring bean here; copy it (or depend on this
+ * module) in the resource server and keep one instance per issuer.
+ * <p>
+ * Returns the same {@link TokenClaims} as {@link JwtTokenProvider#verify(String)} for both access
+ * token layouts ({@code jwt.access-token.version} 1 and 2) and rejects every other token type, so a
+ * refresh token signed with the same key is not accepted as a bearer token.
+ * <p>
+ * Keys are fetched once and reused until the response's {@code max-age} runs out, after which
+ * they are revalidated with {@code If-None-Match}. A token with an unknown {@code kid} forces a
+ * refetch (at most once per {@code minRefreshInterval}) so a freshly rotated key is picked up
+ * without waiting for expiry. If the JWKS endpoint is down the last known keys keep being used.
+ */
+public class JwksTokenVerifier extends LocatorAdapter<Key> {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_MIN_REFRESH_INTERVAL = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(2);
+
+    private final URI jwksUri;
+    private final HttpClient httpClient;
+    private final Duration minRefreshInterval;
+    private final Clock clock;
+    private final JwtParser parser;
+
+    private volatile Snapshot snapshot;
+    private volatile Instant lastFetchAttempt = Instant.MIN;
+
+    public JwksTokenVerifier(URI jwksUri, String issuer) {
+        this(jwksUri, issuer, HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build(),
+            DEFAULT_MIN_REFRESH_INTERVAL, Clock.systemUTC());
+    }
+
+    public JwksTokenVerifier(URI jwksUri, String issuer, HttpClient httpClient,
+                             Duration minRefreshInterval, Clock clock) {
+        this.jwksUri = jwksUri;
+        this.httpClient = httpClient;
+        this.minRefreshInterval = minRefreshInterval;
+        this.clock = clock;
+        this.parser = Jwts.parser()
+            .keyLocator(this)
+            .requireIssuer(issuer)
+            .build();
+    }
+
+    public TokenClaims verify(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JwtException("invalid_token");
+        }
+        TokenClaims verified = TokenClaims.from(claims);
+        if (verified.type() != JwtTokenType.ACCESS) throw new JwtException("invalid_token_type");
+        return verified;
+    }
+
+    @Override
+    protected Key locate(ProtectedHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) throw new JwtException("unknown_key");
+
+        Snapshot s = snapshot;
+        if (s == null || clock.instant().isAfter(s.expiresAt())) {
+            s = refresh(s, false);
+        }
+        Key key = s.keys().get(kid);
+        if (key == null) {
+            // 키 교체 직후일 수 있으니 한 번 더 받아 본다
+            key = refresh(s, true).keys().get(kid);
+        }
+        if (key == null) throw new JwtException("unknown_key");
+        return key;
+    }
+
+    /**
+     * Fetches the key set unless another thread already did since {@code seen} was read.
+     * {@code force} skips the cache lifetime but still respects {@code minRefreshInterval}.
+     */
+    private synchronized Snapshot refresh(Snapshot seen, boolean force) {
+        Snapshot current = snapshot;
+        Instant now = clock.instant();
+        if (current != null && current != seen) return current;
+        if (current != null && force && now.isBefore(lastFetchAttempt.plus(minRefreshInterval))) return current;
+
+        lastFetchAttempt = now;
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(jwksUri).timeout(REQUEST_TIMEOUT).GET();
+            if (current != null && current.etag() != null) request.header("If-None-Match", current.etag());
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+
+            Instant expiresAt = now.plus(maxAge(response));
+            if (response.statusCode() == 304 && current != null) {
+                snapshot = new Snapshot(current.keys(), current.etag(), expiresAt);
+            } else if (response.statusCode() == 200) {
+                snapshot = new Snapshot(parse(response.body()),
+                    response.headers().firstValue("ETag").orElse(null), expiresAt);
+            } else {
+                throw new IllegalStateException("jwks_status_" + response.statusCode());
+            }
+            return snapshot;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return stale(current);
+        } catch (Exception e) {
+            return stale(current);
+        }
+    }
+
+    // 조회 실패 시 마지막으로 받은 키를 계속 쓰고, 다음 시도는 minRefreshInterval 뒤로 미룬다
+    private Snapshot stale(Snapshot current) {
+        if (current == null) throw new JwtException("jwks_unavailable");
+        snapshot = new Snapshot(current.keys(), current.etag(), clock.instant().plus(minRefreshInterval));
+        return snapshot;
+    }
+
+    private static Map<String, Key> parse(String body) {
+        JwkSet set = Jwks.setParser().ignoreUnsupported(true).build().parse(body);
+        Map<String, Key> keys = new HashMap<>();
+        for (Jwk<?> jwk : set.getKeys()) {
+            if (jwk.getId() != null) keys.put(jwk.getId(), jwk.toKey());
+        }
+        return Map.copyOf(keys);
+    }
+
+    private static Duration maxAge(HttpResponse<?> response) {
+        return response.headers().firstValue("Cache-Control")
+            .map(MAX_AGE::matcher)
+            .filter(Matcher::find)
+            .map(m -> Duration.ofSeconds(Long.parseLong(m.group(1))))
+            .orElse(DEFAULT_MAX_AGE);
+    }
+
+    private record Snapshot(Map<String, Key> keys, String etag, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.user.UserRole;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Authentication} for a verified access token. Built once per token and kept in
+ * {@link VerifiedAccess}, so a verified-cache hit puts the same instance into the security context
+ * instead of allocating a {@code UsernamePasswordAuthenticationToken} (which copies its authority list).
+ * <p>
+ * Only {@code setAuthenticated(false)} changes it, as the {@link Authentication} contract requires;
+ * since the instance is shared by every request carrying the same token, that sticks until the
+ * verified-cache entry is gone, i.e. it fails closed.
+ */
+public final class JwtAuthentication implements Authentication {
+
+    private static final Map<UserRole, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(UserRole.class);
+
+    static {
+        for (UserRole role : UserRole.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final JwtPrincipal principal;
+    private final List<GrantedAuthority> authorities;
+    private volatile boolean authenticated = true;
+
+    public JwtAuthentication(JwtPrincipal principal, UserRole role) {
+        this.principal = principal;
+        this.authorities = AUTHORITIES.get(role);
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public JwtPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    // 검증된 토큰으로만 만들어지므로 true 로 되돌리는 것은 거부 (UsernamePasswordAuthenticationToken 과 같게)
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (authenticated) {
+            throw new IllegalArgumentException("Cannot set this token to trusted - it is created only from a verified access token");
+        }
+        this.authenticated = false;
+    }
+
+    @Override
+    public String getName() {
+        return String.valueOf(principal.userId());
+    }
+
+    @Override
+    public String toString() {
+        return "JwtAuthentication[userId=" + principal.userId() + ", authorities=" + authorities + "]";
+    }
+}
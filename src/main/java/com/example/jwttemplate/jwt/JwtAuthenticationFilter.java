@@ -1,26 +1,71 @@
 package com.example.jwttemplate.jwt;
 
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import com.example.jwttemplate.config.SecurityConfig;
+import com.example.jwttemplate.user.TokenEpochs;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // permitAll 경로는 인증 결과를 쓰지 않으므로 토큰 검증 자체를 건너뛴다 (정확히 일치하는 경로, 메서드별)
+    private static final Set<String> SKIP_ANY = skipPaths();
+    private static final Set<String> SKIP_GET = skipPaths(SecurityConfig.PUBLIC_GET_PATHS);
+    private static final Set<String> SKIP_POST = skipPaths(SecurityConfig.PUBLIC_POST_PATHS);
+
     private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AccessTokenDenylist denylist;
+    private final TokenEpochs tokenEpochs;
+
+    // hot path 이므로 카운터만 (증가는 LongAdder 한 번). 검증 시간은 캐시 miss 때 JwtTokenProvider 에서 측정
+    private final Counter authenticated;
+    private final Counter notAccess;
+    private final Counter revoked;
+    private final Counter staleEpoch;
+
+    public JwtAuthenticationFilter(
+        JwtTokenProvider tokenProvider,
+        VerifiedTokenCache verifiedTokenCache,
+        AccessTokenDenylist denylist,
+        TokenEpochs tokenEpochs,
+        MeterRegistry meterRegistry
+    ) {
+        this.tokenProvider = tokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.denylist = denylist;
+        this.tokenEpochs = tokenEpochs;
+        this.authenticated = result(meterRegistry, "authenticated");
+        this.notAccess = result(meterRegistry, "not_access_token");
+        this.revoked = result(meterRegistry, "revoked");
+        this.staleEpoch = result(meterRegistry, "stale_epoch");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (!contextPath.isEmpty() && uri.startsWith(contextPath)) uri = uri.substring(contextPath.length());
+        Set<String> skip = switch (request.getMethod()) {
+            case "GET" -> SKIP_GET;
+            case "POST" -> SKIP_POST;
+            default -> SKIP_ANY;
+        };
+        return skip.contains(uri);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -31,24 +76,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String auth = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (auth != null && auth.startsWith("Bearer ")) {
-            String token = auth.substring(7);
-            Claims claims = tokenProvider.parseAndValidate(token);
-
-            if (tokenProvider.tokenType(claims) == JwtTokenType.ACCESS) {
-                Long userId = tokenProvider.userId(claims);
-                String email = tokenProvider.email(claims);
-                String role = tokenProvider.role(claims).name();
-
-                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                var principal = new JwtPrincipal(userId, email, role);
+            VerifiedAccess access = verifiedTokenCache.getOrVerify(auth, 7, this::verifyAccess);
 
-                var authentication = new UsernamePasswordAuthenticationToken(
-                    principal, null, authorities
-                );
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            // 캐시 hit 이어도 폐기 여부는 매번 확인한다. 폐기된 토큰은 토큰이 없는 요청과 같이 처리
+            if (access == null) {
+                notAccess.increment();
+            } else if (denylist.isRevoked(access.jti())) {
+                revoked.increment();
+            } else if (!tokenEpochs.isCurrent(access.principal().userId(), access.epoch())) {
+                staleEpoch.increment();
+            } else {
+                SecurityContextHolder.getContext().setAuthentication(access.authentication());
+                authenticated.increment();
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private VerifiedAccess verifyAccess(String token) {
+        TokenClaims claims = tokenProvider.verify(token);
+        if (claims.type() != JwtTokenType.ACCESS) return null;
+
+        var principal = new JwtPrincipal(claims.userId(), claims.email(), claims.role().name());
+        var authentication = new JwtAuthentication(principal, claims.role());
+
+        return new VerifiedAccess(authentication, claims.jti(), claims.epoch(), claims.expiresAt() * 1000);
+    }
+
+    private static Set<String> skipPaths(String[]... methodPaths) {
+        Set<String> paths = new HashSet<>(List.of(SecurityConfig.PUBLIC_PATHS));
+        for (String[] p : methodPaths) paths.addAll(List.of(p));
+        return Set.copyOf(paths);
+    }
+
+    private static Counter result(MeterRegistry registry, String result) {
+        return Counter.builder("jwt.filter.requests").tag("result", result).register(registry);
+    }
 }
@@ -0,0 +1,148 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.JwtProperties.SigningAlgorithm;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signing keys identified by {@code kid}. Keys are derived once at startup and never change;
+ * rotation is done by promoting a new {@code jwt.key-id} and key and moving the old one to
+ * {@code jwt.previous-keys}, where it keeps verifying tokens until {@code retire-at}.
+ * <p>
+ * HMAC keys sign and verify with the same secret. ES256/EdDSA keys sign with the private key
+ * and verify with the public one, which is what {@link JwksController} publishes.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final String DEFAULT_KEY_ID = "default";
+
+    private final SigningKey active;
+    private final Map<String, SigningKey> keys;
+
+    public JwtKeyRing(JwtProperties props) {
+        String activeId = props.keyId() == null || props.keyId().isBlank() ? DEFAULT_KEY_ID : props.keyId();
+        this.active = activeKey(activeId, props);
+
+        Map<String, SigningKey> map = new HashMap<>();
+        map.put(active.id(), active);
+        if (props.previousKeys() != null) {
+            for (JwtProperties.PreviousKey pk : props.previousKeys()) {
+                SigningKey k = previousKey(pk);
+                if (map.putIfAbsent(k.id(), k) != null) {
+                    throw new IllegalStateException("duplicate_jwt_key_id: " + k.id());
+                }
+            }
+        }
+        this.keys = Map.copyOf(map);
+    }
+
+    public SigningKey active() {
+        return active;
+    }
+
+    public Collection<SigningKey> keys() {
+        return keys.values();
+    }
+
+    /**
+     * Key usable for verifying a token with the given {@code kid}, or {@code null} if it is
+     * unknown or retired. Tokens without a kid (issued before the key ring) map to the active key.
+     */
+    public SigningKey verificationKey(String kid) {
+        SigningKey key = kid == null ? active : keys.get(kid);
+        if (key == null || key.isRetired(Instant.now())) return null;
+        return key;
+    }
+
+    /**
+     * Earliest {@code retire-at} still ahead of {@code nowMillis}, or {@link Long#MAX_VALUE} if no key retires.
+     * Anything that remembers a verification result must forget it by then.
+     */
+    public long nextRetirementMillis(long nowMillis) {
+        long next = Long.MAX_VALUE;
+        for (SigningKey key : keys.values()) {
+            if (key.retireAt() == null) continue;
+            long retireAt = key.retireAt().toEpochMilli();
+            if (retireAt > nowMillis && retireAt < next) next = retireAt;
+        }
+        return next;
+    }
+
+    @Override
+    protected Key locate(ProtectedHeader header) {
+        SigningKey key = verificationKey(header.getKeyId());
+        if (key == null) throw new JwtException("unknown_key");
+        return key.verificationKey();
+    }
+
+    private static SigningKey activeKey(String id, JwtProperties props) {
+        SigningAlgorithm algorithm = props.algorithm();
+        if (algorithm == SigningAlgorithm.HMAC) {
+            SecretKey secret = hmacKey(props.secret());
+            return new SigningKey(id, algorithm, secret, secret, null);
+        }
+
+        JwtProperties.Signing conf = props.signing();
+        if (isBlank(conf.privateKey()) || isBlank(conf.publicKey())) {
+            log.warn("jwt.signing.private-key/public-key not set; generated a temporary {} key pair. "
+                + "Tokens will not survive a restart or verify on other nodes.", algorithm);
+            KeyPair pair = PemKeys.generate(algorithm);
+            return new SigningKey(id, algorithm, pair.getPrivate(), pair.getPublic(), null);
+        }
+        return new SigningKey(id, algorithm,
+            PemKeys.privateKey(algorithm, conf.privateKey()),
+            PemKeys.publicKey(algorithm, conf.publicKey()),
+            null);
+    }
+
+    private static SigningKey previousKey(JwtProperties.PreviousKey pk) {
+        SigningAlgorithm algorithm = pk.algorithm() == null ? SigningAlgorithm.HMAC : pk.algorithm();
+        if (algorithm == SigningAlgorithm.HMAC) {
+            SecretKey secret = hmacKey(pk.secret());
+            return new SigningKey(pk.keyId(), algorithm, secret, secret, pk.retireAt());
+        }
+        return new SigningKey(pk.keyId(), algorithm, null, PemKeys.publicKey(algorithm, pk.publicKey()), pk.retireAt());
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    /**
+     * {@code signingKey} is null for previous asymmetric keys (only their public key is kept).
+     */
+    public record SigningKey(
+        String id,
+        SigningAlgorithm algorithm,
+        Key signingKey,
+        Key verificationKey,
+        Instant retireAt
+    ) {
+        public boolean isRetired(Instant now) {
+            return retireAt != null && now.isAfter(retireAt);
+        }
+
+        public boolean isHmac() {
+            return algorithm == SigningAlgorithm.HMAC;
+        }
+    }
+}
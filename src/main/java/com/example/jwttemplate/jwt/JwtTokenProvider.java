@@ -3,64 +3,135 @@ package com.example.jwttemplate.jwt;
 import com.example.jwttemplate.config.JwtProperties;
 import com.example.jwttemplate.user.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private static final SecureRandom JTI_RANDOM = new SecureRandom();
+    private static final Base64.Encoder JTI_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
     private final JwtProperties props;
+    private final JwtKeyRing keyRing;
+    // JwtParser는 불변이고 thread-safe 하므로 한 번만 만든다
+    private final JwtParser parser;
+    private final CompactHmacVerifier fastVerifier;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer signAccessTimer;
+    private final Timer signRefreshTimer;
+    private final Timer fastVerifyTimer;
+    private final Timer jjwtVerifyTimer;
+    private final Timer opaqueVerifyTimer;
+    private final Map<String, Counter> verifyFailures = new ConcurrentHashMap<>();
 
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(props.secret().getBytes(StandardCharsets.UTF_8));
+    public JwtTokenProvider(JwtProperties props, JwtKeyRing keyRing, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser()
+            .keyLocator(keyRing)
+            .build();
+        this.fastVerifier = props.fastVerify() ? new CompactHmacVerifier(keyRing) : null;
+
+        this.meterRegistry = meterRegistry;
+        this.signAccessTimer = timer("jwt.sign", "type", "access");
+        this.signRefreshTimer = timer("jwt.sign", "type", "refresh");
+        this.fastVerifyTimer = timer("jwt.verify", "path", "fast");
+        this.jjwtVerifyTimer = timer("jwt.verify", "path", "jjwt");
+        this.opaqueVerifyTimer = timer("jwt.verify", "path", "opaque");
     }
 
-    public String createAccessToken(Long userId, String email, UserRole role) {
+    /**
+     * {@code epoch} is the user's current token epoch; tokens carrying an older one are rejected
+     * once the user logs out everywhere.
+     * <p>
+     * With {@code jwt.access-token.version=2} the token uses short claims instead:
+     * {@code v}=2, {@code t}/{@code r} = type/role ordinals, {@code e} = email (optional),
+     * {@code j} = 16 random bytes in base64url.
+     */
+    public String createAccessToken(Long userId, String email, UserRole role, long epoch) {
+        long start = System.nanoTime();
         Instant now = Instant.now();
         Instant exp = now.plusSeconds(props.accessTtlSeconds());
+        JwtKeyRing.SigningKey signingKey = keyRing.active();
 
-        return Jwts.builder()
+        var builder = Jwts.builder()
             .issuer(props.issuer())
-            .subject(String.valueOf(userId))
-            .id(UUID.randomUUID().toString())
-            .claim("typ", JwtTokenType.ACCESS.name())
-            .claim("email", email)
-            .claim("role", role.name())
+            .subject(String.valueOf(userId));
+        if (props.accessTokenVersion() == 2) {
+            builder.claim("v", 2)
+                .claim("j", compactJti())
+                .claim("t", JwtTokenType.ACCESS.ordinal())
+                .claim("r", role.ordinal());
+            if (props.accessToken().includeEmail()) builder.claim("e", email);
+        } else {
+            builder.id(UUID.randomUUID().toString())
+                .claim("typ", JwtTokenType.ACCESS.name())
+                .claim("email", email)
+                .claim("role", role.name());
+        }
+        String token = builder
+            .claim("ep", epoch)
             .issuedAt(Date.from(now))
             .expiration(Date.from(exp))
-            .signWith(key())
+            .header().keyId(signingKey.id()).and()
+            .signWith(signingKey.signingKey())
             .compact();
+        signAccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
     }
 
-    public String createRefreshToken(Long userId) {
+    public String createRefreshToken(Long userId, long epoch) {
+        return issueRefreshToken(userId, epoch).value();
+    }
+
+    /**
+     * Issues a refresh token in the configured {@code jwt.refresh-token.format}. Opaque tokens are not
+     * signed (see {@link OpaqueRefreshToken}) and are only valid together with their stored digest.
+     */
+    public IssuedToken issueRefreshToken(Long userId, long epoch) {
+        if (props.refreshTokenFormat() == JwtProperties.RefreshTokenFormat.OPAQUE) {
+            Instant exp = Instant.ofEpochSecond(Instant.now().getEpochSecond() + props.refreshTtlSeconds());
+            return new IssuedToken(OpaqueRefreshToken.create(userId, epoch, exp), exp);
+        }
+        long start = System.nanoTime();
         Instant now = Instant.now();
         Instant exp = now.plusSeconds(props.refreshTtlSeconds());
+        JwtKeyRing.SigningKey signingKey = keyRing.active();
 
-        return Jwts.builder()
+        String token = Jwts.builder()
             .issuer(props.issuer())
             .subject(String.valueOf(userId))
             .id(UUID.randomUUID().toString())
             .claim("typ", JwtTokenType.REFRESH.name())
+            .claim("ep", epoch)
             .issuedAt(Date.from(now))
             .expiration(Date.from(exp))
-            .signWith(key())
+            .header().keyId(signingKey.id()).and()
+            .signWith(signingKey.signingKey())
             .compact();
+        signRefreshTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        // exp 클레임은 초 단위로 잘리므로 쿠키 만료도 같은 값으로 맞춘다
+        return new IssuedToken(token, Instant.ofEpochSecond(exp.getEpochSecond()));
     }
 
     public Claims parseAndValidate(String token) {
         try {
-            return Jwts.parser()
-                .verifyWith(key())
-                .build()
+            return parser
                 .parseSignedClaims(token)
                 .getPayload();
         } catch (Exception e) {
@@ -68,6 +139,68 @@ public class JwtTokenProvider {
         }
     }
 
+    /**
+     * Verifies the token and returns only the claims this application uses.
+     * With {@code jwt.fast-verify} the token is checked on its raw bytes first and JJWT is used
+     * only for tokens outside the layout issued here.
+     */
+    public TokenClaims verify(String token) {
+        long start = System.nanoTime();
+        Timer timer = jjwtVerifyTimer;
+        try {
+            if (fastVerifier != null) {
+                timer = fastVerifyTimer;
+                TokenClaims claims = fastVerifier.verify(token);
+                if (claims != null) return claims;
+                timer = jjwtVerifyTimer;
+            }
+            return verifyWithJjwt(token);
+        } catch (JwtException e) {
+            countFailure(e);
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Reads a refresh token in either format, whatever {@code jwt.refresh-token.format} is set to,
+     * so cookies issued before a format switch keep working until they expire.
+     * An opaque token is only decoded here; the caller's store lookup is what proves it.
+     */
+    public RefreshTokenClaims verifyRefreshToken(String token) {
+        if (!OpaqueRefreshToken.matches(token)) {
+            TokenClaims claims = verify(token);
+            if (claims.type() != JwtTokenType.REFRESH) throw new JwtException("invalid_refresh_token");
+            return new RefreshTokenClaims(claims.userId(), claims.epoch(), claims.expiresAt(), true);
+        }
+        long start = System.nanoTime();
+        try {
+            return OpaqueRefreshToken.read(token, Instant.now().getEpochSecond());
+        } catch (JwtException e) {
+            countFailure(e);
+            throw e;
+        } finally {
+            opaqueVerifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void countFailure(JwtException e) {
+        verifyFailures.computeIfAbsent(e.getMessage(),
+            reason -> Counter.builder("jwt.verify.failures").tag("reason", reason).register(meterRegistry)
+        ).increment();
+    }
+
+    private TokenClaims verifyWithJjwt(String token) {
+        return TokenClaims.from(parseAndValidate(token));
+    }
+
+    private static String compactJti() {
+        byte[] bytes = new byte[16];
+        JTI_RANDOM.nextBytes(bytes);
+        return JTI_ENCODER.encodeToString(bytes);
+    }
+
     public JwtTokenType tokenType(Claims claims) {
         String typ = claims.get("typ", String.class);
         if (typ == null) throw new JwtException("invalid_token_type");
@@ -95,4 +228,8 @@ public class JwtTokenProvider {
         if (role == null) throw new JwtException("missing_role");
         return UserRole.valueOf(role);
     }
+
+    private Timer timer(String name, String tagKey, String tagValue) {
+        return Timer.builder(name).tag(tagKey, tagValue).publishPercentileHistogram().register(meterRegistry);
+    }
 }
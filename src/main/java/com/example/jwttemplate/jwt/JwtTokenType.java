@@ -1,5 +1,6 @@
 package com.example.jwttemplate.jwt;
 
+// v2 access token 은 ordinal 을 타입 코드로 쓰므로 순서를 바꾸지 말고 뒤에만 추가할 것
 public enum JwtTokenType {
     ACCESS, REFRESH
 }
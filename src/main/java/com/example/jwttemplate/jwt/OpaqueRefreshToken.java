@@ -0,0 +1,74 @@
+package com.example.jwttemplate.jwt;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque refresh token: {@code <selector>.<verifier>}, 72 characters.
+ * <p>
+ * The selector is 21 bytes in base64url (format version, user id, token epoch, expiry in epoch
+ * seconds) and tells the server which user, epoch and expiry bucket the token belongs to without a
+ * lookup. The verifier is 256 random bits from {@link SecureRandom}. Nothing is signed: the store
+ * keys rows by the SHA-256 of the whole token, so a token with an edited selector or a guessed
+ * verifier simply is not found. Reading one is a base64 decode plus a few bounds checks, and the
+ * result is marked unsigned ({@link RefreshTokenClaims#signed()}) until the store has found it.
+ */
+final class OpaqueRefreshToken {
+
+    private static final byte VERSION = 1;
+    private static final int SELECTOR_BYTES = 1 + Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int VERIFIER_BYTES = 32;
+    private static final int SELECTOR_CHARS = 28;
+    private static final int VERIFIER_CHARS = 43;
+    static final int LENGTH = SELECTOR_CHARS + 1 + VERIFIER_CHARS;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private OpaqueRefreshToken() {}
+
+    static String create(Long userId, long epoch, Instant expiresAt) {
+        ByteBuffer selector = ByteBuffer.allocate(SELECTOR_BYTES)
+            .put(VERSION)
+            .putLong(userId)
+            .putLong(epoch)
+            // 초 단위 unsigned 32비트 (2106년까지)
+            .putInt((int) expiresAt.getEpochSecond());
+        byte[] verifier = new byte[VERIFIER_BYTES];
+        RANDOM.nextBytes(verifier);
+        return ENCODER.encodeToString(selector.array()) + '.' + ENCODER.encodeToString(verifier);
+    }
+
+    /**
+     * JWTs have two dots and are far longer, so the layout alone tells the two formats apart.
+     */
+    static boolean matches(String token) {
+        return token.length() == LENGTH && token.charAt(SELECTOR_CHARS) == '.';
+    }
+
+    /**
+     * Reads the selector of a token that {@link #matches(String)}. Whether the verifier is right is
+     * only known once the store finds (or does not find) the token's digest.
+     */
+    static RefreshTokenClaims read(String token, long nowEpochSeconds) {
+        ByteBuffer selector;
+        try {
+            selector = ByteBuffer.wrap(DECODER.decode(token.substring(0, SELECTOR_CHARS)));
+            DECODER.decode(token.substring(SELECTOR_CHARS + 1));
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("invalid_token");
+        }
+        if (selector.remaining() != SELECTOR_BYTES || selector.get() != VERSION) {
+            throw new JwtException("invalid_token");
+        }
+        long userId = selector.getLong();
+        long epoch = selector.getLong();
+        long expiresAt = Integer.toUnsignedLong(selector.getInt());
+        if (expiresAt <= nowEpochSeconds) throw new JwtException("refresh_expired");
+
+        return new RefreshTokenClaims(userId, epoch, expiresAt, false);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties.SigningAlgorithm;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Reads PEM (or bare base64) encoded EC P-256 / Ed25519 keys and generates throwaway pairs.
+ */
+final class PemKeys {
+    private PemKeys() {}
+
+    static PrivateKey privateKey(SigningAlgorithm algorithm, String pem) {
+        try {
+            return keyFactory(algorithm).generatePrivate(new PKCS8EncodedKeySpec(decode(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("invalid_jwt_private_key", e);
+        }
+    }
+
+    static PublicKey publicKey(SigningAlgorithm algorithm, String pem) {
+        try {
+            return keyFactory(algorithm).generatePublic(new X509EncodedKeySpec(decode(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("invalid_jwt_public_key", e);
+        }
+    }
+
+    static KeyPair generate(SigningAlgorithm algorithm) {
+        try {
+            if (algorithm == SigningAlgorithm.ES256) {
+                KeyPairGenerator g = KeyPairGenerator.getInstance("EC");
+                g.initialize(new ECGenParameterSpec("secp256r1"));
+                return g.generateKeyPair();
+            }
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("jwt_key_generation_failed", e);
+        }
+    }
+
+    private static KeyFactory keyFactory(SigningAlgorithm algorithm) throws GeneralSecurityException {
+        return switch (algorithm) {
+            case ES256 -> KeyFactory.getInstance("EC");
+            case EDDSA -> KeyFactory.getInstance("Ed25519");
+            case HMAC -> throw new IllegalArgumentException("HMAC keys are not PEM encoded");
+        };
+    }
+
+    // "-----BEGIN ...-----" 줄과 공백을 빼고 base64 본문만 사용
+    private static byte[] decode(String pem) {
+        String body = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+}
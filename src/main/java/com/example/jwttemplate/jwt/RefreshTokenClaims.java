@@ -0,0 +1,15 @@
+package com.example.jwttemplate.jwt;
+
+/**
+ * What a refresh token says about itself, in either format. {@code expiresAt} is epoch seconds.
+ * <p>
+ * {@code signed} is false for an opaque token: its selector is only decoded, so {@code userId} and
+ * {@code epoch} may be made up and must not decide anything until the store has found the token's
+ * digest. Until then only {@code expiresAt} is used, to pick where to look.
+ */
+public record RefreshTokenClaims(
+    Long userId,
+    long epoch,
+    long expiresAt,
+    boolean signed
+) {}
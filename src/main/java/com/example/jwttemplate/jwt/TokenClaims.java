@@ -0,0 +1,120 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.user.UserRole;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Flat view of the claims this application puts into its tokens.
+ * {@code issuedAt}/{@code expiresAt} are epoch seconds; {@code email}/{@code role} are null for refresh tokens.
+ * {@code epoch} is the user's token epoch at issue time (0 for tokens issued without one).
+ * Both token formats map to this view; a v2 token may leave {@code email} null.
+ */
+public record TokenClaims(
+    JwtTokenType type,
+    Long userId,
+    String email,
+    UserRole role,
+    String jti,
+    long epoch,
+    long issuedAt,
+    long expiresAt
+) {
+
+    private static final JwtTokenType[] TYPES = JwtTokenType.values();
+    private static final UserRole[] ROLES = UserRole.values();
+
+    static TokenClaims of(String typ, String sub, String email, String role, String jti, long epoch, long iat, long exp) {
+        JwtTokenType type = parseType(typ);
+
+        Long userId;
+        try {
+            userId = Long.parseLong(sub);
+        } catch (Exception e) {
+            throw new JwtException("invalid_subject");
+        }
+
+        UserRole userRole = null;
+        if (role != null) {
+            try {
+                userRole = UserRole.valueOf(role);
+            } catch (Exception e) {
+                throw new JwtException("invalid_role");
+            }
+        } else if (type == JwtTokenType.ACCESS) {
+            throw new JwtException("missing_role");
+        }
+
+        return new TokenClaims(type, userId, email, userRole, jti, epoch, iat, exp);
+    }
+
+    /**
+     * v2 tokens carry type and role as enum ordinals; {@code roleCode < 0} means no role claim.
+     */
+    static TokenClaims ofCodes(long typeCode, String sub, String email, long roleCode, String jti,
+                               long epoch, long iat, long exp) {
+        if (typeCode < 0 || typeCode >= TYPES.length) throw new JwtException("invalid_token_type");
+        if (roleCode >= ROLES.length) throw new JwtException("invalid_role");
+        String role = roleCode < 0 ? null : ROLES[(int) roleCode].name();
+        return of(TYPES[(int) typeCode].name(), sub, email, role, jti, epoch, iat, exp);
+    }
+
+    /**
+     * Maps verified JJWT claims in either layout: v1 ({@code typ}/{@code email}/{@code role}) or,
+     * with {@code v}=2, the short claims ({@code t}/{@code r}/{@code e}/{@code j}).
+     */
+    static TokenClaims from(Claims claims) {
+        Long version, epoch;
+        try {
+            version = claims.get("v", Long.class);
+            epoch = claims.get("ep", Long.class);
+        } catch (Exception e) {
+            throw new JwtException("invalid_token");
+        }
+        // ep 가 없는 토큰(도입 전 발급)은 epoch 0
+        long ep = epoch == null ? 0 : epoch;
+        long iat = epochSeconds(claims.getIssuedAt());
+        long exp = epochSeconds(claims.getExpiration());
+
+        // v 가 없으면 v1 (기존 포맷). 마이그레이션 동안 두 포맷을 모두 받는다
+        if (version == null) {
+            String typ, email, role;
+            try {
+                typ = claims.get("typ", String.class);
+                email = claims.get("email", String.class);
+                role = claims.get("role", String.class);
+            } catch (Exception e) {
+                throw new JwtException("invalid_token");
+            }
+            return of(typ, claims.getSubject(), email, role, claims.getId(), ep, iat, exp);
+        }
+        if (version != 2) throw new JwtException("invalid_token");
+
+        Long typeCode, roleCode;
+        String email, jti;
+        try {
+            typeCode = claims.get("t", Long.class);
+            roleCode = claims.get("r", Long.class);
+            email = claims.get("e", String.class);
+            jti = claims.get("j", String.class);
+        } catch (Exception e) {
+            throw new JwtException("invalid_token");
+        }
+        return ofCodes(typeCode == null ? -1 : typeCode, claims.getSubject(), email,
+            roleCode == null ? -1 : roleCode, jti, ep, iat, exp);
+    }
+
+    private static long epochSeconds(Date date) {
+        return date == null ? 0 : date.getTime() / 1000;
+    }
+
+    private static JwtTokenType parseType(String typ) {
+        if (typ == null) throw new JwtException("invalid_token_type");
+        try {
+            return JwtTokenType.valueOf(typ);
+        } catch (Exception e) {
+            throw new JwtException("invalid_token_type");
+        }
+    }
+}
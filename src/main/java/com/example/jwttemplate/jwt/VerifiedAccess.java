@@ -0,0 +1,16 @@
+package com.example.jwttemplate.jwt;
+
+/**
+ * Result of verifying an access token: the ready-to-use Authentication plus what the filter
+ * re-checks on every request (denylist, token epoch).
+ */
+public record VerifiedAccess(
+    JwtAuthentication authentication,
+    String jti,
+    long epoch,
+    long expiresAtMillis
+) {
+    public JwtPrincipal principal() {
+        return authentication.getPrincipal();
+    }
+}
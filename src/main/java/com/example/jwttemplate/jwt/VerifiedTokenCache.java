@@ -0,0 +1,139 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.global.BoundedExpiringCache;
+import com.example.jwttemplate.global.ReusablePool;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Function;
+
+/**
+ * Optional cache of already verified access tokens, keyed by the SHA-256 of the token
+ * so raw bearer tokens are never held in memory. Entries expire with the token's {@code exp},
+ * or earlier when a signing key retires before that: the entry does not record which key signed
+ * the token, so every entry is capped at the ring's next {@code retire-at}.
+ * <p>
+ * A hit allocates only the 32-byte key: the token is hashed straight out of the header string
+ * through a pooled digest and scratch buffer, and the token substring is cut only on a miss.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final ReusablePool<Hasher> HASHERS = new ReusablePool<>(Hasher::new, 256);
+
+    private final BoundedExpiringCache<TokenKey, VerifiedAccess> cache;
+    private final JwtKeyRing keyRing;
+
+    public VerifiedTokenCache(JwtProperties props, JwtKeyRing keyRing, MeterRegistry meterRegistry) {
+        this.keyRing = keyRing;
+        JwtProperties.VerifiedCache conf = props.verifiedCache();
+        this.cache = conf != null && conf.enabled() ? new BoundedExpiringCache<>(conf.maxSize()) : null;
+
+        if (cache != null) {
+            FunctionCounter.builder("jwt.verified_cache.requests", cache, BoundedExpiringCache::hitCount)
+                .tag("result", "hit").register(meterRegistry);
+            FunctionCounter.builder("jwt.verified_cache.requests", cache, BoundedExpiringCache::missCount)
+                .tag("result", "miss").register(meterRegistry);
+            FunctionCounter.builder("jwt.verified_cache.evictions", cache, BoundedExpiringCache::evictionCount)
+                .register(meterRegistry);
+            Gauge.builder("jwt.verified_cache.size", cache, BoundedExpiringCache::size)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns the cached result for the token, or runs {@code verifier} and caches what it returns.
+     * A {@code null} from the verifier (e.g. not an access token) is passed through and not cached.
+     */
+    public VerifiedAccess getOrVerify(String token, Function<String, VerifiedAccess> verifier) {
+        return getOrVerify(token, 0, verifier);
+    }
+
+    /**
+     * Same as {@link #getOrVerify(String, Function)} for the token that starts at {@code tokenStart}
+     * of {@code value} (e.g. after {@code "Bearer "} in the Authorization header).
+     */
+    public VerifiedAccess getOrVerify(String value, int tokenStart, Function<String, VerifiedAccess> verifier) {
+        if (cache == null) return verifier.apply(value.substring(tokenStart));
+
+        TokenKey key = key(value, tokenStart);
+        VerifiedAccess cached = cache.get(key);
+        if (cached != null) return cached;
+
+        VerifiedAccess verified = verifier.apply(value.substring(tokenStart));
+        if (verified != null) {
+            long retireAt = keyRing.nextRetirementMillis(System.currentTimeMillis());
+            cache.put(key, verified, Math.min(verified.expiresAtMillis(), retireAt));
+        }
+        return verified;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public long hitCount() {
+        return cache == null ? 0 : cache.hitCount();
+    }
+
+    public long missCount() {
+        return cache == null ? 0 : cache.missCount();
+    }
+
+    private static TokenKey key(String value, int from) {
+        Hasher h = HASHERS.acquire();
+        try {
+            int n = value.length() - from;
+            if (n > h.buf.length) h.buf = new byte[n];
+            for (int i = 0; i < n; i++) {
+                char c = value.charAt(from + i);
+                if (c > 0x7f) {
+                    // JWT 는 ASCII 뿐이지만 임의 헤더 값도 같은 키가 나오도록 UTF-8 로 처리
+                    h.md.reset();
+                    h.md.update(value.substring(from).getBytes(StandardCharsets.UTF_8));
+                    n = -1;
+                    break;
+                }
+                h.buf[i] = (byte) c;
+            }
+            if (n >= 0) h.md.update(h.buf, 0, n);
+            h.md.digest(h.out, 0, h.out.length);
+            return new TokenKey(
+                (long) LONGS.get(h.out, 0), (long) LONGS.get(h.out, 8),
+                (long) LONGS.get(h.out, 16), (long) LONGS.get(h.out, 24)
+            );
+        } catch (DigestException e) {
+            throw new IllegalStateException("hash_failed", e);
+        } finally {
+            HASHERS.release(h);
+        }
+    }
+
+    private record TokenKey(long h0, long h1, long h2, long h3) {
+    }
+
+    private static final class Hasher {
+        final MessageDigest md;
+        byte[] buf = new byte[1024];
+        final byte[] out = new byte[32];
+
+        Hasher() {
+            try {
+                md = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("hash_failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.jwttemplate.refreshtoken;
+
+import java.util.Arrays;
+
+/**
+ * Map key for a SHA-256 token digest. The bytes are already uniformly distributed, so the first
+ * four are used as the hash code instead of hashing all 32.
+ */
+final class DigestKey {
+
+    final byte[] digest;
+    private final int hash;
+
+    DigestKey(byte[] digest) {
+        this.digest = digest;
+        this.hash = digest.length >= 4
+            ? (digest[0] & 0xff) << 24 | (digest[1] & 0xff) << 16 | (digest[2] & 0xff) << 8 | (digest[3] & 0xff)
+            : Arrays.hashCode(digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DigestKey k && hash == k.hash && Arrays.equals(digest, k.digest);
+    }
+}
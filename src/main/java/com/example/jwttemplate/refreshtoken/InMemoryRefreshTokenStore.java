@@ -0,0 +1,228 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.config.RefreshTokenProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Single-node refresh token store. All operations are lock-free map lookups plus a CAS on the
+ * entry's revocation timestamp. Entries are indexed by user for {@link #revokeAllForUser} and
+ * kept in expiry order, so expired entries (or the soonest-expiring ones once
+ * {@code max-entries} is exceeded) are evicted from the head of that order on every save.
+ * With {@code snapshot-file} set, live entries are written to disk periodically and on
+ * shutdown, and loaded again on startup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "refresh-token", name = "store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private static final int SNAPSHOT_MAGIC = 0x52544b31; // "RTK1"
+    private static final int DIGEST_LENGTH = 32;
+    private static final int EVICTIONS_PER_SAVE = 64;
+
+    private final ConcurrentHashMap<DigestKey, Entry> byDigest = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<DigestKey>> byUser = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> byExpiry = new ConcurrentSkipListSet<>(
+        Comparator.comparingLong((Entry e) -> e.expiresAtMillis).thenComparingLong(e -> e.seq)
+    );
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final int maxEntries;
+    private final Path snapshotFile;
+
+    public InMemoryRefreshTokenStore(RefreshTokenProperties props) {
+        this(props.memory().maxEntries(), props.memory().snapshotFile());
+    }
+
+    InMemoryRefreshTokenStore(int maxEntries, Path snapshotFile) {
+        this.maxEntries = maxEntries;
+        this.snapshotFile = snapshotFile;
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            int loaded = load(snapshotFile);
+            log.info("loaded {} refresh tokens from {}", loaded, snapshotFile);
+        }
+    }
+
+    @Override
+    public void save(byte[] digest, Long userId, Instant expiresAt) {
+        put(new DigestKey(digest.clone()), userId, expiresAt.toEpochMilli(), 0);
+        evict(System.currentTimeMillis());
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(byte[] digest) {
+        Entry e = byDigest.get(new DigestKey(digest));
+        if (e == null) return Optional.empty();
+        long revokedAt = e.revokedAtMillis;
+        return Optional.of(new StoredRefreshToken(
+            e.userId,
+            Instant.ofEpochMilli(e.expiresAtMillis),
+            revokedAt == 0 ? null : Instant.ofEpochMilli(revokedAt)
+        ));
+    }
+
+    @Override
+    public boolean revokeIfActive(byte[] digest, Instant now) {
+        Entry e = byDigest.get(new DigestKey(digest));
+        return e != null && e.revokeIfActive(now.toEpochMilli());
+    }
+
+    @Override
+    public int revokeAllForUser(Long userId, Instant now) {
+        Set<DigestKey> keys = byUser.get(userId);
+        if (keys == null) return 0;
+        long nowMillis = now.toEpochMilli();
+        int revoked = 0;
+        for (DigestKey key : keys) {
+            Entry e = byDigest.get(key);
+            if (e != null && e.revokeIfActive(nowMillis)) revoked++;
+        }
+        return revoked;
+    }
+
+    public int size() {
+        return byDigest.size();
+    }
+
+    @Scheduled(
+        initialDelayString = "${refresh-token.memory.snapshot-interval:PT1M}",
+        fixedDelayString = "${refresh-token.memory.snapshot-interval:PT1M}"
+    )
+    public void scheduledSnapshot() {
+        if (snapshotFile != null) snapshot();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (snapshotFile != null) snapshot();
+    }
+
+    void snapshot() {
+        long now = System.currentTimeMillis();
+        try {
+            Path dir = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, snapshotFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                for (Entry e : byDigest.values()) {
+                    if (e.expiresAtMillis <= now) continue;
+                    out.writeBoolean(true);
+                    out.write(e.key.digest);
+                    out.writeLong(e.userId);
+                    out.writeLong(e.expiresAtMillis);
+                    out.writeLong(e.revokedAtMillis);
+                }
+                out.writeBoolean(false);
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("refresh_token_snapshot_failed", e);
+        }
+    }
+
+    private int load(Path file) {
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("not a refresh token snapshot: " + file);
+            while (in.readBoolean()) {
+                byte[] digest = in.readNBytes(DIGEST_LENGTH);
+                long userId = in.readLong();
+                long expiresAt = in.readLong();
+                long revokedAt = in.readLong();
+                if (expiresAt <= now) continue;
+                put(new DigestKey(digest), userId, expiresAt, revokedAt);
+                loaded++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("refresh_token_snapshot_load_failed", e);
+        }
+        return loaded;
+    }
+
+    private void put(DigestKey key, Long userId, long expiresAtMillis, long revokedAtMillis) {
+        Entry e = new Entry(key, userId, expiresAtMillis, revokedAtMillis, sequence.incrementAndGet());
+        Entry previous = byDigest.put(key, e);
+        if (previous != null) {
+            byExpiry.remove(previous);
+            unindexUser(previous);
+        }
+        byUser.compute(userId, (id, keys) -> {
+            Set<DigestKey> set = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            set.add(key);
+            return set;
+        });
+        byExpiry.add(e);
+    }
+
+    private void evict(long now) {
+        for (int i = 0; i < EVICTIONS_PER_SAVE; i++) {
+            Entry head;
+            try {
+                head = byExpiry.first();
+            } catch (NoSuchElementException e) {
+                return;
+            }
+            if (head.expiresAtMillis > now && byDigest.size() <= maxEntries) return;
+            // 같은 엔트리를 여러 스레드가 보더라도 remove에 성공한 한 스레드만 정리
+            if (byExpiry.remove(head)) {
+                byDigest.remove(head.key, head);
+                unindexUser(head);
+            }
+        }
+    }
+
+    private void unindexUser(Entry e) {
+        byUser.computeIfPresent(e.userId, (id, keys) -> {
+            keys.remove(e.key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static final class Entry {
+        private static final AtomicLongFieldUpdater<Entry> REVOKED_AT =
+            AtomicLongFieldUpdater.newUpdater(Entry.class, "revokedAtMillis");
+
+        final DigestKey key;
+        final Long userId;
+        final long expiresAtMillis;
+        final long seq;
+        volatile long revokedAtMillis;
+
+        Entry(DigestKey key, Long userId, long expiresAtMillis, long revokedAtMillis, long seq) {
+            this.key = key;
+            this.userId = userId;
+            this.expiresAtMillis = expiresAtMillis;
+            this.revokedAtMillis = revokedAtMillis;
+            this.seq = seq;
+        }
+
+        boolean revokeIfActive(long nowMillis) {
+            return expiresAtMillis > nowMillis && REVOKED_AT.compareAndSet(this, 0, nowMillis);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.config.RefreshTokenProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code refresh_tokens} through JPA, keyed by {@code token_digest} (BINARY) or {@code token_hash} (HEX).
+ * <p>
+ * Startup only reads the schema, it never changes it: in BINARY mode it checks that
+ * {@code token_hash} is nullable and whether rows written in HEX mode remain. While such rows
+ * remain, lookups that miss on the digest fall back to the hex column; without them the fallback
+ * query is skipped. Indexes come from the entity or the schema scripts; see the README for
+ * converting an existing database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "refresh-token", name = "store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String INSERT_BY_DIGEST = "insert into refresh_tokens "
+        + "(token_digest, user_id, expires_at, created_at, revoked_at) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_BY_HASH = "insert into refresh_tokens "
+        + "(token_hash, user_id, expires_at, created_at, revoked_at) values (?, ?, ?, ?, ?)";
+    private static final String REVOKE_BY_DIGEST = "update refresh_tokens set revoked_at = ? "
+        + "where token_digest = ? and revoked_at is null and expires_at > ?";
+    private static final String REVOKE_BY_HASH = "update refresh_tokens set revoked_at = ? "
+        + "where token_hash = ? and revoked_at is null and expires_at > ?";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final JdbcTemplate jdbcTemplate;
+
+    // BINARY 모드에서 HEX 모드 시절의 row 가 남아 있는지 (기동 시 한 번 확인)
+    private volatile boolean legacyHexRows;
+
+    /** A token to insert; {@code revokedAt} is set when it was revoked before it was written. */
+    record Insert(byte[] digest, Long userId, Instant expiresAt, Instant revokedAt) {}
+
+    /** A conditional revocation, with the same semantics as {@link #revokeIfActive}. */
+    record Revocation(byte[] digest, Instant now) {}
+
+    @PostConstruct
+    void checkHashColumns() {
+        if (!refreshTokenProperties.binaryHash()) return;
+        if (!hexColumnNullable()) {
+            // ddl-auto=update 는 기존 컬럼의 NOT NULL 을 풀지 않는다
+            throw new IllegalStateException("refresh_tokens.token_hash is NOT NULL, so hash-storage=binary cannot "
+                + "insert; make it nullable first (see README, refresh token hash migration)");
+        }
+        legacyHexRows = !jdbcTemplate.queryForList(
+            "select id from refresh_tokens where token_hash is not null limit 1", Long.class).isEmpty();
+        if (legacyHexRows) {
+            log.info("refresh_tokens has rows stored as hex; falling back to token_hash until they are gone");
+        }
+    }
+
+    @Override
+    public void save(byte[] digest, Long userId, Instant expiresAt) {
+        refreshTokenRepository.save(newEntity(digest, userId, expiresAt));
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(byte[] digest) {
+        Optional<RefreshToken> found;
+        if (!refreshTokenProperties.binaryHash()) {
+            found = refreshTokenRepository.findByTokenHash(TokenHashing.toHex(digest));
+        } else {
+            found = refreshTokenRepository.findByTokenDigest(digest);
+            // HEX 모드에서 저장된 기존 row 가 있을 때만 fallback
+            if (found.isEmpty() && legacyHexRows) {
+                found = refreshTokenRepository.findByTokenHash(TokenHashing.toHex(digest));
+            }
+        }
+        return found.map(rt -> new StoredRefreshToken(rt.getUserId(), rt.getExpiresAt(), rt.getRevokedAt()));
+    }
+
+    @Override
+    public boolean revokeIfActive(byte[] digest, Instant now) {
+        if (!refreshTokenProperties.binaryHash()) {
+            return refreshTokenRepository.revokeActiveByHash(TokenHashing.toHex(digest), now) == 1;
+        }
+        return refreshTokenRepository.revokeActiveByDigest(digest, now) == 1
+            || legacyHexRows && refreshTokenRepository.revokeActiveByHash(TokenHashing.toHex(digest), now) == 1;
+    }
+
+    @Override
+    public int revokeAllForUser(Long userId, Instant now) {
+        return refreshTokenRepository.revokeAllActiveByUserId(userId, now);
+    }
+
+    /**
+     * Inserts all tokens in one transaction as a single JDBC batch. The ids come from the
+     * {@code IDENTITY} column, so the statement leaves {@code id} out instead of going through
+     * Hibernate, which cannot batch inserts of {@code IDENTITY} entities.
+     */
+    @Transactional
+    public void insertBatch(List<Insert> inserts) {
+        boolean binary = refreshTokenProperties.binaryHash();
+        OffsetDateTime createdAt = OffsetDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(binary ? INSERT_BY_DIGEST : INSERT_BY_HASH, inserts, inserts.size(), (ps, i) -> {
+            if (binary) ps.setBytes(1, i.digest());
+            else ps.setString(1, TokenHashing.toHex(i.digest()));
+            ps.setLong(2, i.userId());
+            ps.setObject(3, OffsetDateTime.ofInstant(i.expiresAt(), ZoneOffset.UTC));
+            ps.setObject(4, createdAt);
+            ps.setObject(5, i.revokedAt() == null ? null : OffsetDateTime.ofInstant(i.revokedAt(), ZoneOffset.UTC));
+        });
+    }
+
+    /**
+     * Runs the conditional revocations in one transaction (one commit for the whole group) and
+     * returns, per revocation, whether it won. Each UPDATE is executed on its own rather than as a
+     * JDBC batch: batched update counts are not reliable across drivers (MySQL with
+     * {@code rewriteBatchedStatements} reports {@code SUCCESS_NO_INFO}), and the count of each
+     * statement is what decides the single winner.
+     */
+    @Transactional
+    public boolean[] revokeBatch(List<Revocation> revocations) {
+        boolean binary = refreshTokenProperties.binaryHash();
+        boolean[] won = new boolean[revocations.size()];
+        for (int i = 0; i < won.length; i++) {
+            Revocation r = revocations.get(i);
+            won[i] = revoke(binary ? REVOKE_BY_DIGEST : REVOKE_BY_HASH, r, binary)
+                // HEX 모드에서 저장된 기존 row
+                || binary && legacyHexRows && revoke(REVOKE_BY_HASH, r, false);
+        }
+        return won;
+    }
+
+    private boolean revoke(String sql, Revocation r, boolean binary) {
+        OffsetDateTime now = OffsetDateTime.ofInstant(r.now(), ZoneOffset.UTC);
+        return jdbcTemplate.update(sql, ps -> {
+            ps.setObject(1, now);
+            if (binary) ps.setBytes(2, r.digest());
+            else ps.setString(2, TokenHashing.toHex(r.digest()));
+            ps.setObject(3, now);
+        }) == 1;
+    }
+
+    boolean hasLegacyHexRows() {
+        return legacyHexRows;
+    }
+
+    private boolean hexColumnNullable() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData md = con.getMetaData();
+            String column = md.storesUpperCaseIdentifiers() ? "TOKEN_HASH" : "token_hash";
+            try (ResultSet rs = md.getColumns(con.getCatalog(), con.getSchema(), tableName(md), column)) {
+                return !rs.next() || !"NO".equals(rs.getString("IS_NULLABLE"));
+            }
+        }));
+    }
+
+    private static String tableName(DatabaseMetaData md) throws SQLException {
+        return md.storesUpperCaseIdentifiers() ? "REFRESH_TOKENS" : "refresh_tokens";
+    }
+
+    private RefreshToken newEntity(byte[] digest, Long userId, Instant expiresAt) {
+        return refreshTokenProperties.binaryHash()
+            ? new RefreshToken(digest, userId, expiresAt)
+            : new RefreshToken(TokenHashing.toHex(digest), userId, expiresAt);
+    }
+}
@@ -0,0 +1,381 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.RefreshTokenProperties;
+import com.example.jwttemplate.global.JobLeases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Refresh tokens split into one table per expiry bucket ({@code refresh-token.partitioned.bucket-width},
+ * a day by default) instead of the single {@code refresh_tokens} table. The caller knows a token's
+ * {@code exp} from the token itself, so a lookup or revocation is one primary key access in one
+ * small table, and expiry is a {@code drop table} once the whole bucket has expired: no
+ * row-by-row deletes and no index churn. Revoked tokens stay in their bucket until it is dropped.
+ * <p>
+ * Tables are named after the bucket start and width ({@code refresh_tokens_p202610180000_1440}),
+ * so buckets made under an earlier width are still found and dropped at the right time.
+ * {@link #maintain()} creates upcoming buckets ahead of time and drops expired ones; an insert
+ * into a bucket nobody created yet creates it. Timestamps are epoch milliseconds and the digest
+ * is always stored binary ({@code hash-storage} does not apply).
+ * <p>
+ * Each node keeps the list of bucket tables it knows of: read from the schema on first use and by
+ * every {@link #maintain()} run, and updated as this node creates and drops tables. Queries only go
+ * to known buckets; a hinted lookup of a bucket made by another node since then checks for that one
+ * table. Only ended buckets are ever dropped, so a missing table is an error for any other bucket.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "refresh-token", name = "store", havingValue = "partitioned")
+public class PartitionedRefreshTokenStore implements RefreshTokenStore {
+
+    static final String LEASE_NAME = "refresh-token-buckets";
+
+    private static final String TABLE_PREFIX = "refresh_tokens_p";
+    private static final Pattern TABLE_NAME = Pattern.compile("refresh_tokens_p(\\d{12})_(\\d+)", Pattern.CASE_INSENSITIVE);
+    private static final DateTimeFormatter START = DateTimeFormatter.ofPattern("yyyyMMddHHmm").withZone(ZoneOffset.UTC);
+    private static final RowMapper<StoredRefreshToken> ROW = (rs, i) -> {
+        long revokedAt = rs.getLong("revoked_at");
+        Instant revoked = rs.wasNull() ? null : Instant.ofEpochMilli(revokedAt);
+        return new StoredRefreshToken(rs.getLong("user_id"), Instant.ofEpochMilli(rs.getLong("expires_at")), revoked);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeases jobLeases;
+    private final long widthMillis;
+    private final long widthMinutes;
+    private final long refreshTtlMillis;
+    private final Duration leaseTtl;
+    private final Counter dropped;
+
+    // 이 노드가 알고 있는 bucket 테이블 (소문자 이름 -> bucket). 바뀔 때마다 아래 두 목록을 다시 만든다
+    private final Map<String, Bucket> known = new ConcurrentHashMap<>();
+    private volatile List<Bucket> newestFirst;
+    // bucket-width 를 바꾸기 전에 만들어진 테이블 (보통 비어 있음)
+    private volatile List<Bucket> otherWidthBuckets = List.of();
+
+    record Bucket(String table, long startMillis, long endMillis) {
+        boolean covers(long millis) {
+            return startMillis <= millis && millis < endMillis;
+        }
+    }
+
+    public PartitionedRefreshTokenStore(
+        JdbcTemplate jdbcTemplate,
+        JobLeases jobLeases,
+        RefreshTokenProperties refreshTokenProperties,
+        JwtProperties jwtProperties,
+        MeterRegistry meterRegistry
+    ) {
+        RefreshTokenProperties.Partitioned conf = refreshTokenProperties.partitioned();
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLeases = jobLeases;
+        this.widthMinutes = conf.bucketWidth().toMinutes();
+        if (widthMinutes < 1 || conf.bucketWidth().toSeconds() % 60 != 0) {
+            throw new IllegalArgumentException("refresh-token.partitioned.bucket-width must be whole minutes");
+        }
+        this.widthMillis = widthMinutes * 60_000;
+        this.refreshTtlMillis = jwtProperties.refreshTtlSeconds() * 1000;
+        this.leaseTtl = conf.maintenanceInterval();
+        this.dropped = Counter.builder("refresh_token.buckets.dropped").register(meterRegistry);
+    }
+
+    @Override
+    public void save(byte[] digest, Long userId, Instant expiresAt) {
+        Bucket bucket = bucketFor(expiresAt.toEpochMilli());
+        ensureTable(bucket);
+        try {
+            insert(bucket, digest, userId, expiresAt);
+        } catch (BadSqlGrammarException e) {
+            // 이미 끝난 bucket 이면 다른 노드가 drop 했을 수 있다. 그 외에는 진짜 SQL 오류
+            if (!droppedElsewhere(bucket, e)) throw e;
+            ensureTable(bucket);
+            insert(bucket, digest, userId, expiresAt);
+        }
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(byte[] digest) {
+        for (Bucket bucket : buckets()) {
+            Optional<StoredRefreshToken> found = find(bucket, digest);
+            if (found.isPresent()) return found;
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(byte[] digest, Instant expiresAt) {
+        for (Bucket bucket : existingCandidates(expiresAt.toEpochMilli())) {
+            Optional<StoredRefreshToken> found = find(bucket, digest);
+            if (found.isPresent()) return found;
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean revokeIfActive(byte[] digest, Instant now) {
+        for (Bucket bucket : buckets()) {
+            // 끝난 bucket 에는 활성 토큰이 없다
+            if (bucket.endMillis() > now.toEpochMilli() && revoke(bucket, digest, now)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean revokeIfActive(byte[] digest, Instant expiresAt, Instant now) {
+        for (Bucket bucket : existingCandidates(expiresAt.toEpochMilli())) {
+            if (revoke(bucket, digest, now)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int revokeAllForUser(Long userId, Instant now) {
+        long nowMillis = now.toEpochMilli();
+        int revoked = 0;
+        for (Bucket bucket : buckets()) {
+            if (bucket.endMillis() <= nowMillis) continue;
+            revoked += update(bucket, "update " + bucket.table() + " set revoked_at = ? "
+                + "where user_id = ? and revoked_at is null and expires_at > ?", nowMillis, userId, nowMillis);
+        }
+        return revoked;
+    }
+
+    /**
+     * Creates the buckets for tokens issued until the next run (now + refresh TTL) and drops the
+     * ones whose every token has expired. Runs on one node at a time; every node re-reads the list
+     * of bucket tables, including ones made by other nodes or under another width.
+     */
+    @Scheduled(fixedDelayString = "${refresh-token.partitioned.maintenance-interval}")
+    public void maintain() {
+        List<Bucket> existing = rescan();
+
+        if (!jobLeases.tryAcquire(LEASE_NAME, leaseTtl)) return;
+        try {
+            long now = System.currentTimeMillis();
+            for (long t = now; t <= now + refreshTtlMillis + widthMillis; t += widthMillis) {
+                ensureTable(bucketFor(t));
+            }
+            dropExpired(existing, now);
+        } finally {
+            jobLeases.release(LEASE_NAME);
+        }
+    }
+
+    int dropExpired(List<Bucket> existing, long nowMillis) {
+        int count = 0;
+        for (Bucket bucket : existing) {
+            if (bucket.endMillis() > nowMillis) continue;
+            drop(bucket);
+            count++;
+        }
+        return count;
+    }
+
+    Bucket bucketFor(long expiresAtMillis) {
+        long start = Math.floorDiv(expiresAtMillis, widthMillis) * widthMillis;
+        String table = TABLE_PREFIX + START.format(Instant.ofEpochMilli(start)) + "_" + widthMinutes;
+        return new Bucket(table, start, start + widthMillis);
+    }
+
+    /**
+     * Every known bucket table, newest first. Reads the schema only on first use.
+     */
+    List<Bucket> buckets() {
+        List<Bucket> buckets = newestFirst;
+        return buckets != null ? buckets : rescan();
+    }
+
+    /**
+     * Replaces the known buckets with the bucket tables currently in the schema.
+     */
+    synchronized List<Bucket> rescan() {
+        List<String> tables = jdbcTemplate.execute((ConnectionCallback<List<String>>) con -> {
+            List<String> names = new ArrayList<>();
+            try (ResultSet rs = con.getMetaData().getTables(con.getCatalog(), con.getSchema(), "%", null)) {
+                while (rs.next()) names.add(rs.getString("TABLE_NAME"));
+            }
+            return names;
+        });
+        known.clear();
+        for (String table : tables) {
+            Bucket bucket = parse(table);
+            if (bucket != null) known.put(key(bucket), bucket);
+        }
+        return publish();
+    }
+
+    private static Bucket parse(String table) {
+        Matcher m = TABLE_NAME.matcher(table);
+        if (!m.matches()) return null;
+        long start = START.parse(m.group(1), Instant::from).toEpochMilli();
+        return new Bucket(table, start, start + Long.parseLong(m.group(2)) * 60_000);
+    }
+
+    private static String key(Bucket bucket) {
+        return bucket.table().toLowerCase(Locale.ROOT);
+    }
+
+    private synchronized void remember(Bucket bucket) {
+        buckets();
+        known.put(key(bucket), bucket);
+        publish();
+    }
+
+    private synchronized void forget(Bucket bucket) {
+        if (known.remove(key(bucket)) != null) publish();
+    }
+
+    private List<Bucket> publish() {
+        List<Bucket> buckets = new ArrayList<>(known.values());
+        buckets.sort(Comparator.comparingLong(Bucket::startMillis).reversed());
+        otherWidthBuckets = buckets.stream()
+            .filter(b -> b.endMillis() - b.startMillis() != widthMillis)
+            .toList();
+        newestFirst = List.copyOf(buckets);
+        return newestFirst;
+    }
+
+    private boolean isKnown(Bucket bucket) {
+        if (newestFirst == null) buckets();
+        return known.containsKey(key(bucket));
+    }
+
+    /**
+     * The buckets a token with this exp can be in that exist. A bucket this node does not know yet
+     * is looked up in the schema, unless it lies beyond the furthest expiry anyone issues (now +
+     * refresh TTL, plus one bucket for clock skew): such an exp was made up, and should not cost a
+     * metadata query.
+     */
+    private List<Bucket> existingCandidates(long expiresAtMillis) {
+        List<Bucket> candidates = candidates(expiresAtMillis);
+        Bucket primary = candidates.get(0);
+        if (isKnown(primary)) return candidates;
+        boolean plausible = primary.startMillis() <= System.currentTimeMillis() + refreshTtlMillis + widthMillis;
+        if (plausible && tableExists(primary.table())) {
+            remember(primary);
+            return candidates;
+        }
+        return candidates.subList(1, candidates.size());
+    }
+
+    private List<Bucket> candidates(long expiresAtMillis) {
+        Bucket primary = bucketFor(expiresAtMillis);
+        List<Bucket> others = otherWidthBuckets;
+        if (others.isEmpty()) return List.of(primary);
+        List<Bucket> candidates = new ArrayList<>(2);
+        candidates.add(primary);
+        for (Bucket b : others) {
+            if (b.covers(expiresAtMillis)) candidates.add(b);
+        }
+        return candidates;
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData md = con.getMetaData();
+            String pattern = md.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT)
+                : md.storesLowerCaseIdentifiers() ? table.toLowerCase(Locale.ROOT) : table;
+            try (ResultSet rs = md.getTables(con.getCatalog(), con.getSchema(), pattern, null)) {
+                // '_' 는 패턴에서 임의의 한 글자이므로 이름을 다시 비교한다
+                while (rs.next()) {
+                    if (table.equalsIgnoreCase(rs.getString("TABLE_NAME"))) return true;
+                }
+                return false;
+            }
+        }));
+    }
+
+    private void ensureTable(Bucket bucket) {
+        if (isKnown(bucket)) return;
+        if (!tableExists(bucket.table())) {
+            // 인덱스는 CREATE TABLE 안의 index 절(MySQL 전용) 대신 따로 만든다
+            try {
+                jdbcTemplate.execute("create table " + bucket.table() + " ("
+                    + "token_digest binary(32) not null, "
+                    + "user_id bigint not null, "
+                    + "expires_at bigint not null, "
+                    + "revoked_at bigint, "
+                    + "primary key (token_digest))");
+                jdbcTemplate.execute("create index idx_" + bucket.table() + "_user on " + bucket.table() + " (user_id)");
+            } catch (DataAccessException e) {
+                // 다른 노드가 먼저 만들었다
+                if (!tableExists(bucket.table())) throw e;
+            }
+        }
+        remember(bucket);
+    }
+
+    private void drop(Bucket bucket) {
+        jdbcTemplate.execute("drop table if exists " + bucket.table());
+        forget(bucket);
+        dropped.increment();
+        log.info("refresh token bucket dropped: {}", bucket.table());
+    }
+
+    /**
+     * Only ended buckets are dropped, by whichever node holds the maintenance lease. A missing
+     * table of one of those is forgotten; anything else is a real error for the caller to see.
+     */
+    private boolean droppedElsewhere(Bucket bucket, BadSqlGrammarException e) {
+        if (bucket.endMillis() > System.currentTimeMillis()) return false;
+        log.debug("refresh token bucket {} is gone: {}", bucket.table(), e.getMessage());
+        forget(bucket);
+        return true;
+    }
+
+    private void insert(Bucket bucket, byte[] digest, Long userId, Instant expiresAt) {
+        jdbcTemplate.update("insert into " + bucket.table() + " (token_digest, user_id, expires_at) values (?, ?, ?)",
+            digest, userId, expiresAt.toEpochMilli());
+    }
+
+    private Optional<StoredRefreshToken> find(Bucket bucket, byte[] digest) {
+        try {
+            return jdbcTemplate.query("select user_id, expires_at, revoked_at from " + bucket.table()
+                + " where token_digest = ?", ROW, (Object) digest).stream().findFirst();
+        } catch (BadSqlGrammarException e) {
+            if (!droppedElsewhere(bucket, e)) throw e;
+            return Optional.empty();
+        }
+    }
+
+    private boolean revoke(Bucket bucket, byte[] digest, Instant now) {
+        long nowMillis = now.toEpochMilli();
+        return update(bucket, "update " + bucket.table() + " set revoked_at = ? "
+            + "where token_digest = ? and revoked_at is null and expires_at > ?", nowMillis, digest, nowMillis) == 1;
+    }
+
+    private int update(Bucket bucket, String sql, Object... args) {
+        try {
+            return jdbcTemplate.update(sql, args);
+        } catch (BadSqlGrammarException e) {
+            if (!droppedElsewhere(bucket, e)) throw e;
+            return 0;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.example.jwttemplate.refreshtoken;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 
@@ -11,16 +13,26 @@ import java.time.Instant;
 @Entity
 @Table(name = "refresh_tokens", indexes = {
     @Index(name = "idx_refresh_token_hash", columnList = "tokenHash", unique = true),
-    @Index(name = "idx_refresh_token_user", columnList = "userId")
+    @Index(name = "idx_refresh_token_digest", columnList = "tokenDigest", unique = true),
+    @Index(name = "idx_refresh_token_user", columnList = "userId"),
+    @Index(name = "idx_refresh_token_expires", columnList = "expiresAt"),
+    @Index(name = "idx_refresh_token_revoked", columnList = "revokedAt")
 })
 public class RefreshToken {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // write-behind batch insert 는 JdbcTemplate 로 id 없이 넣는다 (JpaRefreshTokenStore.insertBatch)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, length = 64, unique = true)
+    // refresh-token.hash-storage 에 따라 둘 중 하나만 채워진다 (unique index 는 null 을 여러 개 허용)
+    @Column(length = 64)
     private String tokenHash;
 
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 32)
+    private byte[] tokenDigest;
+
     @Column(nullable = false)
     private Long userId;
 
@@ -38,11 +50,21 @@ public class RefreshToken {
         this.expiresAt = expiresAt;
     }
 
+    public RefreshToken(byte[] tokenDigest, Long userId, Instant expiresAt) {
+        this.tokenDigest = tokenDigest;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
     public boolean isRevoked() {
         return revokedAt != null;
     }
 
     public void revoke() {
-        this.revokedAt = Instant.now();
+        revoke(Instant.now());
+    }
+
+    public void revoke(Instant at) {
+        this.revokedAt = at;
     }
 }
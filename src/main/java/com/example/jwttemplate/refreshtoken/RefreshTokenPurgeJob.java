@@ -0,0 +1,125 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.config.RefreshTokenProperties;
+import com.example.jwttemplate.global.JobLeases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Deletes expired refresh tokens, and revoked ones older than the grace period, in small
+ * batches with a pause in between so that no statement holds locks for long.
+ * Runs on one node at a time (see {@link JobLeases}).
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${refresh-token.purge.enabled:false} and '${refresh-token.store:jpa}'.equalsIgnoreCase('jpa')")
+public class RefreshTokenPurgeJob {
+
+    static final String LEASE_NAME = "refresh-token-purge";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JobLeases jobLeases;
+    private final RefreshTokenProperties.Purge conf;
+
+    private final Counter purgedExpired;
+    private final Counter purgedRevoked;
+    private final Timer batchTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    // 한 번의 실행에서 남은 배치 수 (스케줄러 스레드 하나에서만 사용)
+    private int batchesLeft;
+
+    public RefreshTokenPurgeJob(
+        RefreshTokenRepository refreshTokenRepository,
+        JobLeases jobLeases,
+        RefreshTokenProperties refreshTokenProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jobLeases = jobLeases;
+        this.conf = refreshTokenProperties.purge();
+
+        this.purgedExpired = Counter.builder("refresh_token.purge.rows").tag("reason", "expired").register(meterRegistry);
+        this.purgedRevoked = Counter.builder("refresh_token.purge.rows").tag("reason", "revoked").register(meterRegistry);
+        this.batchTimer = Timer.builder("refresh_token.purge.batch")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("refresh_token.purge.backlog", backlog, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(
+        initialDelayString = "${refresh-token.purge.interval}",
+        fixedDelayString = "${refresh-token.purge.interval}"
+    )
+    public void run() {
+        if (!jobLeases.tryAcquire(LEASE_NAME, conf.leaseTtl())) return;
+        try {
+            purge();
+        } finally {
+            jobLeases.release(LEASE_NAME);
+        }
+    }
+
+    int purge() {
+        Instant now = Instant.now();
+        Instant revokedBefore = now.minus(conf.revokedGrace());
+        backlog.set(refreshTokenRepository.countByExpiresAtBefore(now)
+            + refreshTokenRepository.countByRevokedAtBeforeAndExpiresAtGreaterThanEqual(revokedBefore, now));
+
+        batchesLeft = conf.maxBatchesPerRun();
+        int expired = purgeBatches(p -> refreshTokenRepository.findExpiredIds(now, p), purgedExpired);
+        int revoked = purgeBatches(p -> refreshTokenRepository.findRevokedIds(revokedBefore, p), purgedRevoked);
+
+        if (expired + revoked > 0) {
+            log.info("refresh token purge: expired={}, revoked={}, backlog={}", expired, revoked, backlog.get());
+        }
+        return expired + revoked;
+    }
+
+    private int purgeBatches(Function<Pageable, List<Long>> nextIds, Counter counter) {
+        Pageable batch = PageRequest.of(0, conf.batchSize());
+        int total = 0;
+        while (batchesLeft-- > 0) {
+            long start = System.nanoTime();
+            List<Long> ids = nextIds.apply(batch);
+            if (ids.isEmpty()) break;
+            // 배치마다 짧은 트랜잭션 하나 (PK IN (...) delete)
+            refreshTokenRepository.deleteAllByIdInBatch(ids);
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            counter.increment(ids.size());
+            backlog.updateAndGet(b -> Math.max(0, b - ids.size()));
+            total += ids.size();
+
+            if (ids.size() < conf.batchSize()) break;
+            // lease 연장 (다른 노드에 넘어갔으면 중단)
+            if (!jobLeases.tryAcquire(LEASE_NAME, conf.leaseTtl())) break;
+            if (!pause()) break;
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(conf.pause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,11 +1,50 @@
 package com.example.jwttemplate.refreshtoken;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByTokenHash(String tokenHash);
+    Optional<RefreshToken> findByTokenDigest(byte[] tokenDigest);
     int deleteByExpiresAtBefore(Instant now);
+
+    long countByExpiresAtBefore(Instant now);
+    long countByRevokedAtBeforeAndExpiresAtGreaterThanEqual(Instant revokedBefore, Instant now);
+
+    @Query("select t.id from RefreshToken t where t.expiresAt < :now")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable limit);
+
+    @Query("select t.id from RefreshToken t where t.revokedAt < :revokedBefore")
+    List<Long> findRevokedIds(@Param("revokedBefore") Instant revokedBefore, Pageable limit);
+
+    /**
+     * Revokes the token only if it is still active. Returns 1 for exactly one of any number of
+     * concurrent callers presenting the same token, 0 otherwise.
+     */
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now "
+        + "where t.tokenDigest = :digest and t.revokedAt is null and t.expiresAt > :now")
+    int revokeActiveByDigest(@Param("digest") byte[] digest, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now "
+        + "where t.tokenHash = :hash and t.revokedAt is null and t.expiresAt > :now")
+    int revokeActiveByHash(@Param("hash") String hash, @Param("now") Instant now);
+
+    // idx_refresh_token_user
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now "
+        + "where t.userId = :userId and t.revokedAt is null and t.expiresAt > :now")
+    int revokeAllActiveByUserId(@Param("userId") Long userId, @Param("now") Instant now);
 }
@@ -0,0 +1,41 @@
+package com.example.jwttemplate.refreshtoken;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Server-side record of issued refresh tokens, keyed by the SHA-256 digest of the token.
+ * Selected with {@code refresh-token.store} ({@code jpa}, {@code memory} or {@code partitioned}).
+ */
+public interface RefreshTokenStore {
+
+    void save(byte[] digest, Long userId, Instant expiresAt);
+
+    Optional<StoredRefreshToken> find(byte[] digest);
+
+    /**
+     * Same as {@link #find(byte[])} for a token whose {@code exp} claim is {@code expiresAt}.
+     * Stores partitioned by expiry use the hint to look in a single bucket.
+     */
+    default Optional<StoredRefreshToken> find(byte[] digest, Instant expiresAt) {
+        return find(digest);
+    }
+
+    /**
+     * Revokes the token if it is neither revoked nor expired at {@code now}.
+     * Of any number of concurrent callers with the same digest, exactly one gets {@code true}.
+     */
+    boolean revokeIfActive(byte[] digest, Instant now);
+
+    /**
+     * Same as {@link #revokeIfActive(byte[], Instant)} for a token whose {@code exp} claim is {@code expiresAt}.
+     */
+    default boolean revokeIfActive(byte[] digest, Instant expiresAt, Instant now) {
+        return revokeIfActive(digest, now);
+    }
+
+    /**
+     * Revokes every active token of the user and returns how many were revoked.
+     */
+    int revokeAllForUser(Long userId, Instant now);
+}
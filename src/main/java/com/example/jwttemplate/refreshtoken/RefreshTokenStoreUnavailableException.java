@@ -0,0 +1,14 @@
+package com.example.jwttemplate.refreshtoken;
+
+/**
+ * A refresh token write could not be queued or confirmed in time (write-behind queue full or flush too slow).
+ */
+public class RefreshTokenStoreUnavailableException extends RuntimeException {
+    public RefreshTokenStoreUnavailableException(String message) {
+        super(message);
+    }
+
+    public RefreshTokenStoreUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
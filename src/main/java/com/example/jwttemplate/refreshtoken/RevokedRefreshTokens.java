@@ -0,0 +1,37 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.config.RevocationLogProperties;
+import com.example.jwttemplate.global.BoundedExpiringCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory set of refresh token digests known to be revoked, fed by this node's own revocations
+ * and by the revocation log. A hit lets a replayed refresh token be rejected without a database
+ * round trip; a miss proves nothing, so the store's conditional revoke stays authoritative.
+ */
+@Component
+public class RevokedRefreshTokens {
+
+    private final BoundedExpiringCache<DigestKey, Boolean> revoked;
+
+    public RevokedRefreshTokens(RevocationLogProperties props, MeterRegistry meterRegistry) {
+        this.revoked = new BoundedExpiringCache<>(props.maxRevokedRefreshTokens());
+
+        FunctionCounter.builder("refresh_token.revoked_cache.requests", revoked, BoundedExpiringCache::hitCount)
+            .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("refresh_token.revoked_cache.requests", revoked, BoundedExpiringCache::missCount)
+            .tag("result", "miss").register(meterRegistry);
+        Gauge.builder("refresh_token.revoked_cache.size", revoked, BoundedExpiringCache::size).register(meterRegistry);
+    }
+
+    public boolean isRevoked(byte[] digest) {
+        return revoked.get(new DigestKey(digest)) != null;
+    }
+
+    public void add(byte[] digest, long expiresAtMillis) {
+        revoked.put(new DigestKey(digest), Boolean.TRUE, expiresAtMillis);
+    }
+}
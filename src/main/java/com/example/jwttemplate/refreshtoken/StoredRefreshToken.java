@@ -0,0 +1,13 @@
+package com.example.jwttemplate.refreshtoken;
+
+import java.time.Instant;
+
+public record StoredRefreshToken(
+    Long userId,
+    Instant expiresAt,
+    Instant revokedAt
+) {
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+}
@@ -1,20 +1,46 @@
 package com.example.jwttemplate.refreshtoken;
 
+import com.example.jwttemplate.global.ReusablePool;
+
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 public final class TokenHashing {
     private TokenHashing() {}
 
-    public static String sha256Hex(String raw) {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // MessageDigest.getInstance는 provider 조회 비용이 커서 재사용 (digest() 호출 시 자동 reset)
+    private static final ReusablePool<MessageDigest> SHA256 = new ReusablePool<>(() -> {
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] bytes = md.digest(raw.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder();
-            for (byte b : bytes) sb.append(String.format("%02x", b));
-            return sb.toString();
-        } catch (Exception e) {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("hash_failed", e);
         }
+    }, 256);
+
+    public static byte[] sha256(String raw) {
+        byte[] input = raw.getBytes(StandardCharsets.UTF_8);
+        MessageDigest md = SHA256.acquire();
+        try {
+            return md.digest(input);
+        } finally {
+            SHA256.release(md);
+        }
+    }
+
+    public static String sha256Hex(String raw) {
+        return toHex(sha256(raw));
+    }
+
+    public static String toHex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xff;
+            out[i * 2] = HEX[v >>> 4];
+            out[i * 2 + 1] = HEX[v & 0x0f];
+        }
+        return new String(out);
     }
 }
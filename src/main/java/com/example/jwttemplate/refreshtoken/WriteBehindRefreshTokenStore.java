@@ -0,0 +1,307 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.config.RefreshTokenProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Groups refresh token writes from concurrent requests into JDBC batches.
+ * <ul>
+ *   <li>Inserts are write-behind: {@link #save} only queues the token and keeps it in a pending map,
+ *       so that {@link #find} and {@link #revokeIfActive} see it before it reaches the database.</li>
+ *   <li>Revocations are group-committed: the caller waits for the transaction that carries its
+ *       conditional UPDATE, and that UPDATE's own update count still decides the single winner across
+ *       nodes.</li>
+ * </ul>
+ * Callers wait at most {@code refresh-token.write-behind.timeout} for a queue slot or a revocation
+ * result, and fail with {@link RefreshTokenStoreUnavailableException} instead of piling up when the
+ * database stalls. A failed insert batch is retried row by row; rows that still fail are counted in
+ * {@code refresh_token.write_behind.lost}.
+ * A token revoked while its insert is pending is decided by a CAS on the pending entry and written
+ * as already revoked. Once the flusher has picked up an insert, revocations go through the queue and
+ * are therefore applied after that insert commits. Either way a revoked token is never accepted again.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnExpression("'${refresh-token.store:jpa}'.equalsIgnoreCase('jpa') and ${refresh-token.write-behind.enabled:false}")
+public class WriteBehindRefreshTokenStore implements RefreshTokenStore {
+
+    private static final Object PENDING = new Object();
+    private static final Object WRITING = new Object();
+
+    private final JpaRefreshTokenStore delegate;
+    private final int batchSize;
+    private final long windowNanos;
+    private final long timeoutMillis;
+
+    private final ConcurrentHashMap<DigestKey, PendingInsert> pendingInserts = new ConcurrentHashMap<>();
+    private final BlockingQueue<Object> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final Timer insertTimer;
+    private final Timer revokeTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter lost;
+
+    public WriteBehindRefreshTokenStore(
+        JpaRefreshTokenStore delegate,
+        RefreshTokenProperties refreshTokenProperties,
+        MeterRegistry meterRegistry
+    ) {
+        RefreshTokenProperties.WriteBehind conf = refreshTokenProperties.writeBehind();
+        this.delegate = delegate;
+        this.batchSize = conf.batchSize();
+        this.windowNanos = conf.window().toNanos();
+        this.timeoutMillis = conf.timeout().toMillis();
+        this.queue = new LinkedBlockingQueue<>(conf.queueCapacity());
+
+        this.insertTimer = Timer.builder("refresh_token.write_behind.flush").tag("op", "insert").register(meterRegistry);
+        this.revokeTimer = Timer.builder("refresh_token.write_behind.flush").tag("op", "revoke").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("refresh_token.write_behind.batch_size").register(meterRegistry);
+        this.lost = Counter.builder("refresh_token.write_behind.lost").register(meterRegistry);
+        Gauge.builder("refresh_token.write_behind.queue", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.flusher = Thread.ofPlatform().name("refresh-token-writer").daemon().start(this::runFlusher);
+    }
+
+    @Override
+    public void save(byte[] digest, Long userId, Instant expiresAt) {
+        byte[] copy = digest.clone();
+        DigestKey key = new DigestKey(copy);
+        PendingInsert p = new PendingInsert(copy, userId, expiresAt);
+        pendingInserts.put(key, p);
+        try {
+            enqueue(p);
+        } catch (RuntimeException e) {
+            // 큐에 못 넣은 토큰은 기록되지 않으므로 pending 에서도 뺀다
+            pendingInserts.remove(key, p);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(byte[] digest) {
+        PendingInsert p = pendingInserts.get(new DigestKey(digest));
+        if (p == null) return delegate.find(digest);
+        return Optional.of(new StoredRefreshToken(p.userId, p.expiresAt, p.revokedAt()));
+    }
+
+    @Override
+    public boolean revokeIfActive(byte[] digest, Instant now) {
+        PendingInsert p = pendingInserts.get(new DigestKey(digest));
+        if (p != null) {
+            if (!p.expiresAt.isAfter(now)) return false;
+            Boolean decided = p.tryRevoke(now);
+            if (decided != null) return decided;
+            // 이미 flusher가 insert 중: 같은 큐로 보내서 insert 이후에 적용되게 한다
+        }
+        return await(submitRevocation(digest, now));
+    }
+
+    @Override
+    public int revokeAllForUser(Long userId, Instant now) {
+        int revoked = 0;
+        List<CompletableFuture<Boolean>> writing = new ArrayList<>();
+        for (PendingInsert p : pendingInserts.values()) {
+            if (!p.userId.equals(userId) || !p.expiresAt.isAfter(now)) continue;
+            Boolean decided = p.tryRevoke(now);
+            if (decided == null) writing.add(submitRevocation(p.digest, now));
+            else if (decided) revoked++;
+        }
+        revoked += delegate.revokeAllForUser(userId, now);
+        for (CompletableFuture<Boolean> f : writing) {
+            if (await(f)) revoked++;
+        }
+        return revoked;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private CompletableFuture<Boolean> submitRevocation(byte[] digest, Instant now) {
+        PendingRevocation r = new PendingRevocation(new JpaRefreshTokenStore.Revocation(digest, now));
+        enqueue(r);
+        return r.result;
+    }
+
+    private void enqueue(Object op) {
+        try {
+            // 큐가 가득 차면 flusher가 따라잡을 때까지 요청 스레드가 기다린다 (backpressure, timeout 까지만)
+            if (!queue.offer(op, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RefreshTokenStoreUnavailableException("refresh_token_write_timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RefreshTokenStoreUnavailableException("refresh_token_write_interrupted", e);
+        }
+    }
+
+    private boolean await(CompletableFuture<Boolean> result) {
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 폐기는 나중에 적용될 수 있지만 이 요청은 결과를 모르므로 실패로 응답한다
+            throw new RefreshTokenStoreUnavailableException("refresh_token_write_timeout", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RefreshTokenStoreUnavailableException("refresh_token_write_interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("refresh_token_write_failed", e.getCause());
+        }
+    }
+
+    private void runFlusher() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                fill(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 종료 시에도 큐에 남은 것은 모두 기록한다
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("refresh token write-behind flush failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(List<Object> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long left = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || left <= 0) return;
+            Object next = queue.poll(left, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Object> batch) {
+        batchSizes.record(batch.size());
+        List<PendingInsert> inserts = new ArrayList<>();
+        List<PendingRevocation> revocations = new ArrayList<>();
+        for (Object op : batch) {
+            if (op instanceof PendingInsert p) inserts.add(p);
+            else revocations.add((PendingRevocation) op);
+        }
+        // insert를 먼저 커밋해야 같은 배치의 폐기가 그 row를 찾을 수 있다
+        if (!inserts.isEmpty()) writeInserts(inserts);
+        if (!revocations.isEmpty()) writeRevocations(revocations);
+    }
+
+    private void writeInserts(List<PendingInsert> inserts) {
+        List<JpaRefreshTokenStore.Insert> rows = new ArrayList<>(inserts.size());
+        for (PendingInsert p : inserts) {
+            rows.add(new JpaRefreshTokenStore.Insert(p.digest, p.userId, p.expiresAt, p.startWriting()));
+        }
+        try {
+            insertTimer.record(() -> delegate.insertBatch(rows));
+        } catch (RuntimeException e) {
+            // batch 는 통째로 rollback 되므로 한 row 때문에 나머지를 잃지 않도록 한 건씩 다시 쓴다
+            log.warn("failed to write {} refresh tokens as a batch; retrying one by one", rows.size(), e);
+            writeOneByOne(rows);
+        } finally {
+            for (PendingInsert p : inserts) {
+                pendingInserts.remove(new DigestKey(p.digest), p);
+            }
+        }
+    }
+
+    private void writeOneByOne(List<JpaRefreshTokenStore.Insert> rows) {
+        for (JpaRefreshTokenStore.Insert row : rows) {
+            try {
+                delegate.insertBatch(List.of(row));
+            } catch (RuntimeException e) {
+                lost.increment();
+                log.error("failed to write refresh token of user {}; the user must log in again", row.userId(), e);
+            }
+        }
+    }
+
+    private void writeRevocations(List<PendingRevocation> revocations) {
+        List<JpaRefreshTokenStore.Revocation> rows = revocations.stream().map(r -> r.revocation).toList();
+        try {
+            boolean[] won = revokeTimer.record(() -> delegate.revokeBatch(rows));
+            for (int i = 0; i < won.length; i++) {
+                revocations.get(i).result.complete(won[i]);
+            }
+        } catch (RuntimeException e) {
+            revocations.forEach(r -> r.result.completeExceptionally(e));
+        }
+    }
+
+    private static final class PendingInsert {
+        final byte[] digest;
+        final Long userId;
+        final Instant expiresAt;
+        // PENDING -> (revokedAt Instant | WRITING)
+        private final AtomicReference<Object> state = new AtomicReference<>(PENDING);
+
+        PendingInsert(byte[] digest, Long userId, Instant expiresAt) {
+            this.digest = digest;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+
+        /** true/false when decided in memory, null when the insert is already being written. */
+        Boolean tryRevoke(Instant now) {
+            while (true) {
+                Object s = state.get();
+                if (s instanceof Instant) return false;
+                if (s == WRITING) return null;
+                if (state.compareAndSet(PENDING, now)) return true;
+            }
+        }
+
+        /** Returns the revocation time to write, if revoked before the flusher got here. */
+        Instant startWriting() {
+            return state.compareAndSet(PENDING, WRITING) ? null : (Instant) state.get();
+        }
+
+        Instant revokedAt() {
+            return state.get() instanceof Instant at ? at : null;
+        }
+    }
+
+    private static final class PendingRevocation {
+        final JpaRefreshTokenStore.Revocation revocation;
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        PendingRevocation(JpaRefreshTokenStore.Revocation revocation) {
+            this.revocation = revocation;
+        }
+    }
+}
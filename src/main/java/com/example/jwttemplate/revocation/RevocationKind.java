@@ -0,0 +1,6 @@
+package com.example.jwttemplate.revocation;
+
+/**
+ * ACCESS_TOKEN: jti 하나 / REFRESH_TOKEN: refresh token digest 하나 / ALL_SESSIONS: 사용자 epoch 증가 (logout-all)
+ */
+public enum RevocationKind { ACCESS_TOKEN, REFRESH_TOKEN, ALL_SESSIONS }
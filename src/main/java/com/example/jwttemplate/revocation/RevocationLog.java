@@ -0,0 +1,91 @@
+package com.example.jwttemplate.revocation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code revocation_log} table (see {@link RevocationLogEntry}).
+ */
+@Component
+@RequiredArgsConstructor
+public class RevocationLog {
+
+    private static final String INSERT = "insert into revocation_log (kind, user_id, token_id, expires_at, created_at) "
+        + "values (?, ?, ?, ?, ?)";
+    private static final String SELECT = "select id, kind, user_id, token_id, expires_at, created_at from revocation_log ";
+
+    private static final RowMapper<Entry> ENTRY = (rs, i) -> new Entry(
+        rs.getLong("id"),
+        RevocationKind.valueOf(rs.getString("kind")),
+        rs.getLong("user_id"),
+        rs.getString("token_id"),
+        rs.getObject("expires_at", OffsetDateTime.class).toInstant(),
+        rs.getObject("created_at", OffsetDateTime.class).toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Entry(
+        long id,
+        RevocationKind kind,
+        long userId,
+        String tokenId,
+        Instant expiresAt,
+        Instant createdAt
+    ) {}
+
+    public void append(RevocationKind kind, Long userId, String tokenId, Instant expiresAt) {
+        jdbcTemplate.update(INSERT, kind.name(), userId, tokenId, utc(expiresAt), utc(Instant.now()));
+    }
+
+    /**
+     * Entries after {@code afterId} that are still in effect at {@code now}, in id order.
+     */
+    public List<Entry> readAfter(long afterId, Instant now, int limit) {
+        return jdbcTemplate.query(SELECT + "where id > ? and expires_at > ? order by id limit ?",
+            ENTRY, afterId, utc(now), limit);
+    }
+
+    /**
+     * Entries with {@code afterId < id <= upToId}, including expired ones, in id order.
+     */
+    public List<Entry> readRange(long afterId, long upToId, int limit) {
+        return jdbcTemplate.query(SELECT + "where id > ? and id <= ? order by id limit ?",
+            ENTRY, afterId, upToId, limit);
+    }
+
+    public List<Entry> readIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(SELECT + "where id in (" + in + ") order by id", ENTRY, ids.toArray());
+    }
+
+    public long maxId() {
+        Long max = jdbcTemplate.queryForObject("select max(id) from revocation_log", Long.class);
+        return max == null ? 0 : max;
+    }
+
+    /**
+     * Deletes up to {@code limit} expired entries and returns how many were deleted.
+     */
+    public int purgeExpired(Instant now, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "select id from revocation_log where expires_at <= ? order by id limit ?", Long.class, utc(now), limit);
+        if (ids.isEmpty()) return 0;
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.update("delete from revocation_log where id in (" + in + ")", ids.toArray());
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.jwttemplate.revocation;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * Append-only log of revocations shared by all nodes. Mapped so that the table is created with
+ * the rest of the schema; rows are written and read with plain JDBC by {@link RevocationLog}.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "revocation_log", indexes = {
+    @Index(name = "idx_revocation_log_expires", columnList = "expiresAt")
+})
+public class RevocationLogEntry {
+
+    // 노드들은 id 를 cursor 로 따라 읽으므로 insert 순서대로 증가하는 IDENTITY
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // DB enum 타입 대신 문자열 (종류를 추가해도 ALTER 불필요)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private RevocationKind kind;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // jti 또는 refresh token digest(hex). ALL_SESSIONS 는 null
+    @Column(length = 64)
+    private String tokenId;
+
+    // 이 시각 이후에는 의미가 없어 읽지 않고 purge 된다
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
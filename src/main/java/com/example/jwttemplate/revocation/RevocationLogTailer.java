@@ -0,0 +1,211 @@
+package com.example.jwttemplate.revocation;
+
+import com.example.jwttemplate.config.RevocationLogProperties;
+import com.example.jwttemplate.global.JobLeases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tails the revocation log on every node and applies new entries to the local caches.
+ * <p>
+ * The cursor is the highest id read so far. Ids are allocated at insert but become visible at
+ * commit, so a smaller id can show up after a larger one was read; the ids skipped over are
+ * remembered as gaps and looked up again until they appear or {@code gap-timeout} passes
+ * (rolled back, or filtered out because it already expired). On the first poll the node loads
+ * every entry that is still in effect up to the current head, tracks the ids below the head that
+ * are not committed yet as gaps, and starts tailing from there. At most {@code MAX_GAPS} ids are
+ * tracked; ids past that limit are counted in {@code revocation_log.gaps_dropped} and not waited for.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "revocation-log", name = "enabled", havingValue = "true")
+public class RevocationLogTailer {
+
+    static final String PURGE_LEASE = "revocation-log-purge";
+    private static final int MAX_GAPS = 10_000;
+
+    private final RevocationLog revocationLog;
+    private final Revocations revocations;
+    private final JobLeases jobLeases;
+    private final RevocationLogProperties conf;
+
+    private final Map<RevocationKind, Counter> applied = new EnumMap<>(RevocationKind.class);
+    private final Timer propagation;
+    private final Counter purged;
+    private final Counter gapsDropped;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // id -> 기다림을 포기할 시각(ms)
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private long cursor;
+    private boolean bootstrapped;
+
+    public RevocationLogTailer(
+        RevocationLog revocationLog,
+        Revocations revocations,
+        JobLeases jobLeases,
+        RevocationLogProperties revocationLogProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.revocationLog = revocationLog;
+        this.revocations = revocations;
+        this.jobLeases = jobLeases;
+        this.conf = revocationLogProperties;
+
+        for (RevocationKind kind : RevocationKind.values()) {
+            applied.put(kind, Counter.builder("revocation_log.applied")
+                .tag("kind", kind.name().toLowerCase(Locale.ROOT)).register(meterRegistry));
+        }
+        this.propagation = Timer.builder("revocation_log.propagation")
+            .description("Time from append to being applied on this node")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.purged = Counter.builder("revocation_log.purged").register(meterRegistry);
+        this.gapsDropped = Counter.builder("revocation_log.gaps_dropped")
+            .description("Missing ids not tracked as gaps because the gap limit was reached")
+            .register(meterRegistry);
+        Gauge.builder("revocation_log.gaps", gaps, TreeMap::size).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${revocation-log.poll-interval}")
+    public void scheduledPoll() {
+        try {
+            poll();
+        } catch (DataAccessException e) {
+            // 다음 주기에 같은 cursor 부터 다시 읽는다
+            log.warn("revocation log poll failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Appends entries whose append failed on this node, then reads and applies everything appended
+     * since the last poll. Returns the number of entries applied.
+     */
+    public int poll() {
+        revocations.retryPending();
+        lock.lock();
+        try {
+            Instant now = Instant.now();
+            if (!bootstrapped) return bootstrap(now);
+            return fillGaps(now) + readNew(now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${revocation-log.purge-interval}",
+        fixedDelayString = "${revocation-log.purge-interval}"
+    )
+    public void purge() {
+        if (!jobLeases.tryAcquire(PURGE_LEASE, conf.purgeInterval())) return;
+        try {
+            int deleted;
+            do {
+                deleted = revocationLog.purgeExpired(Instant.now(), conf.batchSize());
+                purged.increment(deleted);
+            } while (deleted == conf.batchSize());
+        } finally {
+            jobLeases.release(PURGE_LEASE);
+        }
+    }
+
+    private int bootstrap(Instant now) {
+        long head = revocationLog.maxId();
+        long deadline = now.plus(conf.gapTimeout()).toEpochMilli();
+        Instant recent = now.minus(conf.gapTimeout());
+        int count = 0;
+        List<RevocationLog.Entry> batch;
+        do {
+            // 만료된 row 도 읽어야 아직 commit 되지 않은 id 와 구분할 수 있다
+            batch = revocationLog.readRange(cursor, head, conf.batchSize());
+            for (RevocationLog.Entry e : batch) {
+                // gap-timeout 보다 먼저 기록된 row 앞의 빈 id 는 이미 기다릴 만큼 기다린 것 (대부분 purge 된 row)
+                if (e.createdAt().isAfter(recent)) trackGaps(e.id(), deadline);
+                cursor = e.id();
+                if (!e.expiresAt().isAfter(now)) continue;
+                apply(e, false);
+                count++;
+            }
+        } while (batch.size() == conf.batchSize());
+        // head 까지 남은 id 는 아직 commit 되지 않았다
+        trackGaps(head + 1, deadline);
+        cursor = Math.max(cursor, head);
+        bootstrapped = true;
+        if (count > 0) log.info("revocation log: loaded {} active entries up to id {}", count, cursor);
+        return count;
+    }
+
+    private int readNew(Instant now) {
+        long deadline = now.plus(conf.gapTimeout()).toEpochMilli();
+        int count = 0;
+        List<RevocationLog.Entry> batch;
+        do {
+            batch = revocationLog.readAfter(cursor, now, conf.batchSize());
+            for (RevocationLog.Entry e : batch) {
+                trackGaps(e.id(), deadline);
+                apply(e, true);
+                cursor = e.id();
+            }
+            count += batch.size();
+        } while (batch.size() == conf.batchSize());
+        return count;
+    }
+
+    /** Remembers the ids between the cursor and {@code nextId} (exclusive) as gaps. */
+    private void trackGaps(long nextId, long deadline) {
+        long missing = nextId - cursor - 1;
+        if (missing <= 0) return;
+        if (gaps.size() + missing > MAX_GAPS) {
+            gapsDropped.increment(missing);
+            log.warn("revocation log: not waiting for {} missing ids after {} ({} gaps tracked, limit {}); "
+                + "entries among them committed later are not applied on this node", missing, cursor, gaps.size(), MAX_GAPS);
+            return;
+        }
+        for (long id = cursor + 1; id < nextId; id++) gaps.put(id, deadline);
+    }
+
+    private int fillGaps(Instant now) {
+        if (gaps.isEmpty()) return 0;
+        long nowMillis = now.toEpochMilli();
+        gaps.values().removeIf(deadline -> deadline <= nowMillis);
+        List<Long> ids = new ArrayList<>(Math.min(gaps.size(), conf.batchSize()));
+        for (Long id : gaps.keySet()) {
+            if (ids.size() == conf.batchSize()) break;
+            ids.add(id);
+        }
+        int count = 0;
+        for (RevocationLog.Entry e : revocationLog.readIds(ids)) {
+            gaps.remove(e.id());
+            if (!e.expiresAt().isAfter(now)) continue;
+            apply(e, true);
+            count++;
+        }
+        return count;
+    }
+
+    private void apply(RevocationLog.Entry e, boolean live) {
+        revocations.apply(e.kind(), e.userId(), e.tokenId(), e.expiresAt());
+        applied.get(e.kind()).increment();
+        // createdAt 은 기록한 노드의 시계 기준이라 시계 차이만큼 오차가 있다
+        Duration lag = Duration.between(e.createdAt(), Instant.now());
+        if (live && !lag.isNegative()) propagation.record(lag);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.jwttemplate.revocation;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.RefreshTokenProperties;
+import com.example.jwttemplate.config.RevocationLogProperties;
+import com.example.jwttemplate.config.SecurityProperties;
+import com.example.jwttemplate.jwt.AccessTokenDenylist;
+import com.example.jwttemplate.refreshtoken.RevokedRefreshTokens;
+import com.example.jwttemplate.refreshtoken.TokenHashing;
+import com.example.jwttemplate.user.TokenEpochs;
+import com.example.jwttemplate.user.UserSnapshots;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Records revocations that other nodes must see. Each one is applied to this node's in-memory
+ * state right away and, with {@code revocation-log.enabled}, appended to the revocation log,
+ * which every node tails ({@link RevocationLogTailer}) and applies through {@link #apply}.
+ * <p>
+ * Entries expire once they no longer change any answer: access tokens at their {@code exp},
+ * refresh tokens after {@code refresh-token.purge.revoked-grace} (the database row answers after
+ * that), logout-all once every node's cached epoch and user snapshot has expired anyway.
+ * <p>
+ * The append runs after the revocation itself was committed, so a failed append must not fail
+ * the request: the entry is queued and appended again on the tailer's next poll. Until then only
+ * this node knows about it, as without the log.
+ */
+@Slf4j
+@Component
+public class Revocations {
+
+    private static final int MAX_PENDING = 10_000;
+
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final RevokedRefreshTokens revokedRefreshTokens;
+    private final TokenEpochs tokenEpochs;
+    private final UserSnapshots userSnapshots;
+    private final RevocationLog revocationLog;
+    private final boolean logEnabled;
+    private final Duration refreshRetention;
+    private final Duration sessionRetention;
+    // append 에 실패해서 다음 poll 때 다시 쓸 항목 (가득 차면 버리고 로그만 남긴다)
+    private final BlockingQueue<Pending> pending = new LinkedBlockingQueue<>(MAX_PENDING);
+    private final Counter appendFailures;
+    private final Counter appendDropped;
+
+    public Revocations(
+        AccessTokenDenylist accessTokenDenylist,
+        RevokedRefreshTokens revokedRefreshTokens,
+        TokenEpochs tokenEpochs,
+        UserSnapshots userSnapshots,
+        RevocationLog revocationLog,
+        RevocationLogProperties revocationLogProperties,
+        RefreshTokenProperties refreshTokenProperties,
+        JwtProperties jwtProperties,
+        SecurityProperties securityProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.revokedRefreshTokens = revokedRefreshTokens;
+        this.tokenEpochs = tokenEpochs;
+        this.userSnapshots = userSnapshots;
+        this.revocationLog = revocationLog;
+        this.logEnabled = revocationLogProperties.enabled();
+        this.refreshRetention = refreshTokenProperties.purge().revokedGrace();
+        Duration epochTtl = jwtProperties.epochCache().ttl();
+        Duration userTtl = securityProperties.userCache().ttl();
+        this.sessionRetention = epochTtl.compareTo(userTtl) >= 0 ? epochTtl : userTtl;
+
+        this.appendFailures = Counter.builder("revocation_log.append_failures").register(meterRegistry);
+        this.appendDropped = Counter.builder("revocation_log.append_dropped").register(meterRegistry);
+        Gauge.builder("revocation_log.pending", pending, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public void accessToken(Long userId, String jti, Instant expiresAt) {
+        record(RevocationKind.ACCESS_TOKEN, userId, jti, expiresAt);
+    }
+
+    public void refreshToken(Long userId, byte[] digest, Instant expiresAt) {
+        Instant retainUntil = Instant.now().plus(refreshRetention);
+        record(RevocationKind.REFRESH_TOKEN, userId, TokenHashing.toHex(digest),
+            expiresAt.isBefore(retainUntil) ? expiresAt : retainUntil);
+    }
+
+    /**
+     * After the user's token epoch was bumped in the database.
+     */
+    public void allSessions(Long userId) {
+        record(RevocationKind.ALL_SESSIONS, userId, null, Instant.now().plus(sessionRetention));
+    }
+
+    /**
+     * Known-revoked check for a refresh token digest; {@code false} means "ask the store".
+     */
+    public boolean isRefreshTokenRevoked(byte[] digest) {
+        return revokedRefreshTokens.isRevoked(digest);
+    }
+
+    /**
+     * Applies a revocation to this node's in-memory state. Idempotent, so entries written by this
+     * node and read back from the log are harmless.
+     */
+    void apply(RevocationKind kind, Long userId, String tokenId, Instant expiresAt) {
+        switch (kind) {
+            case ACCESS_TOKEN -> accessTokenDenylist.revoke(tokenId, expiresAt.toEpochMilli());
+            case REFRESH_TOKEN -> revokedRefreshTokens.add(HexFormat.of().parseHex(tokenId), expiresAt.toEpochMilli());
+            case ALL_SESSIONS -> {
+                tokenEpochs.invalidate(userId);
+                userSnapshots.invalidate(userId);
+            }
+        }
+    }
+
+    /**
+     * Appends the entries whose append failed earlier, oldest first, and stops at the first one
+     * that fails again. Entries that expired meanwhile are dropped. Returns how many were appended.
+     */
+    synchronized int retryPending() {
+        int appended = 0;
+        Instant now = Instant.now();
+        for (Pending p; (p = pending.peek()) != null; pending.remove()) {
+            if (p.expiresAt().isAfter(now)) {
+                try {
+                    revocationLog.append(p.kind(), p.userId(), p.tokenId(), p.expiresAt());
+                } catch (DataAccessException e) {
+                    log.warn("revocation log append retry failed, {} pending: {}", pending.size(), e.getMessage());
+                    return appended;
+                }
+                appended++;
+            }
+        }
+        return appended;
+    }
+
+    private void record(RevocationKind kind, Long userId, String tokenId, Instant expiresAt) {
+        apply(kind, userId, tokenId, expiresAt);
+        if (!logEnabled) return;
+        try {
+            revocationLog.append(kind, userId, tokenId, expiresAt);
+        } catch (DataAccessException e) {
+            // 폐기 자체는 이미 반영됐으므로 요청은 성공시키고, 다른 노드로의 전파만 다음 poll 로 미룬다
+            appendFailures.increment();
+            if (pending.offer(new Pending(kind, userId, tokenId, expiresAt))) {
+                log.warn("revocation log append failed, retrying on next poll: {}", e.getMessage());
+            } else {
+                appendDropped.increment();
+                log.error("revocation log append failed and retry queue is full, {} of user {} is not propagated",
+                    kind, userId, e);
+            }
+        }
+    }
+
+    private record Pending(RevocationKind kind, Long userId, String tokenId, Instant expiresAt) {}
+}
@@ -0,0 +1,90 @@
+package com.example.jwttemplate.user;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.global.BoundedExpiringCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cached view of each user's token epoch. Every token carries the epoch it was issued under;
+ * bumping the epoch invalidates all of the user's tokens at once, without touching them.
+ * Lookups hit the database at most once per user per {@code jwt.epoch-cache.ttl}, which is also
+ * how long another node may keep accepting tokens after a bump made elsewhere, unless the
+ * revocation log is enabled: it invalidates the entry within {@code revocation-log.poll-interval}.
+ */
+@Component
+public class TokenEpochs {
+
+    private static final long UNKNOWN_USER = -1;
+
+    private final BoundedExpiringCache<Long, Long> cache;
+    private final long ttlMillis;
+    private final Function<Long, Long> loader;
+    // invalidate() 마다 증가. 로드 중에 바뀌었으면 읽은 값이 bump 이전 것일 수 있으므로 캐시에 남기지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public TokenEpochs(JwtProperties props, UserRepository userRepository, MeterRegistry meterRegistry) {
+        this(props, id -> userRepository.findTokenEpoch(id).orElse(UNKNOWN_USER), meterRegistry);
+    }
+
+    public TokenEpochs(JwtProperties props, Function<Long, Long> loader, MeterRegistry meterRegistry) {
+        JwtProperties.EpochCache conf = props.epochCache();
+        this.cache = new BoundedExpiringCache<>(conf.maxSize());
+        this.ttlMillis = conf.ttl().toMillis();
+        this.loader = loader;
+
+        FunctionCounter.builder("jwt.epoch_cache.requests", cache, BoundedExpiringCache::hitCount)
+            .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("jwt.epoch_cache.requests", cache, BoundedExpiringCache::missCount)
+            .tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * True if a token issued under {@code epoch} is still valid for the user.
+     * Unknown (e.g. deleted) users have no valid tokens.
+     */
+    public boolean isCurrent(Long userId, long epoch) {
+        Long current = cache.get(userId);
+        if (current == null) current = load(userId);
+        return current != UNKNOWN_USER && epoch >= current;
+    }
+
+    /**
+     * The epoch to issue a new token family (login) under, from the cache when present. On this
+     * node a bump is seen immediately ({@link #invalidate}); a bump made on another node is seen
+     * within the cache TTL, and tokens minted under the old epoch meanwhile are rejected there,
+     * never accepted anywhere after the bump. Returns -1 for an unknown user.
+     */
+    public long current(Long userId) {
+        Long current = cache.get(userId);
+        return current != null ? current : load(userId);
+    }
+
+    /**
+     * Forgets the cached epoch after it was bumped, so this node sees the new one immediately.
+     */
+    public void invalidate(Long userId) {
+        // 순서 중요: load() 는 put 뒤에 카운터를 보므로, 먼저 올리고 지우면 bump 전에 읽은 값이 남지 않는다
+        invalidations.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Loads the epoch and caches it unless an invalidation ran meanwhile: a load that read the
+     * epoch before a bump must not re-cache it after {@link #invalidate} removed the entry. Any
+     * invalidation counts, so a bump of another user only costs this load its cache entry.
+     */
+    private long load(Long userId) {
+        long seen = invalidations.get();
+        long current = loader.apply(userId);
+        cache.put(userId, current, System.currentTimeMillis() + ttlMillis);
+        if (invalidations.get() != seen) cache.invalidate(userId);
+        return current;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.jwttemplate.user;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 
@@ -28,6 +29,11 @@ public class User {
     @Column(nullable = false)
     private Instant createdAt = Instant.now();
 
+    // 토큰 세대. 올리면 그 이전에 발급된 access/refresh token 이 모두 무효가 된다
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long tokenEpoch;
+
     public User(String email, String passwordHash, UserRole role) {
         this.email = email;
         this.passwordHash = passwordHash;
@@ -0,0 +1,23 @@
+package com.example.jwttemplate.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code userSeed} health component. With {@code seed.mode: deferred} the app is ready before the
+ * demo accounts exist, so the readiness group includes this and stays OUT_OF_SERVICE until seeding
+ * finishes (a failed seed keeps it there).
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSeedHealthIndicator implements HealthIndicator {
+
+    private final UserSeeder userSeeder;
+
+    @Override
+    public Health health() {
+        return userSeeder.isDone() ? Health.up().build() : Health.outOfService().build();
+    }
+}
@@ -1,26 +1,78 @@
 package com.example.jwttemplate.user;
 
+import com.example.jwttemplate.config.SeedProperties;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserSeeder implements CommandLineRunner {
 
+    private static final String PASSWORD = "password1234";
+    private static final List<Seed> SEEDS = List.of(
+        new Seed("user@example.com", UserRole.USER),
+        new Seed("admin@example.com", UserRole.ADMIN)
+    );
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SeedProperties seedProperties;
+
+    // DEFERRED 시드가 끝나기 전까지 false (UserSeedHealthIndicator 가 readiness 에 반영)
+    private volatile boolean done;
 
     @Override
     public void run(String... args) {
-        seed("user@example.com", UserRole.USER);
-        seed("admin@example.com", UserRole.ADMIN);
+        switch (seedProperties.mode()) {
+            case STARTUP -> {
+                seed();
+                done = true;
+            }
+            // BCrypt encode 가 기동 critical path 에 오르지 않도록 ready 이후 백그라운드에서 실행
+            case DEFERRED -> Thread.ofPlatform().name("user-seeder").daemon().start(this::seedQuietly);
+            case OFF -> done = true;
+        }
+    }
+
+    public boolean isDone() {
+        return done;
     }
 
-    private void seed(String email, UserRole role) {
-        if (userRepository.findByEmail(email).isPresent()) return;
-        String hash = passwordEncoder.encode("password1234");
-        userRepository.save(new User(email, hash, role));
+    private void seedQuietly() {
+        try {
+            long start = System.nanoTime();
+            seed();
+            done = true;
+            log.info("Seeded users in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("User seeding failed", e);
+        }
     }
+
+    private void seed() {
+        String hash = null;
+        for (Seed seed : seeds()) {
+            if (userRepository.findByEmail(seed.email()).isPresent()) continue;
+            // 시드 계정은 비밀번호가 같으므로 encode 는 한 번만
+            if (hash == null) hash = passwordEncoder.encode(PASSWORD);
+            userRepository.save(new User(seed.email(), hash, seed.role()));
+        }
+    }
+
+    private List<Seed> seeds() {
+        List<Seed> seeds = new ArrayList<>(SEEDS);
+        for (int i = 0; i < seedProperties.loadUsers(); i++) {
+            seeds.add(new Seed(SeedProperties.loadUserEmail(i), UserRole.USER));
+        }
+        return seeds;
+    }
+
+    private record Seed(String email, UserRole role) {}
 }
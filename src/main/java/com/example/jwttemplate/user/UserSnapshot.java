@@ -0,0 +1,16 @@
+package com.example.jwttemplate.user;
+
+/**
+ * Immutable copy of the user fields needed to log in and to issue tokens.
+ * The token epoch is deliberately not part of it (see {@link TokenEpochs}).
+ */
+public record UserSnapshot(
+    Long id,
+    String email,
+    String passwordHash,
+    UserRole role
+) {
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getPasswordHash(), user.getRole());
+    }
+}
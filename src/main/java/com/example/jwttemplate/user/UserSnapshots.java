@@ -0,0 +1,79 @@
+package com.example.jwttemplate.user;
+
+import com.example.jwttemplate.config.SecurityProperties;
+import com.example.jwttemplate.global.BoundedExpiringCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-based cache of {@link UserSnapshot}s in front of {@link UserRepository}, indexed
+ * by id (refresh) and by email (login). Only the id index holds snapshots; the email index maps
+ * to the id, so evicting or invalidating the id entry also retires the snapshot for logins.
+ * A load through either index fills both.
+ * Whoever changes a user's email, role or password must call {@link #invalidate(Long)};
+ * other nodes pick the change up within {@code security.user-cache.ttl}.
+ */
+@Component
+public class UserSnapshots {
+
+    private final UserRepository userRepository;
+    private final BoundedExpiringCache<Long, UserSnapshot> byId;
+    private final BoundedExpiringCache<String, Long> byEmail;
+    private final long ttlMillis;
+
+    public UserSnapshots(SecurityProperties props, UserRepository userRepository, MeterRegistry meterRegistry) {
+        SecurityProperties.UserCache conf = props.userCache();
+        this.userRepository = userRepository;
+        this.byId = new BoundedExpiringCache<>(conf.maxSize());
+        this.byEmail = new BoundedExpiringCache<>(conf.maxSize());
+        this.ttlMillis = conf.ttl().toMillis();
+
+        register(meterRegistry, "id", byId);
+        register(meterRegistry, "email", byEmail);
+    }
+
+    public Optional<UserSnapshot> findById(Long id) {
+        UserSnapshot cached = byId.get(id);
+        if (cached != null) return Optional.of(cached);
+        return userRepository.findById(id).map(this::cache);
+    }
+
+    public Optional<UserSnapshot> findByEmail(String email) {
+        Long id = byEmail.get(email);
+        UserSnapshot cached = id == null ? null : byId.get(id);
+        // id 쪽에서 밀려났거나 email 이 바뀐 사용자는 DB 에서 다시 읽는다
+        if (cached != null && cached.email().equals(email)) return Optional.of(cached);
+        return userRepository.findByEmail(email).map(this::cache);
+    }
+
+    /**
+     * Drops the user from both indexes so the next lookup on this node reads the database.
+     */
+    public void invalidate(Long userId) {
+        UserSnapshot cached = byId.remove(userId);
+        if (cached != null) byEmail.invalidate(cached.email());
+    }
+
+    private UserSnapshot cache(User user) {
+        UserSnapshot snapshot = UserSnapshot.of(user);
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        byId.put(snapshot.id(), snapshot, expiresAt);
+        byEmail.put(snapshot.email(), snapshot.id(), expiresAt);
+        return snapshot;
+    }
+
+    private static void register(MeterRegistry registry, String index, BoundedExpiringCache<?, ?> cache) {
+        FunctionCounter.builder("user_cache.requests", cache, BoundedExpiringCache::hitCount)
+            .tag("index", index).tag("result", "hit").register(registry);
+        FunctionCounter.builder("user_cache.requests", cache, BoundedExpiringCache::missCount)
+            .tag("index", index).tag("result", "miss").register(registry);
+        FunctionCounter.builder("user_cache.evictions", cache, BoundedExpiringCache::evictionCount)
+            .tag("index", index).register(registry);
+        Gauge.builder("user_cache.size", cache, BoundedExpiringCache::size)
+            .tag("index", index).register(registry);
+    }
+}
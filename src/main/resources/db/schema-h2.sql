@@ -0,0 +1,46 @@
+-- fast-startup 프로필용 스키마 (ddl-auto 대신 기동 시 실행). 엔티티를 바꾸면 함께 수정해야 한다
+-- FastStartupTest 가 ddl-auto=validate 로 엔티티와 일치하는지 확인한다
+create table if not exists job_leases (
+    leased_until timestamp(6) with time zone not null,
+    name varchar(100) not null,
+    owner varchar(200) not null,
+    primary key (name)
+);
+
+create table if not exists refresh_tokens (
+    created_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    id bigint generated by default as identity,
+    revoked_at timestamp(6) with time zone,
+    user_id bigint not null,
+    token_digest binary(32),
+    token_hash varchar(64),
+    primary key (id)
+);
+
+create table if not exists users (
+    created_at timestamp(6) with time zone not null,
+    id bigint generated by default as identity,
+    token_epoch bigint default 0 not null,
+    email varchar(120) not null unique,
+    password_hash varchar(200) not null,
+    role enum ('ADMIN','USER') not null,
+    primary key (id)
+);
+
+create table if not exists revocation_log (
+    created_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    kind varchar(16) not null,
+    token_id varchar(64),
+    primary key (id)
+);
+
+create unique index if not exists idx_refresh_token_hash on refresh_tokens (token_hash);
+create unique index if not exists idx_refresh_token_digest on refresh_tokens (token_digest);
+create index if not exists idx_refresh_token_user on refresh_tokens (user_id);
+create index if not exists idx_refresh_token_expires on refresh_tokens (expires_at);
+create index if not exists idx_refresh_token_revoked on refresh_tokens (revoked_at);
+create index if not exists idx_revocation_log_expires on revocation_log (expires_at);
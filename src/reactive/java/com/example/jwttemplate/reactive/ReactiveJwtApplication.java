@@ -0,0 +1,32 @@
+package com.example.jwttemplate.reactive;
+
+import com.example.jwttemplate.auth.LoginRateLimiter;
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.SecurityProperties;
+import com.example.jwttemplate.config.SeedProperties;
+import com.example.jwttemplate.jwt.AccessTokenDenylist;
+import com.example.jwttemplate.jwt.JwtKeyRing;
+import com.example.jwttemplate.jwt.JwtTokenProvider;
+import com.example.jwttemplate.jwt.VerifiedTokenCache;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive edition of the auth stack: WebFlux on Netty, R2DBC for {@code users} and
+ * {@code refresh_tokens}, the same endpoints, cookies and token formats as the servlet edition.
+ * Token signing/verification, the verified-token cache, the access token denylist and the login
+ * rate limiter are the servlet edition's own classes (they do no I/O); everything that talks to the database or the
+ * web layer lives in this package.
+ */
+@SpringBootApplication(exclude = ReactiveUserDetailsServiceAutoConfiguration.class)
+@EnableConfigurationProperties({JwtProperties.class, SecurityProperties.class, SeedProperties.class})
+@Import({JwtKeyRing.class, JwtTokenProvider.class, VerifiedTokenCache.class, AccessTokenDenylist.class,
+    LoginRateLimiter.class})
+public class ReactiveJwtApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveJwtApplication.class, args);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.jwttemplate.reactive.auth;
+
+import com.example.jwttemplate.auth.LoginRateLimitedException;
+import com.example.jwttemplate.auth.LoginRateLimiter;
+import com.example.jwttemplate.global.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Reactive counterpart of the servlet {@code LoginRateLimitFilter}: rejects
+ * {@code POST /api/auth/login} with 429 once the client IP has used up its attempts, before the
+ * request body is read. The per-account limit is checked in {@link ReactiveAuthService#login}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginRateLimitWebFilter implements WebFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+
+    private final LoginRateLimiter loginRateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.POST
+            || !LOGIN_PATH.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        try {
+            loginRateLimiter.checkIp(clientIp(request));
+        } catch (LoginRateLimitedException e) {
+            return reject(exchange.getResponse(), e);
+        }
+        return chain.filter(exchange);
+    }
+
+    private static String clientIp(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote == null || remote.getAddress() == null ? null : remote.getAddress().getHostAddress();
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, LoginRateLimitedException e) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponse.ok(e.getMessage()));
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(e.retryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
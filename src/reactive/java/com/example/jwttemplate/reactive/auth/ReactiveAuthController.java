@@ -0,0 +1,68 @@
+package com.example.jwttemplate.reactive.auth;
+
+import com.example.jwttemplate.auth.AuthDtos;
+import com.example.jwttemplate.global.ApiResponse;
+import com.example.jwttemplate.jwt.JwtPrincipal;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+
+    @PostMapping("/auth/login")
+    public Mono<ApiResponse<AuthDtos.LoginResponse>> login(
+        @Valid @RequestBody AuthDtos.LoginRequest request,
+        ServerHttpResponse response
+    ) {
+        return authService.login(request, response);
+    }
+
+    @PostMapping("/auth/refresh")
+    public Mono<ApiResponse<Void>> refresh(
+        @CookieValue(name = "refresh_token", required = false) String refreshToken,
+        ServerHttpResponse response
+    ) {
+        return authService.refresh(response, refreshToken);
+    }
+
+    @PostMapping("/auth/logout")
+    public Mono<ApiResponse<Void>> logout(
+        @CookieValue(name = "refresh_token", required = false) String refreshToken,
+        @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+        ServerHttpResponse response
+    ) {
+        return authService.logout(response, refreshToken, authorization);
+    }
+
+    @PostMapping("/auth/logout-all")
+    public Mono<ApiResponse<Void>> logoutAll(
+        @AuthenticationPrincipal JwtPrincipal principal,
+        ServerHttpResponse response
+    ) {
+        return authService.logoutAll(response, principal.userId());
+    }
+
+    @GetMapping("/me")
+    public ApiResponse<AuthDtos.MeResponse> me(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ApiResponse.ok("me_ok",
+            new AuthDtos.MeResponse(principal.userId(), principal.email(), principal.role())
+        );
+    }
+
+    // reactive method security 는 Publisher 를 반환하는 메서드에만 적용된다
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/ping")
+    public Mono<ApiResponse<String>> adminPing() {
+        return Mono.just(ApiResponse.ok("admin_ok", "pong"));
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.jwttemplate.reactive.auth;
+
+import com.example.jwttemplate.auth.AuthDtos;
+import com.example.jwttemplate.auth.LoginRateLimiter;
+import com.example.jwttemplate.config.SecurityProperties;
+import com.example.jwttemplate.global.ApiResponse;
+import com.example.jwttemplate.jwt.AccessTokenDenylist;
+import com.example.jwttemplate.jwt.IssuedToken;
+import com.example.jwttemplate.jwt.JwtException;
+import com.example.jwttemplate.jwt.JwtTokenProvider;
+import com.example.jwttemplate.jwt.JwtTokenType;
+import com.example.jwttemplate.jwt.RefreshTokenClaims;
+import com.example.jwttemplate.jwt.TokenClaims;
+import com.example.jwttemplate.reactive.refreshtoken.ReactiveRefreshTokenRepository;
+import com.example.jwttemplate.reactive.user.ReactiveTokenEpochs;
+import com.example.jwttemplate.reactive.user.ReactiveUserRepository;
+import com.example.jwttemplate.refreshtoken.TokenHashing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * The servlet {@code AuthService} flow without blocking calls: database access through R2DBC,
+ * BCrypt on {@link ReactivePasswordVerifier}'s scheduler, and token signing/verification (CPU only,
+ * microseconds) inline on the calling event-loop thread.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveAuthService {
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveRefreshTokenRepository refreshTokenRepository;
+    private final ReactivePasswordVerifier passwordVerifier;
+    private final JwtTokenProvider tokenProvider;
+    private final AccessTokenDenylist denylist;
+    private final ReactiveTokenEpochs tokenEpochs;
+    private final SecurityProperties securityProperties;
+    private final LoginRateLimiter loginRateLimiter;
+
+    public Mono<ApiResponse<AuthDtos.LoginResponse>> login(AuthDtos.LoginRequest req, ServerHttpResponse response) {
+        // 계정 단위 제한은 사용자 조회/BCrypt 전에 (IP 단위는 LoginRateLimitWebFilter 에서)
+        return Mono.fromRunnable(() -> loginRateLimiter.checkEmail(req.email()))
+            .then(userRepository.findByEmail(req.email()))
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("invalid_credentials")))
+            .flatMap(user -> passwordVerifier.matches(req.password(), user.passwordHash())
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("invalid_credentials")))
+                .thenReturn(user))
+            // epoch 는 servlet 판처럼 캐시에서 (캐시를 덮어쓰면 로드 중 invalidate 된 옛 epoch 가 남을 수 있다)
+            .flatMap(user -> tokenEpochs.current(user.id()).flatMap(epoch -> {
+                if (epoch < 0) return Mono.error(new IllegalArgumentException("invalid_credentials"));
+                String access = tokenProvider.createAccessToken(user.id(), user.email(), user.role(), epoch);
+                IssuedToken refresh = tokenProvider.issueRefreshToken(user.id(), epoch);
+
+                return persistRefresh(user.id(), refresh).then(Mono.fromSupplier(() -> {
+                    setAccessHeader(response, access);
+                    setRefreshCookie(response, refresh);
+                    return ApiResponse.ok("login_ok",
+                        new AuthDtos.LoginResponse(user.id(), user.email(), user.role().name()));
+                }));
+            }));
+    }
+
+    public Mono<ApiResponse<Void>> refresh(ServerHttpResponse response, String refreshTokenFromCookie) {
+        return Mono.defer(() -> {
+            if (refreshTokenFromCookie == null || refreshTokenFromCookie.isBlank()) {
+                return Mono.error(new JwtException("missing_refresh_cookie"));
+            }
+
+            // JWT 는 서명 검증, opaque 는 selector 디코딩만 (진위는 아래 조건부 UPDATE 로 확인)
+            RefreshTokenClaims claims = tokenProvider.verifyRefreshToken(refreshTokenFromCookie);
+
+            Long userId = claims.userId();
+            byte[] digest = TokenHashing.sha256(refreshTokenFromCookie);
+            OffsetDateTime now = utcNow();
+            // 서명 없는 opaque selector 의 사용자/epoch 는 저장소에서 찾은 뒤에만 본다 (servlet 판과 같음)
+            Mono<Boolean> currentBeforeRevoke = claims.signed()
+                ? tokenEpochs.isCurrent(userId, claims.epoch())
+                : Mono.just(true);
+            return currentBeforeRevoke
+                .flatMap(current -> {
+                    // logout-all 이후의 refresh token 은 DB 조회 없이 거부
+                    if (!current) return Mono.error(new JwtException("refresh_revoked"));
+                    // Rotate refresh: 조건부 UPDATE(CAS) 한 번으로 검사+폐기 (동시 요청 중 하나만 성공)
+                    return refreshTokenRepository.revokeIfActive(digest, now);
+                })
+                .flatMap(revoked -> revoked == 1
+                    ? currentAfterRevoke(claims).flatMap(current -> current
+                        ? rotate(response, userId, claims.epoch())
+                        : Mono.error(new JwtException("refresh_revoked")))
+                    : rejectReason(digest, now).flatMap(reason -> Mono.error(new JwtException(reason))));
+        });
+    }
+
+    private Mono<Boolean> currentAfterRevoke(RefreshTokenClaims claims) {
+        return claims.signed() ? Mono.just(true) : tokenEpochs.isCurrent(claims.userId(), claims.epoch());
+    }
+
+    public Mono<ApiResponse<Void>> logout(
+        ServerHttpResponse response,
+        String refreshTokenFromCookie,
+        String authorizationHeader
+    ) {
+        Mono<Void> revokeRefresh = refreshTokenFromCookie != null && !refreshTokenFromCookie.isBlank()
+            ? revokeRefreshToken(refreshTokenFromCookie)
+            : Mono.empty();
+
+        return revokeRefresh.then(Mono.fromSupplier(() -> {
+            if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+                denyAccessToken(authorizationHeader.substring(7));
+            }
+            clearRefreshCookie(response);
+            return ApiResponse.ok("logout_ok");
+        }));
+    }
+
+    /**
+     * Invalidates every access and refresh token of the user: one epoch increment plus one bulk
+     * revoke of the refresh rows.
+     */
+    public Mono<ApiResponse<Void>> logoutAll(ServerHttpResponse response, Long userId) {
+        return userRepository.incrementTokenEpoch(userId)
+            .then(refreshTokenRepository.revokeAllForUser(userId, utcNow()))
+            .then(Mono.fromSupplier(() -> {
+                tokenEpochs.invalidate(userId);
+                clearRefreshCookie(response);
+                return ApiResponse.ok("logout_all_ok");
+            }));
+    }
+
+    private Mono<ApiResponse<Void>> rotate(ServerHttpResponse response, Long userId, long epoch) {
+        IssuedToken newRefresh = tokenProvider.issueRefreshToken(userId, epoch);
+        return persistRefresh(userId, newRefresh)
+            .then(userRepository.findById(userId))
+            .switchIfEmpty(Mono.error(() -> new JwtException("user_not_found")))
+            .map(user -> {
+                String newAccess = tokenProvider.createAccessToken(user.id(), user.email(), user.role(), epoch);
+                setAccessHeader(response, newAccess);
+                setRefreshCookie(response, newRefresh);
+                return ApiResponse.ok("refresh_ok");
+            });
+    }
+
+    private Mono<Void> revokeRefreshToken(String refreshToken) {
+        try {
+            tokenProvider.verifyRefreshToken(refreshToken);
+        } catch (JwtException e) {
+            // 위조되었거나 이미 만료된 토큰은 저장소에서도 활성 상태가 아니다
+            return Mono.empty();
+        }
+        return refreshTokenRepository.revokeIfActive(TokenHashing.sha256(refreshToken), utcNow()).then();
+    }
+
+    // 이미 만료됐거나 잘못된 access token 은 막을 필요가 없다
+    private void denyAccessToken(String accessToken) {
+        try {
+            TokenClaims claims = tokenProvider.verify(accessToken);
+            if (claims.type() == JwtTokenType.ACCESS) {
+                denylist.revoke(claims.jti(), claims.expiresAt() * 1000);
+            }
+        } catch (JwtException ignored) {
+        }
+    }
+
+    private Mono<Void> persistRefresh(Long userId, IssuedToken refresh) {
+        OffsetDateTime expiresAt = OffsetDateTime.ofInstant(refresh.expiresAt(), ZoneOffset.UTC);
+        return refreshTokenRepository.insert(TokenHashing.sha256(refresh.value()), userId, expiresAt, utcNow()).then();
+    }
+
+    // 실패한 경우에만 조회해서 원인을 구분한다
+    private Mono<String> rejectReason(byte[] digest, OffsetDateTime now) {
+        return refreshTokenRepository.findByTokenDigest(digest)
+            .map(rt -> rt.revokedAt() == null && !rt.expiresAt().isAfter(now) ? "refresh_expired" : "refresh_revoked")
+            .defaultIfEmpty("refresh_not_found");
+    }
+
+    private void setAccessHeader(ServerHttpResponse response, String accessToken) {
+        response.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+    }
+
+    private void setRefreshCookie(ServerHttpResponse response, IssuedToken refreshToken) {
+        SecurityProperties.Cookie c = securityProperties.cookie();
+        long maxAge = Math.max(0, refreshToken.expiresAt().getEpochSecond() - Instant.now().getEpochSecond());
+
+        response.addCookie(ResponseCookie.from(c.refreshName(), refreshToken.value())
+            .httpOnly(true)
+            .secure(c.secure())
+            .sameSite(c.sameSite())
+            .path(c.path())
+            .maxAge(maxAge)
+            .build());
+    }
+
+    private void clearRefreshCookie(ServerHttpResponse response) {
+        SecurityProperties.Cookie c = securityProperties.cookie();
+
+        response.addCookie(ResponseCookie.from(c.refreshName(), "")
+            .httpOnly(true)
+            .secure(c.secure())
+            .sameSite(c.sameSite())
+            .path(c.path())
+            .maxAge(0)
+            .build());
+    }
+
+    private static OffsetDateTime utcNow() {
+        return OffsetDateTime.now(ZoneOffset.UTC);
+    }
+}
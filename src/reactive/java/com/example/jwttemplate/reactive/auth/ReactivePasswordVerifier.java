@@ -0,0 +1,90 @@
+package com.example.jwttemplate.reactive.auth;
+
+import com.example.jwttemplate.auth.LoginUnavailableException;
+import com.example.jwttemplate.config.SecurityProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt on a bounded scheduler (CPU-sized, fixed queue) so it never blocks an event-loop
+ * thread. Same settings, metrics and failure modes as the servlet edition's {@code PasswordVerifier}:
+ * a full queue or a wait past the timeout fails the login with {@link LoginUnavailableException}.
+ */
+@Component
+public class ReactivePasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final Scheduler scheduler;
+    private final Duration timeout;
+
+    private final Timer waitTimer;
+    private final Timer matchTimer;
+    private final Counter rejectedBusy;
+    private final Counter rejectedTimeout;
+
+    public ReactivePasswordVerifier(
+        PasswordEncoder passwordEncoder,
+        SecurityProperties securityProperties,
+        MeterRegistry meterRegistry
+    ) {
+        SecurityProperties.Login conf = securityProperties.login();
+        int threads = conf.passwordThreads() > 0 ? conf.passwordThreads() : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = Duration.ofMillis(conf.passwordTimeoutMillis());
+        // boundedElastic 의 대기열 상한은 스레드(worker)별이므로 전체 용량을 스레드 수로 나눈다
+        this.scheduler = Schedulers.newBoundedElastic(
+            threads, Math.max(1, conf.passwordQueueCapacity() / threads), "password-verify", 60, true);
+
+        this.waitTimer = Timer.builder("auth.password.queue.wait")
+            .description("Time a login waits for a password verification thread")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.matchTimer = Timer.builder("auth.password.match")
+            .description("Time spent in PasswordEncoder.matches (BCrypt)")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.rejectedBusy = Counter.builder("auth.password.rejected").tag("reason", "busy").register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("auth.password.rejected").tag("reason", "timeout").register(meterRegistry);
+    }
+
+    public Mono<Boolean> matches(String rawPassword, String passwordHash) {
+        return Mono.defer(() -> {
+            long submittedAt = System.nanoTime();
+            return Mono.fromCallable(() -> {
+                    long startedAt = System.nanoTime();
+                    waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                    try {
+                        return passwordEncoder.matches(rawPassword, passwordHash);
+                    } finally {
+                        matchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                })
+                .subscribeOn(scheduler)
+                .timeout(timeout);
+        }).onErrorMap(RejectedExecutionException.class, e -> {
+            rejectedBusy.increment();
+            return new LoginUnavailableException("login_busy");
+        }).onErrorMap(TimeoutException.class, e -> {
+            rejectedTimeout.increment();
+            return new LoginUnavailableException("login_timeout");
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.jwttemplate.reactive.config;
+
+import com.example.jwttemplate.config.SecurityProperties;
+import com.example.jwttemplate.jwt.AccessTokenDenylist;
+import com.example.jwttemplate.jwt.JwtTokenProvider;
+import com.example.jwttemplate.jwt.VerifiedTokenCache;
+import com.example.jwttemplate.reactive.jwt.JwtAuthenticationWebFilter;
+import com.example.jwttemplate.reactive.user.ReactiveTokenEpochs;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    /** 인증 없이 열린 경로. JwtAuthenticationWebFilter 는 이 경로들에서 토큰을 검증하지 않는다. */
+    public static final String[] PUBLIC_PATHS = {
+        "/actuator/health", "/actuator/info"
+    };
+    public static final String PROMETHEUS_PATH = "/actuator/prometheus";
+    public static final String[] PUBLIC_POST_PATHS = {
+        "/api/auth/login", "/api/auth/refresh", "/api/auth/logout"
+    };
+
+    private final SecurityProperties securityProperties;
+
+    // management.server.port 로 따로 뜬 actuator 서버의 실제 포트 (없으면 -1)
+    private volatile int managementPort = -1;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+        ServerHttpSecurity http,
+        JwtTokenProvider tokenProvider,
+        VerifiedTokenCache verifiedTokenCache,
+        AccessTokenDenylist denylist,
+        ReactiveTokenEpochs tokenEpochs,
+        MeterRegistry meterRegistry
+    ) {
+        var jwtFilter = new JwtAuthenticationWebFilter(tokenProvider, verifiedTokenCache, denylist, tokenEpochs, meterRegistry);
+
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .cors(Customizer.withDefaults())
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .logout(ServerHttpSecurity.LogoutSpec::disable)
+            // stateless: 세션에 SecurityContext 를 저장/조회하지 않는다
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .requestCache(ServerHttpSecurity.RequestCacheSpec::disable)
+            // servlet 판과 같이 인증 없는 요청은 403
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+            .authorizeExchange(auth -> auth
+                .pathMatchers(PUBLIC_PATHS).permitAll()
+                // servlet 판과 같이 prometheus 는 management 포트에서만 인증 없이, 서비스 포트에서는 ADMIN 만
+                .matchers(onManagementPort(PROMETHEUS_PATH)).permitAll()
+                .pathMatchers(PROMETHEUS_PATH).hasRole("ADMIN")
+                .pathMatchers(HttpMethod.POST, PUBLIC_POST_PATHS).permitAll()
+                .anyExchange().authenticated()
+            )
+            .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+
+    @EventListener
+    void onWebServerInitialized(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
+    private ServerWebExchangeMatcher onManagementPort(String path) {
+        ServerWebExchangeMatcher pathMatcher = ServerWebExchangeMatchers.pathMatchers(path);
+        return exchange -> {
+            InetSocketAddress local = exchange.getRequest().getLocalAddress();
+            if (managementPort <= 0 || local == null || local.getPort() != managementPort) {
+                return ServerWebExchangeMatcher.MatchResult.notMatch();
+            }
+            return pathMatcher.matches(exchange);
+        };
+    }
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowCredentials(true);
+
+        // 콤마로 여러 개 입력 가능
+        List<String> origins = List.of(securityProperties.cors().allowedOrigins().split(","));
+        config.setAllowedOrigins(origins);
+
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With"));
+        config.setExposedHeaders(List.of("Authorization", "Set-Cookie"));
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", config);
+        return source;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.jwttemplate.reactive.jwt;
+
+import com.example.jwttemplate.jwt.AccessTokenDenylist;
+import com.example.jwttemplate.jwt.JwtAuthentication;
+import com.example.jwttemplate.jwt.JwtException;
+import com.example.jwttemplate.jwt.JwtPrincipal;
+import com.example.jwttemplate.jwt.JwtTokenProvider;
+import com.example.jwttemplate.jwt.JwtTokenType;
+import com.example.jwttemplate.jwt.TokenClaims;
+import com.example.jwttemplate.jwt.VerifiedAccess;
+import com.example.jwttemplate.jwt.VerifiedTokenCache;
+import com.example.jwttemplate.reactive.config.ReactiveSecurityConfig;
+import com.example.jwttemplate.reactive.user.ReactiveTokenEpochs;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bearer token authentication for the reactive edition, with the same checks as the servlet
+ * {@code JwtAuthenticationFilter}: verified-token cache, denylist, token epoch. Verification and
+ * the denylist are CPU-only and run inline; only an epoch cache miss goes to the database.
+ * <p>
+ * Not a bean on purpose: WebFlux would also add every {@link WebFilter} bean to the global chain,
+ * so {@link ReactiveSecurityConfig} creates it and places it in the security chain only.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    // permitAll 경로는 인증 결과를 쓰지 않으므로 토큰 검증 자체를 건너뛴다 (정확히 일치하는 경로만)
+    private static final Set<String> SKIP_PATHS = skipPaths();
+
+    private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AccessTokenDenylist denylist;
+    private final ReactiveTokenEpochs tokenEpochs;
+
+    private final Counter authenticated;
+    private final Counter notAccess;
+    private final Counter invalid;
+    private final Counter revoked;
+    private final Counter staleEpoch;
+
+    public JwtAuthenticationWebFilter(
+        JwtTokenProvider tokenProvider,
+        VerifiedTokenCache verifiedTokenCache,
+        AccessTokenDenylist denylist,
+        ReactiveTokenEpochs tokenEpochs,
+        MeterRegistry meterRegistry
+    ) {
+        this.tokenProvider = tokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.denylist = denylist;
+        this.tokenEpochs = tokenEpochs;
+        this.authenticated = result(meterRegistry, "authenticated");
+        this.notAccess = result(meterRegistry, "not_access_token");
+        this.invalid = result(meterRegistry, "invalid");
+        this.revoked = result(meterRegistry, "revoked");
+        this.staleEpoch = result(meterRegistry, "stale_epoch");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String auth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (auth == null || !auth.startsWith("Bearer ")
+            || SKIP_PATHS.contains(exchange.getRequest().getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+
+        VerifiedAccess access;
+        try {
+            access = verifiedTokenCache.getOrVerify(auth, 7, this::verifyAccess);
+        } catch (JwtException e) {
+            invalid.increment();
+            return chain.filter(exchange);
+        }
+
+        // 캐시 hit 이어도 폐기 여부는 매번 확인한다. 폐기된 토큰은 토큰이 없는 요청과 같이 처리
+        if (access == null) {
+            notAccess.increment();
+            return chain.filter(exchange);
+        }
+        if (denylist.isRevoked(access.jti())) {
+            revoked.increment();
+            return chain.filter(exchange);
+        }
+
+        JwtAuthentication authentication = access.authentication();
+        return tokenEpochs.isCurrent(access.principal().userId(), access.epoch())
+            .flatMap(current -> {
+                if (!current) {
+                    staleEpoch.increment();
+                    return chain.filter(exchange);
+                }
+                authenticated.increment();
+                return chain.filter(exchange)
+                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+            });
+    }
+
+    private VerifiedAccess verifyAccess(String token) {
+        TokenClaims claims = tokenProvider.verify(token);
+        if (claims.type() != JwtTokenType.ACCESS) return null;
+
+        var principal = new JwtPrincipal(claims.userId(), claims.email(), claims.role().name());
+        var authentication = new JwtAuthentication(principal, claims.role());
+
+        return new VerifiedAccess(authentication, claims.jti(), claims.epoch(), claims.expiresAt() * 1000);
+    }
+
+    private static Set<String> skipPaths() {
+        Set<String> paths = new HashSet<>(List.of(ReactiveSecurityConfig.PUBLIC_PATHS));
+        paths.addAll(List.of(ReactiveSecurityConfig.PUBLIC_POST_PATHS));
+        return Set.copyOf(paths);
+    }
+
+    private static Counter result(MeterRegistry registry, String result) {
+        return Counter.builder("jwt.filter.requests").tag("result", result).register(registry);
+    }
+}
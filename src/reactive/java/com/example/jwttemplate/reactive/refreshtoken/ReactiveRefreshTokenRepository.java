@@ -0,0 +1,36 @@
+package com.example.jwttemplate.reactive.refreshtoken;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+public interface ReactiveRefreshTokenRepository extends ReactiveCrudRepository<RefreshTokenRow, Long> {
+
+    @Modifying
+    @Query("insert into refresh_tokens (token_digest, user_id, expires_at, created_at) "
+        + "values (:digest, :userId, :expiresAt, :createdAt)")
+    Mono<Integer> insert(
+        @Param("digest") byte[] digest,
+        @Param("userId") Long userId,
+        @Param("expiresAt") OffsetDateTime expiresAt,
+        @Param("createdAt") OffsetDateTime createdAt
+    );
+
+    /**
+     * Revokes the token only if it is still active; emits 1 for exactly one of concurrent callers.
+     */
+    @Modifying
+    @Query("update refresh_tokens set revoked_at = :now "
+        + "where token_digest = :digest and revoked_at is null and expires_at > :now")
+    Mono<Integer> revokeIfActive(@Param("digest") byte[] digest, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("update refresh_tokens set revoked_at = :now where user_id = :userId and revoked_at is null")
+    Mono<Integer> revokeAllForUser(@Param("userId") Long userId, @Param("now") OffsetDateTime now);
+
+    Mono<RefreshTokenRow> findByTokenDigest(byte[] tokenDigest);
+}
@@ -0,0 +1,20 @@
+package com.example.jwttemplate.reactive.refreshtoken;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Row of {@code refresh_tokens}. Only the binary digest column is used
+ * (the servlet edition's {@code refresh-token.hash-storage=binary}).
+ */
+@Table("refresh_tokens")
+public record RefreshTokenRow(
+    @Id Long id,
+    byte[] tokenDigest,
+    Long userId,
+    OffsetDateTime expiresAt,
+    OffsetDateTime revokedAt,
+    OffsetDateTime createdAt
+) {}
@@ -0,0 +1,87 @@
+package com.example.jwttemplate.reactive.user;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.global.BoundedExpiringCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking counterpart of {@code TokenEpochs}: the same cache and TTL, with the database
+ * read on a miss done through R2DBC. A cache hit completes without a subscription to the database.
+ * Loads use the same invalidation guard, so a read that started before a bump never re-caches the
+ * old epoch.
+ */
+@Component
+public class ReactiveTokenEpochs {
+
+    private static final long UNKNOWN_USER = -1;
+    private static final Mono<Boolean> CURRENT = Mono.just(true);
+    private static final Mono<Boolean> STALE = Mono.just(false);
+
+    private final BoundedExpiringCache<Long, Long> cache;
+    private final long ttlMillis;
+    private final ReactiveUserRepository userRepository;
+    // invalidate() 마다 증가. 로드 중에 바뀌었으면 읽은 값이 bump 이전 것일 수 있으므로 캐시에 남기지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ReactiveTokenEpochs(JwtProperties props, ReactiveUserRepository userRepository, MeterRegistry meterRegistry) {
+        JwtProperties.EpochCache conf = props.epochCache();
+        this.cache = new BoundedExpiringCache<>(conf.maxSize());
+        this.ttlMillis = conf.ttl().toMillis();
+        this.userRepository = userRepository;
+
+        FunctionCounter.builder("jwt.epoch_cache.requests", cache, BoundedExpiringCache::hitCount)
+            .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("jwt.epoch_cache.requests", cache, BoundedExpiringCache::missCount)
+            .tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Emits true if a token issued under {@code epoch} is still valid for the user.
+     * Unknown (e.g. deleted) users have no valid tokens.
+     */
+    public Mono<Boolean> isCurrent(Long userId, long epoch) {
+        Long cached = cache.get(userId);
+        if (cached != null) return cached != UNKNOWN_USER && epoch >= cached ? CURRENT : STALE;
+
+        return load(userId).map(current -> current != UNKNOWN_USER && epoch >= current);
+    }
+
+    /**
+     * The epoch to issue a new token family (login) under, from the cache when present; see
+     * {@code TokenEpochs#current}. Emits -1 for an unknown user.
+     */
+    public Mono<Long> current(Long userId) {
+        Long cached = cache.get(userId);
+        return cached != null ? Mono.just(cached) : load(userId);
+    }
+
+    /**
+     * Forgets the cached epoch after it was bumped, so this node sees the new one immediately.
+     */
+    public void invalidate(Long userId) {
+        // 순서 중요: load() 는 put 뒤에 카운터를 보므로, 먼저 올리고 지우면 bump 전에 읽은 값이 남지 않는다
+        invalidations.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Reads the epoch and caches it unless an invalidation ran meanwhile. The counter is read on
+     * subscription, before the query is sent, as {@code TokenEpochs} does before calling its loader.
+     */
+    private Mono<Long> load(Long userId) {
+        return Mono.defer(() -> {
+            long seen = invalidations.get();
+            return userRepository.findTokenEpoch(userId)
+                .defaultIfEmpty(UNKNOWN_USER)
+                .doOnNext(current -> {
+                    cache.put(userId, current, System.currentTimeMillis() + ttlMillis);
+                    if (invalidations.get() != seen) cache.invalidate(userId);
+                });
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.jwttemplate.reactive.user;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRow, Long> {
+
+    Mono<UserRow> findByEmail(String email);
+
+    // r2dbc-h2 는 String 을 CLOB 으로 bind 하는데 H2 는 CLOB -> ENUM 변환을 하지 않는다 (role 은 varchar 로 cast)
+    @Modifying
+    @Query("insert into users (email, password_hash, role, created_at) "
+        + "values (:email, :passwordHash, cast(:role as varchar(20)), :createdAt)")
+    Mono<Integer> insert(
+        @Param("email") String email,
+        @Param("passwordHash") String passwordHash,
+        @Param("role") String role,
+        @Param("createdAt") OffsetDateTime createdAt
+    );
+
+    @Query("select token_epoch from users where id = :id")
+    Mono<Long> findTokenEpoch(@Param("id") Long id);
+
+    @Modifying
+    @Query("update users set token_epoch = token_epoch + 1 where id = :id")
+    Mono<Integer> incrementTokenEpoch(@Param("id") Long id);
+}
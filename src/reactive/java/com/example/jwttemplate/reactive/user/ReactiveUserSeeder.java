@@ -0,0 +1,67 @@
+package com.example.jwttemplate.reactive.user;
+
+import com.example.jwttemplate.config.SeedProperties;
+import com.example.jwttemplate.user.UserRole;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Same demo accounts and {@code seed.mode} as the servlet edition's {@code UserSeeder}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveUserSeeder implements CommandLineRunner {
+
+    private static final String PASSWORD = "password1234";
+    private static final List<Seed> SEEDS = List.of(
+        new Seed("user@example.com", UserRole.USER),
+        new Seed("admin@example.com", UserRole.ADMIN)
+    );
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final SeedProperties seedProperties;
+
+    @Override
+    public void run(String... args) {
+        switch (seedProperties.mode()) {
+            case STARTUP -> seed().block();
+            case DEFERRED -> seed().subscribe(null, e -> log.warn("User seeding failed", e));
+            case OFF -> { }
+        }
+    }
+
+    private Mono<Void> seed() {
+        // 시드 계정은 비밀번호가 같으므로 encode 는 (필요할 때) 한 번만, event loop 밖에서
+        Mono<String> hash = Mono.fromCallable(() -> passwordEncoder.encode(PASSWORD))
+            .subscribeOn(Schedulers.boundedElastic())
+            .cache();
+        return Flux.fromIterable(seeds())
+            .concatMap(seed -> userRepository.findByEmail(seed.email()).hasElement()
+                .flatMap(exists -> exists ? Mono.empty() : hash.flatMap(h -> userRepository.insert(
+                    seed.email(), h, seed.role().name(), OffsetDateTime.now(ZoneOffset.UTC)))))
+            .then();
+    }
+
+    private List<Seed> seeds() {
+        List<Seed> seeds = new ArrayList<>(SEEDS);
+        for (int i = 0; i < seedProperties.loadUsers(); i++) {
+            seeds.add(new Seed(SeedProperties.loadUserEmail(i), UserRole.USER));
+        }
+        return seeds;
+    }
+
+    private record Seed(String email, UserRole role) {}
+}
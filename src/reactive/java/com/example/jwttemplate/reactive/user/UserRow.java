@@ -0,0 +1,20 @@
+package com.example.jwttemplate.reactive.user;
+
+import com.example.jwttemplate.user.UserRole;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Row of {@code users}, the table the servlet edition maps with {@code User}.
+ */
+@Table("users")
+public record UserRow(
+    @Id Long id,
+    String email,
+    String passwordHash,
+    UserRole role,
+    OffsetDateTime createdAt,
+    long tokenEpoch
+) {}
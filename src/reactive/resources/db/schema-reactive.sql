@@ -0,0 +1,26 @@
+-- reactive 판 스키마 (users, refresh_tokens). servlet 판의 db/schema-h2.sql 과 같은 정의라 같은 DB 를 같이 쓸 수 있다
+create table if not exists refresh_tokens (
+    created_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    id bigint generated by default as identity,
+    revoked_at timestamp(6) with time zone,
+    user_id bigint not null,
+    token_digest binary(32),
+    token_hash varchar(64),
+    primary key (id)
+);
+
+create table if not exists users (
+    created_at timestamp(6) with time zone not null,
+    id bigint generated by default as identity,
+    token_epoch bigint default 0 not null,
+    email varchar(120) not null unique,
+    password_hash varchar(200) not null,
+    role enum ('ADMIN','USER') not null,
+    primary key (id)
+);
+
+create unique index if not exists idx_refresh_token_digest on refresh_tokens (token_digest);
+create index if not exists idx_refresh_token_user on refresh_tokens (user_id);
+create index if not exists idx_refresh_token_expires on refresh_tokens (expires_at);
+create index if not exists idx_refresh_token_revoked on refresh_tokens (revoked_at);
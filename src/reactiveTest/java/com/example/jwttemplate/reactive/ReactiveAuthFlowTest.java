@@ -0,0 +1,221 @@
+package com.example.jwttemplate.reactive;
+
+import com.example.jwttemplate.reactive.refreshtoken.ReactiveRefreshTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AuthFlowTest 의 시나리오를 reactive 판에 그대로 옮긴 것 (실제 Netty 서버 + WebTestClient).
+ * 같은 계정으로 여러 번 로그인하므로 시도 제한은 끈다 (ReactiveLoginRateLimitTest 에서 따로 확인).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "security.rate-limit.enabled=false")
+class ReactiveAuthFlowTest {
+
+    private static final String LOGIN_BODY = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+
+    @Autowired
+    WebTestClient client;
+    @Autowired
+    ReactiveRefreshTokenRepository refreshTokenRepository;
+
+    @Test
+    @DisplayName("로그인 성공 시: Authorization 헤더(access) + Set-Cookie(refresh)가 내려온다")
+    void login_sets_refresh_cookie_and_access_header() {
+        //when & then
+        EntityExchangeResult<byte[]> result = login(LOGIN_BODY);
+
+        assertThat(result.getResponseHeaders().getFirst(HttpHeaders.AUTHORIZATION)).startsWith("Bearer ");
+        assertThat(result.getResponseHeaders().getFirst(HttpHeaders.SET_COOKIE)).contains("refresh_token=");
+        assertThat(refreshTokenRepository.count().block()).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("인증 없이 보호 API 호출하면: 접근이 거부된다(기본 설정 기준 403)")
+    void protected_endpoint_requires_access_token() {
+        //when & then
+        client.get().uri("/api/me").exchange()
+            .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("Access Token이 있으면: 보호 API(/api/me)에 접근할 수 있다")
+    void access_token_allows_protected_endpoint() {
+        //given
+        String access = accessToken(login(LOGIN_BODY));
+
+        //when & then
+        client.get().uri("/api/me").header(HttpHeaders.AUTHORIZATION, access).exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.message").isEqualTo("me_ok")
+            .jsonPath("$.data.email").isEqualTo("user@example.com");
+    }
+
+    @Test
+    @DisplayName("ADMIN 으로 로그인한 토큰이면: ROLE_ADMIN 권한으로 /api/admin/ping 에 접근할 수 있다")
+    void admin_token_carries_admin_role() {
+        //given
+        String admin = accessToken(login("{\"email\":\"admin@example.com\",\"password\":\"password1234\"}"));
+        String user = accessToken(login(LOGIN_BODY));
+
+        //when & then
+        client.get().uri("/api/admin/ping").header(HttpHeaders.AUTHORIZATION, admin).exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$.data").isEqualTo("pong");
+        client.get().uri("/api/admin/ping").header(HttpHeaders.AUTHORIZATION, user).exchange()
+            .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("Refresh Token으로 재발급하면: 새 Access/Refresh가 발급되고 Refresh는 로테이션된다")
+    void refresh_rotates_tokens() {
+        //given
+        String refreshCookie = refreshCookie(login(LOGIN_BODY));
+
+        //when
+        EntityExchangeResult<byte[]> refreshed = client.post().uri("/api/auth/refresh")
+            .cookie("refresh_token", refreshCookie)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists(HttpHeaders.AUTHORIZATION)
+            .expectBody().returnResult();
+
+        //then
+        assertThat(refreshCookie(refreshed)).isNotEqualTo(refreshCookie);
+    }
+
+    @Test
+    @DisplayName("같은 Refresh Token으로 동시에 재발급하면: 하나만 성공하고 나머지는 refresh_revoked")
+    void concurrent_refresh_with_same_cookie_succeeds_once() throws Exception {
+        //given
+        String refreshCookie = refreshCookie(login(LOGIN_BODY));
+
+        //when
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return client.post().uri("/api/auth/refresh").cookie("refresh_token", refreshCookie)
+                    .exchange().returnResult(Void.class).getStatus().value();
+            }));
+        }
+        start.countDown();
+
+        List<Integer> statuses = new ArrayList<>();
+        for (Future<Integer> f : results) statuses.add(f.get(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        //then
+        assertThat(statuses).filteredOn(s -> s == 200).hasSize(1);
+        assertThat(statuses).filteredOn(s -> s == 401).hasSize(threads - 1);
+
+        client.post().uri("/api/auth/refresh").cookie("refresh_token", refreshCookie).exchange()
+            .expectStatus().isUnauthorized()
+            .expectBody().jsonPath("$.message").isEqualTo("refresh_revoked");
+    }
+
+    @Test
+    @DisplayName("로그아웃하면: refresh 쿠키가 삭제(Max-Age=0)된다")
+    void logout_clears_cookie() {
+        //given
+        String refreshCookie = refreshCookie(login(LOGIN_BODY));
+
+        //when & then
+        client.post().uri("/api/auth/logout").cookie("refresh_token", refreshCookie).exchange()
+            .expectStatus().isOk()
+            .expectHeader().value(HttpHeaders.SET_COOKIE, v -> assertThat(v).contains("Max-Age=0"));
+
+        client.post().uri("/api/auth/refresh").cookie("refresh_token", refreshCookie).exchange()
+            .expectStatus().isUnauthorized()
+            .expectBody().jsonPath("$.message").isEqualTo("refresh_revoked");
+    }
+
+    @Test
+    @DisplayName("로그아웃하면: 같이 보낸 access token도 만료 전이라도 더 이상 인증되지 않는다")
+    void logout_revokes_access_token() {
+        //given
+        EntityExchangeResult<byte[]> login = login(LOGIN_BODY);
+        String access = accessToken(login);
+        client.get().uri("/api/me").header(HttpHeaders.AUTHORIZATION, access).exchange()
+            .expectStatus().isOk();
+
+        //when
+        client.post().uri("/api/auth/logout")
+            .cookie("refresh_token", refreshCookie(login))
+            .header(HttpHeaders.AUTHORIZATION, access)
+            .exchange()
+            .expectStatus().isOk();
+
+        //then
+        client.get().uri("/api/me").header(HttpHeaders.AUTHORIZATION, access).exchange()
+            .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("logout-all 하면: 그 사용자의 모든 access/refresh token이 무효가 되고 새로 로그인은 된다")
+    void logout_all_revokes_every_session() {
+        //given: 두 세션
+        String firstAccess = accessToken(login(LOGIN_BODY));
+        EntityExchangeResult<byte[]> second = login(LOGIN_BODY);
+        String secondAccess = accessToken(second);
+        String secondRefresh = refreshCookie(second);
+
+        //when
+        client.post().uri("/api/auth/logout-all").header(HttpHeaders.AUTHORIZATION, firstAccess).exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$.message").isEqualTo("logout_all_ok");
+
+        //then
+        client.get().uri("/api/me").header(HttpHeaders.AUTHORIZATION, firstAccess).exchange()
+            .expectStatus().isForbidden();
+        client.get().uri("/api/me").header(HttpHeaders.AUTHORIZATION, secondAccess).exchange()
+            .expectStatus().isForbidden();
+        client.post().uri("/api/auth/refresh").cookie("refresh_token", secondRefresh).exchange()
+            .expectStatus().isUnauthorized()
+            .expectBody().jsonPath("$.message").isEqualTo("refresh_revoked");
+
+        String again = accessToken(login(LOGIN_BODY));
+        client.get().uri("/api/me").header(HttpHeaders.AUTHORIZATION, again).exchange()
+            .expectStatus().isOk();
+    }
+
+    private EntityExchangeResult<byte[]> login(String body) {
+        return client.post().uri("/api/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().returnResult();
+    }
+
+    private static String accessToken(EntityExchangeResult<byte[]> login) {
+        return login.getResponseHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+    }
+
+    private static String refreshCookie(EntityExchangeResult<byte[]> result) {
+        ResponseCookie cookie = result.getResponseCookies().getFirst("refresh_token");
+        assertThat(cookie).isNotNull();
+        return cookie.getValue();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.jwttemplate.reactive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "security.rate-limit.per-ip.capacity=5",
+    "security.rate-limit.per-ip.refill-every=1h",
+    "security.rate-limit.per-email.capacity=2",
+    "security.rate-limit.per-email.refill-every=1h"
+})
+class ReactiveLoginRateLimitTest {
+
+    @Autowired
+    WebTestClient client;
+
+    @Test
+    @DisplayName("계정당 시도를 넘기면 429, 같은 IP 에서 시도를 넘기면 다른 계정이어도 429 (Retry-After 포함)")
+    void login_attempts_are_limited_per_email_and_per_ip() {
+        //when & then: 계정당 2회
+        login("a@example.com").expectStatus().isBadRequest();
+        login("a@example.com").expectStatus().isBadRequest();
+        login("a@example.com").expectStatus().isEqualTo(429)
+            .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+            .expectBody().jsonPath("$.message").isEqualTo("too_many_login_attempts");
+
+        //when & then: IP 당 5회 (위의 3회 포함)
+        login("b@example.com").expectStatus().isBadRequest();
+        login("c@example.com").expectStatus().isBadRequest();
+        login("d@example.com").expectStatus().isEqualTo(429)
+            .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+            .expectBody().jsonPath("$.message").isEqualTo("too_many_login_attempts");
+    }
+
+    private WebTestClient.ResponseSpec login(String email) {
+        return client.post().uri("/api/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}")
+            .exchange();
+    }
+}
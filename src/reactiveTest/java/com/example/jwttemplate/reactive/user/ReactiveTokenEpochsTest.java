@@ -0,0 +1,43 @@
+package com.example.jwttemplate.reactive.user;
+
+import com.example.jwttemplate.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveTokenEpochsTest {
+
+    @Test
+    @DisplayName("bump 전에 시작한 R2DBC 조회가 invalidate 뒤에 끝나도: 옛 epoch 를 캐시에 남기지 않는다")
+    void load_racing_with_invalidate_does_not_recache_old_epoch() {
+        //given: 첫 조회는 epoch 0 을 돌려주기 전에 멈춰 있다
+        ReactiveUserRepository userRepository = mock(ReactiveUserRepository.class);
+        Sinks.One<Long> slowRead = Sinks.one();
+        when(userRepository.findTokenEpoch(1L)).thenReturn(slowRead.asMono(), Mono.just(1L));
+        JwtProperties props = mock(JwtProperties.class);
+        when(props.epochCache()).thenReturn(new JwtProperties.EpochCache(100, Duration.ofMinutes(1)));
+        ReactiveTokenEpochs epochs = new ReactiveTokenEpochs(props, userRepository, new SimpleMeterRegistry());
+        Mono<Boolean> racing = epochs.isCurrent(1L, 0).cache();
+        racing.subscribe();
+
+        //when: logout-all 이 epoch 를 올리고 캐시를 지운 뒤에 조회가 끝난다
+        epochs.invalidate(1L);
+        slowRead.tryEmitValue(0L);
+
+        //then: 진행 중이던 요청은 옛 값을 보지만, 다음 조회는 DB 에서 새 epoch 를 읽는다
+        assertThat(racing.block(Duration.ofSeconds(5))).isTrue();
+        assertThat(epochs.isCurrent(1L, 0).block(Duration.ofSeconds(5))).isFalse();
+        assertThat(epochs.current(1L).block(Duration.ofSeconds(5))).isEqualTo(1L);
+        verify(userRepository, times(2)).findTokenEpoch(1L);
+    }
+}
@@ -11,6 +11,14 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -73,6 +81,20 @@ class AuthFlowTest {
             .andExpect(jsonPath("$.data.email").value("user@example.com"));
     }
 
+    @Test
+    @DisplayName("ADMIN 으로 로그인한 토큰이면: ROLE_ADMIN 권한으로 /api/admin/ping 에 접근할 수 있다")
+    void admin_token_carries_admin_role() throws Exception {
+        //given
+        String admin = mvc.perform(post("/api/auth/login").contentType("application/json")
+                .content("{\"email\":\"admin@example.com\",\"password\":\"password1234\"}"))
+            .andReturn().getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+
+        //when & then
+        mvc.perform(get("/api/admin/ping").header(HttpHeaders.AUTHORIZATION, admin))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data").value("pong"));
+    }
+
     @Test
     @DisplayName("Refresh Token으로 재발급하면: 새 Access/Refresh가 발급되고 Refresh는 로테이션된다")
     void refresh_rotates_tokens() throws Exception {
@@ -101,6 +123,45 @@ class AuthFlowTest {
         assertThat(newSetCookie).contains("refresh_token=");
     }
 
+    @Test
+    @DisplayName("같은 Refresh Token으로 동시에 재발급하면: 하나만 성공하고 나머지는 refresh_revoked")
+    void concurrent_refresh_with_same_cookie_succeeds_once() throws Exception {
+        //given
+        String loginBody = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+        MvcResult login = mvc.perform(post("/api/auth/login")
+                .contentType("application/json")
+                .content(loginBody))
+            .andExpect(status().isOk())
+            .andReturn();
+        Cookie refreshCookie = login.getResponse().getCookie("refresh_token");
+
+        //when
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return mvc.perform(post("/api/auth/refresh").cookie(refreshCookie))
+                    .andReturn().getResponse().getStatus();
+            }));
+        }
+        start.countDown();
+
+        List<Integer> statuses = new ArrayList<>();
+        for (Future<Integer> f : results) statuses.add(f.get(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        //then
+        assertThat(statuses).filteredOn(s -> s == 200).hasSize(1);
+        assertThat(statuses).filteredOn(s -> s == 401).hasSize(threads - 1);
+
+        mvc.perform(post("/api/auth/refresh").cookie(refreshCookie))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.message").value("refresh_revoked"));
+    }
+
     @Test
     @DisplayName("로그아웃하면: refresh 쿠키가 삭제(Max-Age=0)된다")
     void logout_clears_cookie() throws Exception {
@@ -121,4 +182,66 @@ class AuthFlowTest {
             .andExpect(header().string(HttpHeaders.SET_COOKIE,
                 org.hamcrest.Matchers.containsString("Max-Age=0")));
     }
+
+    @Test
+    @DisplayName("로그아웃하면: 같이 보낸 access token도 만료 전이라도 더 이상 인증되지 않는다")
+    void logout_revokes_access_token() throws Exception {
+        //given
+        String loginBody = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+        MvcResult login = mvc.perform(post("/api/auth/login")
+                .contentType("application/json")
+                .content(loginBody))
+            .andExpect(status().isOk())
+            .andReturn();
+        String access = login.getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+        Cookie refreshCookie = login.getResponse().getCookie("refresh_token");
+        mvc.perform(get("/api/me").header(HttpHeaders.AUTHORIZATION, access))
+            .andExpect(status().isOk());
+
+        //when
+        mvc.perform(post("/api/auth/logout")
+                .cookie(refreshCookie)
+                .header(HttpHeaders.AUTHORIZATION, access))
+            .andExpect(status().isOk());
+
+        //then
+        mvc.perform(get("/api/me").header(HttpHeaders.AUTHORIZATION, access))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("logout-all 하면: 그 사용자의 모든 access/refresh token이 무효가 되고 새로 로그인은 된다")
+    void logout_all_revokes_every_session() throws Exception {
+        //given: 두 세션
+        String loginBody = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+        MvcResult first = mvc.perform(post("/api/auth/login").contentType("application/json").content(loginBody))
+            .andExpect(status().isOk())
+            .andReturn();
+        MvcResult second = mvc.perform(post("/api/auth/login").contentType("application/json").content(loginBody))
+            .andExpect(status().isOk())
+            .andReturn();
+        String firstAccess = first.getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+        String secondAccess = second.getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+        Cookie secondRefresh = second.getResponse().getCookie("refresh_token");
+
+        //when
+        mvc.perform(post("/api/auth/logout-all").header(HttpHeaders.AUTHORIZATION, firstAccess))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.message").value("logout_all_ok"));
+
+        //then
+        mvc.perform(get("/api/me").header(HttpHeaders.AUTHORIZATION, firstAccess))
+            .andExpect(status().isForbidden());
+        mvc.perform(get("/api/me").header(HttpHeaders.AUTHORIZATION, secondAccess))
+            .andExpect(status().isForbidden());
+        mvc.perform(post("/api/auth/refresh").cookie(secondRefresh))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.message").value("refresh_revoked"));
+
+        MvcResult again = mvc.perform(post("/api/auth/login").contentType("application/json").content(loginBody))
+            .andExpect(status().isOk())
+            .andReturn();
+        mvc.perform(get("/api/me").header(HttpHeaders.AUTHORIZATION, again.getResponse().getHeader(HttpHeaders.AUTHORIZATION)))
+            .andExpect(status().isOk());
+    }
 }
@@ -0,0 +1,49 @@
+package com.example.jwttemplate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    // 다른 테스트가 ddl-auto 로 만든 테이블과 섞이지 않도록 별도 DB 에서 schema-h2.sql 만으로 기동
+    "spring.datasource.url=jdbc:h2:mem:fast_startup;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("fast-startup")
+@AutoConfigureMockMvc
+class FastStartupTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    @DisplayName("fast-startup 프로필: schema-h2.sql 이 엔티티와 일치하고, readiness 가 UP 이 되면 지연 시드가 끝나 로그인 성공")
+    void schema_matches_entities_and_readiness_waits_for_deferred_seed() throws Exception {
+        //given
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        int readiness;
+
+        //when: 시드 완료 전까지 readiness 는 503 (OUT_OF_SERVICE)
+        do {
+            readiness = mvc.perform(get("/actuator/health/readiness")).andReturn().getResponse().getStatus();
+            if (readiness != 200) Thread.sleep(50);
+        } while (readiness != 200 && System.nanoTime() < deadline);
+
+        //then
+        assertThat(readiness).isEqualTo(200);
+        mvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"user@example.com\",\"password\":\"password1234\"}"))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.jwttemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "security.login.password-threads=1",
+    "security.login.password-queue-capacity=1"
+})
+@AutoConfigureMockMvc
+class LoginBackpressureTest {
+
+    static final String LOGIN_BODY = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @SpyBean
+    PasswordEncoder passwordEncoder;
+
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("검증 스레드와 큐가 모두 차 있으면: 로그인은 기다리지 않고 503 login_busy + Retry-After")
+    void saturated_pool_returns_503() throws Exception {
+        //given: 검증 스레드 1개가 막혀 있고 큐 1칸도 차 있다
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return inv.callRealMethod();
+        }).when(passwordEncoder).matches(any(), anyString());
+        CompletableFuture<Integer> running = CompletableFuture.supplyAsync(this::loginStatus);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> queued = CompletableFuture.supplyAsync(this::loginStatus);
+        while (meterRegistry.get("auth.password.queue.size").gauge().value() < 1) Thread.sleep(5);
+
+        //when & then
+        mvc.perform(post("/api/auth/login").contentType("application/json").content(LOGIN_BODY))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+            .andExpect(jsonPath("$.message").value("login_busy"));
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+    }
+
+    private int loginStatus() {
+        try {
+            return mvc.perform(post("/api/auth/login").contentType("application/json").content(LOGIN_BODY))
+                .andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
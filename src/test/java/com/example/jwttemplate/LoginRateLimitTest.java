@@ -0,0 +1,85 @@
+package com.example.jwttemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "security.rate-limit.per-ip.capacity=3",
+    "security.rate-limit.per-ip.refill-every=1h",
+    "security.rate-limit.per-email.capacity=2",
+    "security.rate-limit.per-email.refill-every=1h"
+})
+@AutoConfigureMockMvc
+class LoginRateLimitTest {
+
+    static final String WRONG_PASSWORD = "{\"email\":\"%s\",\"password\":\"wrong-password\"}";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("같은 IP 에서 허용 횟수를 넘기면: 비밀번호 검증 없이 429 + Retry-After")
+    void per_ip_limit_rejects_before_password_hashing() throws Exception {
+        //given
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(login("nobody" + i + "@example.com").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isBadRequest());
+        }
+        long matches = passwordMatches();
+
+        //when & then
+        mvc.perform(login("user@example.com").with(remoteAddr("10.0.0.1")))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+            .andExpect(jsonPath("$.message").value("too_many_login_attempts"));
+        mvc.perform(login("user@example.com").with(remoteAddr("10.0.0.2")))
+            .andExpect(status().isBadRequest());
+        assertThat(passwordMatches()).isEqualTo(matches + 1);
+    }
+
+    @Test
+    @DisplayName("한 계정에 여러 IP 로 시도해도 계정당 허용 횟수를 넘기면 429")
+    void per_email_limit_applies_across_ips() throws Exception {
+        //given
+        mvc.perform(login("admin@example.com").with(remoteAddr("10.1.0.1"))).andExpect(status().isBadRequest());
+        mvc.perform(login("ADMIN@example.com").with(remoteAddr("10.1.0.2"))).andExpect(status().isBadRequest());
+        long matches = passwordMatches();
+
+        //when & then
+        mvc.perform(login("admin@example.com").with(remoteAddr("10.1.0.3")))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        assertThat(passwordMatches()).isEqualTo(matches);
+        assertThat(meterRegistry.get("auth.rate_limit.rejected").tag("key", "email").counter().count())
+            .isGreaterThanOrEqualTo(1);
+    }
+
+    private static MockHttpServletRequestBuilder login(String email) {
+        return post("/api/auth/login").contentType("application/json").content(WRONG_PASSWORD.formatted(email));
+    }
+
+    private static RequestPostProcessor remoteAddr(String ip) {
+        return request -> {
+            request.setRemoteAddr(ip);
+            return request;
+        };
+    }
+
+    private long passwordMatches() {
+        return meterRegistry.get("auth.password.match").timer().count();
+    }
+}
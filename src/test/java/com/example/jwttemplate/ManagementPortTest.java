@@ -0,0 +1,45 @@
+package com.example.jwttemplate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability
+class ManagementPortTest {
+
+    @LocalServerPort
+    int serverPort;
+    @LocalManagementPort
+    int managementPort;
+
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("management.server.port 를 두면: 그 포트의 /actuator/prometheus 는 인증 없이 스크레이프되고 서비스 포트에서는 막힌다")
+    void prometheus_is_open_only_on_management_port() throws Exception {
+        //when
+        HttpResponse<String> management = get(managementPort, "/actuator/prometheus");
+        HttpResponse<String> service = get(serverPort, "/actuator/prometheus");
+
+        //then
+        assertThat(management.statusCode()).isEqualTo(200);
+        assertThat(management.body()).contains("auth_operation_seconds");
+        assertThat(service.statusCode()).isIn(403, 404);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+}
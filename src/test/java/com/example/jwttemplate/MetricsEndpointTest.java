@@ -0,0 +1,69 @@
+package com.example.jwttemplate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    @DisplayName("로그인/재발급 후 /actuator/prometheus 에 단계별 타이머와 결과 코드별 카운터가 노출된다")
+    void prometheus_exposes_auth_pipeline_meters() throws Exception {
+        //given
+        String loginBody = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+        mvc.perform(post("/api/auth/login").contentType("application/json").content(loginBody))
+            .andExpect(status().isOk());
+        mvc.perform(post("/api/auth/refresh"))
+            .andExpect(status().isUnauthorized());
+
+        //when
+        String body = mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, adminToken()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        //then
+        assertThat(body)
+            .contains("auth_operation_seconds_bucket{op=\"login\"")
+            .contains("auth_operation_results_total{op=\"login\",outcome=\"ok\"}")
+            .contains("auth_operation_results_total{op=\"refresh\",outcome=\"missing_refresh_cookie\"}")
+            .contains("auth_password_match_seconds_bucket")
+            .contains("jwt_sign_seconds_bucket{type=\"access\"")
+            .contains("auth_refresh_hash_seconds_bucket")
+            .contains("spring_data_repository_invocations_seconds_bucket");
+    }
+
+    @Test
+    @DisplayName("서비스 포트의 /actuator/prometheus 는 익명/USER 에게 막혀 있다")
+    void prometheus_requires_admin_on_service_port() throws Exception {
+        //given
+        String user = mvc.perform(post("/api/auth/login").contentType("application/json")
+                .content("{\"email\":\"user@example.com\",\"password\":\"password1234\"}"))
+            .andReturn().getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+
+        //when & then
+        mvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, user)).andExpect(status().isForbidden());
+    }
+
+    private String adminToken() throws Exception {
+        return mvc.perform(post("/api/auth/login").contentType("application/json")
+                .content("{\"email\":\"admin@example.com\",\"password\":\"password1234\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+    }
+}
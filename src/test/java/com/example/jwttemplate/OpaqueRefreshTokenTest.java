@@ -0,0 +1,137 @@
+package com.example.jwttemplate;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.TestJwtProperties;
+import com.example.jwttemplate.jwt.IssuedToken;
+import com.example.jwttemplate.jwt.JwtKeyRing;
+import com.example.jwttemplate.jwt.JwtTokenProvider;
+import com.example.jwttemplate.refreshtoken.RefreshTokenStore;
+import com.example.jwttemplate.refreshtoken.TokenHashing;
+import com.example.jwttemplate.user.User;
+import com.example.jwttemplate.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "jwt.refresh-token.format=opaque")
+@AutoConfigureMockMvc
+class OpaqueRefreshTokenTest {
+
+    static final String LOGIN_BODY = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    JwtProperties jwtProperties;
+    @Autowired
+    JwtKeyRing keyRing;
+    @Autowired
+    RefreshTokenStore refreshTokenStore;
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    @DisplayName("opaque 포맷이면: 72자 refresh 쿠키로 재발급되고, 재발급에 쓴 쿠키를 다시 쓰면 refresh_revoked")
+    void opaque_refresh_token_rotates() throws Exception {
+        //given
+        Cookie refreshCookie = login().getResponse().getCookie("refresh_token");
+        assertThat(refreshCookie.getValue()).hasSize(72).doesNotStartWith("eyJ");
+
+        //when
+        MvcResult refreshed = mvc.perform(post("/api/auth/refresh").cookie(refreshCookie))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.AUTHORIZATION))
+            .andReturn();
+
+        //then
+        Cookie next = refreshed.getResponse().getCookie("refresh_token");
+        assertThat(next.getValue()).hasSize(72).isNotEqualTo(refreshCookie.getValue());
+        mvc.perform(post("/api/auth/refresh").cookie(refreshCookie))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.message").value("refresh_revoked"));
+        mvc.perform(post("/api/auth/refresh").cookie(next))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("opaque 로 바꾼 뒤에도: 기존 JWT refresh 쿠키는 받아주고 opaque 로 바꿔 발급한다")
+    void legacy_jwt_refresh_cookie_is_still_accepted() throws Exception {
+        //given: 포맷을 바꾸기 전에 발급된 JWT refresh token
+        User user = userRepository.findByEmail("user@example.com").orElseThrow();
+        String legacy = legacyJwtRefreshToken(user);
+        assertThat(legacy).startsWith("eyJ");
+
+        //when
+        MvcResult refreshed = mvc.perform(post("/api/auth/refresh").cookie(new Cookie("refresh_token", legacy)))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        //then
+        assertThat(refreshed.getResponse().getCookie("refresh_token").getValue()).hasSize(72);
+    }
+
+    @Test
+    @DisplayName("selector 의 사용자 id 를 바꾼 opaque 토큰은: 저장소에 없으므로 refresh_not_found")
+    void tampered_selector_is_not_found() throws Exception {
+        //given
+        String token = login().getResponse().getCookie("refresh_token").getValue();
+        User admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+        byte[] selector = Base64.getUrlDecoder().decode(token.substring(0, 28));
+        ByteBuffer.wrap(selector).putLong(1, admin.getId());
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(selector) + token.substring(28);
+
+        //when & then
+        mvc.perform(post("/api/auth/refresh").cookie(new Cookie("refresh_token", tampered)))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.message").value("refresh_not_found"))
+            .andExpect(header().doesNotExist(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    @DisplayName("selector 의 epoch 를 바꾼 opaque 토큰은: epoch 가 낮든 높든 같은 refresh_not_found (사용자/epoch 를 떠볼 수 없다)")
+    void tampered_epoch_gets_the_same_generic_error() throws Exception {
+        //given
+        String token = login().getResponse().getCookie("refresh_token").getValue();
+
+        //when & then
+        for (long epoch : new long[] {-1, Long.MAX_VALUE}) {
+            byte[] selector = Base64.getUrlDecoder().decode(token.substring(0, 28));
+            ByteBuffer.wrap(selector).putLong(9, epoch);
+            String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(selector) + token.substring(28);
+            mvc.perform(post("/api/auth/refresh").cookie(new Cookie("refresh_token", tampered)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("refresh_not_found"))
+                .andExpect(header().doesNotExist(HttpHeaders.AUTHORIZATION));
+        }
+    }
+
+    private MvcResult login() throws Exception {
+        return mvc.perform(post("/api/auth/login").contentType("application/json").content(LOGIN_BODY))
+            .andExpect(status().isOk())
+            .andReturn();
+    }
+
+    private String legacyJwtRefreshToken(User user) {
+        JwtProperties jwtFormat = TestJwtProperties.from(jwtProperties)
+            .refreshTokenFormat(JwtProperties.RefreshTokenFormat.JWT)
+            .build();
+        IssuedToken token = new JwtTokenProvider(jwtFormat, keyRing, new SimpleMeterRegistry())
+            .issueRefreshToken(user.getId(), user.getTokenEpoch());
+        refreshTokenStore.save(TokenHashing.sha256(token.value()), user.getId(), token.expiresAt());
+        return token.value();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.jwttemplate;
+
+import org.apache.coyote.ProtocolHandler;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsProfileTest {
+
+    static final String LOGIN_BODY = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    ServletWebServerApplicationContext context;
+
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("virtual-threads 프로필: Tomcat 이 가상 스레드로 요청을 처리하고, 동시 로그인/인증 요청이 모두 성공한다")
+    void handles_concurrent_requests_on_virtual_threads() {
+        //given
+        ProtocolHandler protocol = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector().getProtocolHandler();
+        assertThat(protocol.getExecutor()).isInstanceOf(VirtualThreadExecutor.class);
+
+        //when: 로그인(refresh token 해시) 과 /api/me(검증 캐시 해시, HMAC 검증) 를 동시에
+        List<CompletableFuture<HttpResponse<String>>> logins = IntStream.range(0, 8)
+            .mapToObj(i -> send(post("/api/auth/login", LOGIN_BODY)))
+            .toList();
+        String accessToken = logins.get(0).join().headers().firstValue(HttpHeaders.AUTHORIZATION).orElseThrow();
+        List<CompletableFuture<HttpResponse<String>>> mes = IntStream.range(0, 200)
+            .mapToObj(i -> send(HttpRequest.newBuilder(uri("/api/me")).header(HttpHeaders.AUTHORIZATION, accessToken).build()))
+            .toList();
+
+        //then
+        assertThat(logins).allSatisfy(f -> assertThat(f.join().statusCode()).isEqualTo(200));
+        assertThat(mes).allSatisfy(f -> assertThat(f.join().statusCode()).isEqualTo(200));
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.jwttemplate.auth;
+
+import com.example.jwttemplate.jwt.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthMetricsTest {
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final AuthMetrics metrics = new AuthMetrics(registry);
+
+    @Test
+    @DisplayName("결과 코드 tag 는 정해진 코드만 쓰고, 그 밖의 예외 메시지는 모두 error 로 센다")
+    void outcome_tag_is_a_closed_set() {
+        //when
+        fail(new JwtException("refresh_revoked"));
+        fail(new IllegalArgumentException("For input string: \"abc\""));
+        fail(new IllegalArgumentException("For input string: \"def\""));
+        fail(new IllegalStateException("refresh_revoked"));
+
+        //then
+        assertThat(count("refresh_revoked")).isEqualTo(1);
+        assertThat(count("error")).isEqualTo(3);
+        assertThat(registry.find("auth.operation.results").tag("op", "refresh").counters())
+            .extracting(c -> c.getId().getTag("outcome"))
+            .containsExactlyInAnyOrder("ok", "refresh_revoked", "error");
+    }
+
+    private void fail(RuntimeException e) {
+        Supplier<Object> action = () -> {
+            throw e;
+        };
+        assertThatThrownBy(() -> metrics.record(AuthMetrics.Op.REFRESH, action)).isSameAs(e);
+    }
+
+    private double count(String outcome) {
+        Counter c = registry.find("auth.operation.results").tag("op", "refresh").tag("outcome", outcome).counter();
+        return c == null ? 0 : c.count();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.jwttemplate.auth;
+
+import com.example.jwttemplate.config.TestSecurityProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordVerifierTest {
+
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch started = new CountDownLatch(1);
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PasswordVerifier verifier;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        verifier.shutdown();
+    }
+
+    @Test
+    @DisplayName("검증 스레드와 큐가 모두 차 있으면: 기다리지 않고 바로 login_busy")
+    void rejects_when_queue_is_full() throws Exception {
+        //given: 스레드 1개는 검증 중, 큐 1칸은 대기 중
+        verifier = verifier(1, 1, 10_000);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> verifier.matches("pw", "hash"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> verifier.matches("pw", "hash"));
+        while (meterRegistry.get("auth.password.queue.size").gauge().value() < 1) Thread.sleep(5);
+
+        //when & then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> verifier.matches("pw", "hash"))
+            .isInstanceOf(LoginUnavailableException.class)
+            .hasMessage("login_busy");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        assertThat(rejected("busy")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("검증이 timeout 안에 끝나지 않으면: 요청 스레드는 timeout 까지만 기다리고 login_timeout")
+    void gives_up_after_timeout() throws Exception {
+        //given
+        verifier = verifier(1, 1, 200);
+
+        //when & then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> verifier.matches("pw", "hash"))
+            .isInstanceOf(LoginUnavailableException.class)
+            .hasMessage("login_timeout");
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(waited).isBetween(200L, 2000L);
+        assertThat(rejected("timeout")).isEqualTo(1);
+    }
+
+    private PasswordVerifier verifier(int threads, int queueCapacity, long timeoutMillis) {
+        return new PasswordVerifier(blockingEncoder(),
+            TestSecurityProperties.builder().login(threads, queueCapacity, timeoutMillis).build(), meterRegistry);
+    }
+
+    // release 될 때까지 끝나지 않는 BCrypt 대역
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("auth.password.rejected").tag("reason", reason).counter().count();
+    }
+}
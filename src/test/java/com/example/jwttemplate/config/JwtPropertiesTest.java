@@ -0,0 +1,33 @@
+package com.example.jwttemplate.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtPropertiesTest {
+
+    @Test
+    @DisplayName("access-token.version 은 1, 2 만 허용하고 그 외 값은 바인딩에서 실패한다")
+    void rejects_unknown_access_token_version() {
+        //given
+        Binder valid = binder(Map.of("jwt.access-token.version", "2"));
+        Binder unknown = binder(Map.of("jwt.access-token.version", "3"));
+
+        //when & then
+        assertThat(valid.bind("jwt", JwtProperties.class).get().accessTokenVersion()).isEqualTo(2);
+        assertThatThrownBy(() -> unknown.bind("jwt", JwtProperties.class))
+            .isInstanceOf(BindException.class)
+            .hasRootCauseMessage("jwt.access-token.version must be 1 or 2: 3");
+    }
+
+    private static Binder binder(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties));
+    }
+}
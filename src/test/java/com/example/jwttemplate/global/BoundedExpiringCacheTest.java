@@ -0,0 +1,74 @@
+package com.example.jwttemplate.global;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedExpiringCacheTest {
+
+    @Test
+    @DisplayName("만료 시각이 지난 엔트리는 miss 로 세고 제거하며, 이미 지난 만료 시각으로는 넣지 않는다")
+    void entries_expire_at_their_own_time() throws Exception {
+        //given
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10);
+        long now = System.currentTimeMillis();
+        cache.put("short", "a", now + 50);
+        cache.put("long", "b", now + 60_000);
+        cache.put("past", "c", now - 1);
+
+        //when
+        Thread.sleep(100);
+
+        //then
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.get("long")).isEqualTo("b");
+        assertThat(cache.get("past")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("크기를 넘기면 가장 오래 읽히지 않은 엔트리부터 90% 까지 줄인다")
+    void evicts_least_recently_used_down_to_ninety_percent() throws Exception {
+        //given
+        BoundedExpiringCache<Integer, Integer> cache = new BoundedExpiringCache<>(10);
+        long exp = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 10; i++) cache.put(i, i, exp);
+        Thread.sleep(5);
+        for (int i = 0; i < 5; i++) cache.get(i);
+        Thread.sleep(5);
+
+        //when
+        cache.put(10, 10, exp);
+
+        //then
+        assertThat(cache.size()).isEqualTo(9);
+        assertThat(cache.evictionCount()).isEqualTo(2);
+        for (int i = 0; i < 5; i++) assertThat(cache.get(i)).isEqualTo(i);
+        assertThat(cache.get(10)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("크기를 넘겼을 때 만료된 엔트리가 먼저 정리되면 읽던 엔트리는 남는다")
+    void sweeps_expired_entries_before_lru() throws Exception {
+        //given
+        BoundedExpiringCache<Integer, Integer> cache = new BoundedExpiringCache<>(4);
+        long now = System.currentTimeMillis();
+        cache.put(0, 0, now + 30);
+        cache.put(1, 1, now + 30);
+        cache.put(2, 2, now + 60_000);
+        cache.put(3, 3, now + 60_000);
+        Thread.sleep(50);
+
+        //when
+        cache.put(4, 4, now + 60_000);
+
+        //then
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(2)).isEqualTo(2);
+        assertThat(cache.get(3)).isEqualTo(3);
+        assertThat(cache.get(4)).isEqualTo(4);
+    }
+}
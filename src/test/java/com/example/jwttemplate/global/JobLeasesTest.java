@@ -0,0 +1,88 @@
+package com.example.jwttemplate.global;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JobLeasesTest {
+
+    static final int ROUNDS = 100;
+
+    @Autowired
+    JobLeaseRepository jobLeaseRepository;
+
+    // 두 노드
+    JobLeases nodeA;
+    JobLeases nodeB;
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void cleanUp() {
+        executor.shutdownNow();
+        jobLeaseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("두 노드가 동시에 처음 보는 lease 를 잡으면: 매번 정확히 한 노드만 성공한다")
+    void only_one_node_creates_a_new_lease() throws Exception {
+        //given
+        nodeA = new JobLeases(jobLeaseRepository);
+        nodeB = new JobLeases(jobLeaseRepository);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            //when
+            int winners = race("create-" + i);
+
+            //then
+            assertThat(winners).as("round %d", i).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("만료된 lease 를 두 노드가 동시에 넘겨받으면: 매번 정확히 한 노드만 성공한다")
+    void only_one_node_takes_over_an_expired_lease() throws Exception {
+        //given
+        nodeA = new JobLeases(jobLeaseRepository);
+        nodeB = new JobLeases(jobLeaseRepository);
+        JobLeases crashed = new JobLeases(jobLeaseRepository);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            String name = "takeover-" + i;
+            assertThat(crashed.tryAcquire(name, Duration.ofSeconds(-1))).isTrue();
+
+            //when
+            int winners = race(name);
+
+            //then
+            assertThat(winners).as("round %d", i).isEqualTo(1);
+        }
+    }
+
+    private int race(String name) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(2);
+        CompletableFuture<Boolean> a = CompletableFuture.supplyAsync(() -> acquireAfter(start, nodeA, name), executor);
+        CompletableFuture<Boolean> b = CompletableFuture.supplyAsync(() -> acquireAfter(start, nodeB, name), executor);
+        return (a.get() ? 1 : 0) + (b.get() ? 1 : 0);
+    }
+
+    private static boolean acquireAfter(CyclicBarrier start, JobLeases node, String name) {
+        try {
+            start.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return node.tryAcquire(name, Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.jwttemplate.global;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReusablePoolTest {
+
+    final AtomicInteger created = new AtomicInteger();
+    final AtomicInteger sharedUse = new AtomicInteger();
+
+    @Test
+    @DisplayName("가상 스레드 동시 대여: 한 인스턴스를 두 작업이 동시에 쓰지 않고, 반납된 인스턴스를 재사용한다")
+    void concurrent_checkout_on_virtual_threads_is_exclusive() throws Exception {
+        //given
+        ReusablePool<Helper> pool = new ReusablePool<>(Helper::new, 64);
+        int tasks = 20_000;
+        // 동시에 빌리는 작업 수 (요청 처리 중인 가상 스레드 수에 해당)
+        Semaphore inFlight = new Semaphore(32);
+
+        //when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    inFlight.acquireUninterruptibly();
+                    Helper helper = pool.acquire();
+                    try {
+                        helper.use();
+                    } finally {
+                        pool.release(helper);
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+
+        //then
+        assertThat(sharedUse.get()).isZero();
+        assertThat(created.get()).isLessThan(tasks / 10);
+    }
+
+    @Test
+    @DisplayName("반납이 maxShared 를 넘으면 버리고, 다시 빌릴 때 새로 만든다")
+    void shared_queue_is_bounded() throws Exception {
+        //given
+        ReusablePool<Helper> pool = new ReusablePool<>(Helper::new, 2);
+
+        //when: 4개를 동시에 빌렸다가 모두 반납한 뒤 다시 4개를 빌린다
+        Thread.ofVirtual().start(() -> {
+            List<Helper> first = List.of(pool.acquire(), pool.acquire(), pool.acquire(), pool.acquire());
+            first.forEach(pool::release);
+            List.of(pool.acquire(), pool.acquire(), pool.acquire(), pool.acquire());
+        }).join();
+
+        //then: 처음 4개 + 보관되지 못한 2개
+        assertThat(created.get()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("플랫폼 스레드는 스레드마다 하나의 인스턴스를 계속 쓴다")
+    void platform_threads_keep_one_instance_per_thread() throws Exception {
+        //given
+        ReusablePool<Helper> pool = new ReusablePool<>(Helper::new, 16);
+        Helper first = pool.acquire();
+        pool.release(first);
+
+        //when
+        Helper again = pool.acquire();
+        Helper[] other = new Helper[1];
+        Thread.ofPlatform().start(() -> other[0] = pool.acquire()).join();
+
+        //then
+        assertThat(again).isSameAs(first);
+        assertThat(other[0]).isNotSameAs(first);
+        assertThat(created.get()).isEqualTo(2);
+    }
+
+    // MessageDigest 처럼 동시에 쓰면 안 되는 helper
+    final class Helper {
+
+        private final AtomicBoolean inUse = new AtomicBoolean();
+
+        Helper() {
+            created.incrementAndGet();
+        }
+
+        void use() {
+            if (!inUse.compareAndSet(false, true)) sharedUse.incrementAndGet();
+            Thread.yield();
+            inUse.set(false);
+        }
+    }
+}
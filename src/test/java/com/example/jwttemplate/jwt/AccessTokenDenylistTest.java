@@ -0,0 +1,67 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.TestJwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTokenDenylistTest {
+
+    static AccessTokenDenylist denylist(boolean enabled) {
+        JwtProperties props = TestJwtProperties.builder().denylist(enabled, 1000, 0.01).build();
+        return new AccessTokenDenylist(props, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("폐기한 jti만 거부하고, 이미 만료된 토큰은 목록에 넣지 않는다")
+    void revokes_only_listed_and_live_ids() {
+        //given
+        AccessTokenDenylist denylist = denylist(true);
+        long now = System.currentTimeMillis();
+        String revoked = UUID.randomUUID().toString();
+        String expired = UUID.randomUUID().toString();
+
+        //when
+        denylist.revoke(revoked, now + 60_000);
+        denylist.revoke(expired, now - 1);
+
+        //then
+        assertThat(denylist.isRevoked(revoked)).isTrue();
+        assertThat(denylist.isRevoked(expired)).isFalse();
+        assertThat(denylist.isRevoked(UUID.randomUUID().toString())).isFalse();
+    }
+
+    @Test
+    @DisplayName("false positive 는 exact set 에서 걸러진다")
+    void filter_false_positives_are_not_reported() {
+        //given: 설계 용량의 두 배를 넣어 false positive 가 충분히 나오게 한다
+        AccessTokenDenylist denylist = denylist(true);
+        long exp = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 2000; i++) denylist.revoke(UUID.randomUUID().toString(), exp);
+
+        //when
+        int reported = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (denylist.isRevoked(UUID.randomUUID().toString())) reported++;
+        }
+
+        //then
+        assertThat(reported).isZero();
+    }
+
+    @Test
+    @DisplayName("비활성화 상태: 아무것도 거부하지 않는다")
+    void disabled_denylist_accepts_everything() {
+        AccessTokenDenylist denylist = denylist(false);
+        String jti = UUID.randomUUID().toString();
+
+        denylist.revoke(jti, System.currentTimeMillis() + 60_000);
+
+        assertThat(denylist.isRevoked(jti)).isFalse();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.TestJwtProperties;
+import com.example.jwttemplate.user.UserRole;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactHmacVerifierTest {
+
+    static final String SECRET = "TEST_TEST_TEST_TEST_TEST_TEST_TEST_TEST_32_BYTES";
+    static final String OLD_SECRET = "OLD_OLD_OLD_OLD_OLD_OLD_OLD_OLD_OLD_OLD_32_BYTES";
+    static final String RETIRED_SECRET = "RETIRED_RETIRED_RETIRED_RETIRED_RETIRED_32_BYTES";
+    static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+    final JwtTokenProvider fast = provider(true);
+    final JwtTokenProvider jjwt = provider(false);
+    final JwtTokenProvider fastV2 = provider(true, 2);
+
+    static JwtProperties props(boolean fastVerify) {
+        return props(fastVerify, 1);
+    }
+
+    static JwtProperties props(boolean fastVerify, int accessTokenVersion) {
+        return TestJwtProperties.builder()
+            .secret(SECRET)
+            .previousKeys(
+                new JwtProperties.PreviousKey("k0", OLD_SECRET, Instant.now().plusSeconds(3600)),
+                new JwtProperties.PreviousKey("kr", RETIRED_SECRET, Instant.now().minusSeconds(1))
+            )
+            .fastVerify(fastVerify)
+            .accessTokenVersion(accessTokenVersion)
+            .build();
+    }
+
+    static JwtTokenProvider provider(boolean fastVerify) {
+        return provider(fastVerify, 1);
+    }
+
+    static JwtTokenProvider provider(boolean fastVerify, int accessTokenVersion) {
+        JwtProperties props = props(fastVerify, accessTokenVersion);
+        return new JwtTokenProvider(props, new JwtKeyRing(props), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("직접 발급한 토큰은 fast path와 JJWT가 같은 클레임을 돌려준다")
+    void issued_tokens_verify_identically() {
+        String access = fast.createAccessToken(42L, "user@example.com", UserRole.ADMIN, 0);
+        String refresh = fast.createRefreshToken(42L, 0);
+
+        // fallback 없이 fast path에서 처리되어야 한다
+        CompactHmacVerifier verifier = new CompactHmacVerifier(new JwtKeyRing(props(true)));
+        assertThat(verifier.verify(access)).isNotNull();
+        assertThat(verifier.verify(refresh)).isNotNull();
+
+        TokenClaims a = fast.verify(access);
+        assertThat(a).isEqualTo(jjwt.verify(access));
+        assertThat(a.type()).isEqualTo(JwtTokenType.ACCESS);
+        assertThat(a.userId()).isEqualTo(42L);
+        assertThat(a.email()).isEqualTo("user@example.com");
+        assertThat(a.role()).isEqualTo(UserRole.ADMIN);
+
+        TokenClaims r = fast.verify(refresh);
+        assertThat(r).isEqualTo(jjwt.verify(refresh));
+        assertThat(r.type()).isEqualTo(JwtTokenType.REFRESH);
+
+        // v2 는 더 짧고, 어느 설정의 provider 로도 같은 클레임으로 읽힌다
+        String v2 = fastV2.createAccessToken(42L, "user@example.com", UserRole.ADMIN, 3);
+        assertThat(verifier.verify(v2)).isNotNull();
+        assertThat(v2.length()).isLessThan(access.length());
+        TokenClaims c = fast.verify(v2);
+        assertThat(c).isEqualTo(jjwt.verify(v2));
+        assertThat(c.type()).isEqualTo(JwtTokenType.ACCESS);
+        assertThat(c.role()).isEqualTo(UserRole.ADMIN);
+        assertThat(c.email()).isEqualTo("user@example.com");
+        assertThat(c.epoch()).isEqualTo(3);
+        assertThat(c.jti()).hasSize(22);
+    }
+
+    @Test
+    @DisplayName("변조/만료/알 수 없는 키 등 모든 입력에 대해 두 경로의 수락/거부 결과가 같다")
+    void both_paths_accept_and_reject_the_same_tokens() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        String access = fast.createAccessToken(7L, "user@example.com", UserRole.USER, 0);
+        String refresh = fast.createRefreshToken(7L, 0);
+        tokens.add(access);
+        tokens.add(refresh);
+
+        Instant now = Instant.now();
+        tokens.add(signed("k0", OLD_SECRET, b -> b.claim("typ", "ACCESS").claim("email", "a@b.c").claim("role", "USER")
+            .subject("1").expiration(Date.from(now.plusSeconds(60)))));
+        tokens.add(signed("kr", RETIRED_SECRET, b -> b.claim("typ", "ACCESS").claim("role", "USER")
+            .subject("1").expiration(Date.from(now.plusSeconds(60)))));
+        tokens.add(signed("nope", SECRET, b -> b.claim("typ", "ACCESS").claim("role", "USER")
+            .subject("1").expiration(Date.from(now.plusSeconds(60)))));
+        tokens.add(signed(null, SECRET, b -> b.claim("typ", "REFRESH")
+            .subject("1").expiration(Date.from(now.plusSeconds(60)))));
+        tokens.add(signed("k1", SECRET, b -> b.claim("typ", "ACCESS").claim("role", "USER")
+            .subject("1").expiration(Date.from(now.minusSeconds(5)))));
+        tokens.add(signed("k1", SECRET, b -> b.claim("typ", "ACCESS").claim("role", "USER")
+            .subject("1").notBefore(Date.from(now.plusSeconds(60))).expiration(Date.from(now.plusSeconds(120)))));
+        tokens.add(signed("k1", SECRET, b -> b.claim("typ", "ACCESS").claim("role", "USER").claim("email", "q\"uote@x.y")
+            .subject("1").expiration(Date.from(now.plusSeconds(60)))));
+        tokens.add(signed("k1", SECRET, b -> b.claim("typ", "ACCESS").claim("role", "ROOT")
+            .subject("1").expiration(Date.from(now.plusSeconds(60)))));
+        tokens.add(signed("k1", SECRET, b -> b.claim("typ", "ACCESS")
+            .subject("1").expiration(Date.from(now.plusSeconds(60)))));
+        tokens.add(signed("k1", SECRET, b -> b.claim("typ", "OTHER")
+            .subject("x").expiration(Date.from(now.plusSeconds(60)))));
+        tokens.add(signed("k1", SECRET, b -> b.claim("typ", "REFRESH")
+            .subject("1")));
+        long exp = now.getEpochSecond() + 60;
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"sub\":\"3\",\"typ\":\"REFRESH\",\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{ \"alg\" : \"HS256\" }", "{ \"sub\" : \"3\" , \"typ\" : \"REFRESH\" , \"exp\" : " + exp + " }", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS512\",\"kid\":\"k1\"}", "{\"sub\":\"3\",\"typ\":\"REFRESH\",\"exp\":" + exp + "}", "HmacSHA512", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"sub\":\"3\",\"sub\":\"4\",\"typ\":\"REFRESH\",\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"sub\":3,\"typ\":\"REFRESH\",\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"sub\":\"3\",\"typ\":\"REFRESH\",\"exp\":" + exp + ".5}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "[1,2]", "HmacSHA256", SECRET));
+        String v2 = fastV2.createAccessToken(7L, "user@example.com", UserRole.USER, 0);
+        tokens.add(v2);
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"v\":2,\"sub\":\"3\",\"t\":0,\"r\":1,\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"v\":2,\"sub\":\"3\",\"t\":0,\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"v\":2,\"sub\":\"3\",\"t\":9,\"r\":0,\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"v\":2,\"sub\":\"3\",\"t\":0,\"r\":9,\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"v\":2,\"sub\":\"3\",\"t\":\"0\",\"r\":0,\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"v\":2,\"sub\":\"3\",\"t\":0,\"r\":0,\"e\":5,\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"v\":3,\"sub\":\"3\",\"t\":0,\"r\":0,\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{\"v\":2,\"sub\":\"3\",\"typ\":\"ACCESS\",\"role\":\"USER\",\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(raw("{\"alg\":\"none\"}", "{\"sub\":\"3\",\"typ\":\"REFRESH\",\"exp\":" + exp + "}", "HmacSHA256", SECRET));
+        tokens.add(access.substring(0, access.lastIndexOf('.') + 1));
+        tokens.add(access + ".x");
+        tokens.add(access + "=");
+        tokens.add(" " + access);
+        tokens.add("");
+        tokens.add("a.b.c");
+
+        for (String base : List.of(access, refresh, v2)) {
+            for (int i = 0; i < base.length(); i++) {
+                char c = base.charAt(i);
+                if (c == '.') continue;
+                char replacement = ALPHABET.charAt((ALPHABET.indexOf(c) + 1 + i % 7) % ALPHABET.length());
+                tokens.add(base.substring(0, i) + replacement + base.substring(i + 1));
+            }
+            tokens.add(base.substring(0, base.length() - 1));
+        }
+
+        for (String token : tokens) {
+            assertThat(outcome(fast, token))
+                .as("token %s", token)
+                .isEqualTo(outcome(jjwt, token));
+        }
+    }
+
+    private static Object outcome(JwtTokenProvider provider, String token) {
+        try {
+            return provider.verify(token);
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName() + ":" + e.getMessage();
+        }
+    }
+
+    private static String signed(String kid, String secret, UnaryOperator<JwtBuilder> claims) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        var builder = Jwts.builder().id("jti-1").issuedAt(new Date());
+        if (kid != null) builder.header().keyId(kid);
+        return claims.apply(builder).signWith(key).compact();
+    }
+
+    private static String raw(String header, String payload, String jcaAlg, String secret) throws Exception {
+        Base64.Encoder enc = Base64.getUrlEncoder().withoutPadding();
+        String signingInput = enc.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+            + enc.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance(jcaAlg);
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), jcaAlg));
+        byte[] sig = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + enc.encodeToString(sig);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.jwttemplate.jwt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "jwt.signing.algorithm=ES256")
+@AutoConfigureMockMvc
+class JwksEndpointTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    @DisplayName("ES256 설정이면: 발급된 access token 으로 보호 API 에 접근할 수 있고 헤더의 kid 가 JWKS 에 있다")
+    void es256_token_is_accepted_and_published() throws Exception {
+        //given
+        String loginBody = "{\"email\":\"user@example.com\",\"password\":\"password1234\"}";
+        String authorization = mvc.perform(post("/api/auth/login").contentType("application/json").content(loginBody))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+
+        //when & then
+        mvc.perform(get("/api/me").header(HttpHeaders.AUTHORIZATION, authorization))
+            .andExpect(status().isOk());
+        String header = new String(java.util.Base64.getUrlDecoder().decode(authorization.substring(7).split("\\.")[0]));
+        assertThat(header).contains("\"alg\":\"ES256\"").contains("\"kid\":\"k1\"");
+        mvc.perform(get("/.well-known/jwks.json"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.keys[0].kid").value("k1"))
+            .andExpect(jsonPath("$.keys[0].kty").value("EC"))
+            .andExpect(jsonPath("$.keys[0].d").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("JWKS 는 ETag/Cache-Control 과 함께 내려오고 If-None-Match 가 같으면 304 를 준다")
+    void jwks_supports_conditional_get() throws Exception {
+        //given
+        MvcResult first = mvc.perform(get("/.well-known/jwks.json"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when & then
+        assertThat(etag).startsWith("\"");
+        mvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("JWKS 는 GET 만 인증 없이 열려 있다")
+    void jwks_is_public_for_get_only() throws Exception {
+        //when & then
+        mvc.perform(post("/.well-known/jwks.json")).andExpect(status().isForbidden());
+        mvc.perform(delete("/.well-known/jwks.json")).andExpect(status().isForbidden());
+    }
+}
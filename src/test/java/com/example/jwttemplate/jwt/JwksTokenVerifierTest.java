@@ -0,0 +1,143 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.TestJwtProperties;
+import com.example.jwttemplate.user.UserRole;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwksTokenVerifierTest {
+
+    HttpServer server;
+    final AtomicInteger fetches = new AtomicInteger();
+    final AtomicReference<JwksController> published = new AtomicReference<>();
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) server.stop(0);
+    }
+
+    static JwtProperties props(String keyId) {
+        return TestJwtProperties.builder()
+            .secret("unused")
+            .keyId(keyId)
+            .signing(JwtProperties.SigningAlgorithm.ES256)
+            .build();
+    }
+
+    static JwtTokenProvider provider(JwtProperties props, JwtKeyRing keyRing) {
+        return new JwtTokenProvider(props, keyRing, new SimpleMeterRegistry());
+    }
+
+    JwksTokenVerifier startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            fetches.incrementAndGet();
+            ResponseEntity<String> res = published.get()
+                .jwks(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            res.getHeaders().forEach((name, values) -> exchange.getResponseHeaders().put(name, values));
+            byte[] body = res.getBody() == null ? new byte[0] : res.getBody().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(res.getStatusCode().value(), body.length == 0 ? -1 : body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+        return new JwksTokenVerifier(uri, "test", HttpClient.newHttpClient(), Duration.ZERO, Clock.systemUTC());
+    }
+
+    @Test
+    @DisplayName("JWKS 는 한 번만 받아 오고 이후 검증은 캐시된 공개키로 처리한다")
+    void verifies_locally_with_a_single_fetch() throws Exception {
+        //given
+        JwtProperties props = props("k1");
+        JwtKeyRing keyRing = new JwtKeyRing(props);
+        published.set(new JwksController(keyRing, props));
+        JwksTokenVerifier verifier = startStub();
+        String token = provider(props, keyRing).createAccessToken(7L, "user@example.com", UserRole.USER, 0);
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            assertThat(verifier.verify(token).userId()).isEqualTo(7L);
+        }
+
+        //then
+        assertThat(fetches.get()).isEqualTo(1);
+        assertThatThrownBy(() -> verifier.verify(token.substring(0, token.length() - 4) + "AAAA"))
+            .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("모르는 kid 의 토큰이 오면 JWKS 를 다시 받아 교체된 키로 검증한다")
+    void refetches_on_unknown_kid() throws Exception {
+        //given
+        JwtProperties oldProps = props("k1");
+        JwtKeyRing oldRing = new JwtKeyRing(oldProps);
+        published.set(new JwksController(oldRing, oldProps));
+        JwksTokenVerifier verifier = startStub();
+        verifier.verify(provider(oldProps, oldRing).createAccessToken(7L, "user@example.com", UserRole.USER, 0));
+
+        JwtProperties newProps = props("k2");
+        JwtKeyRing newRing = new JwtKeyRing(newProps);
+        published.set(new JwksController(newRing, newProps));
+
+        //when
+        String rotated = provider(newProps, newRing).createAccessToken(7L, "user@example.com", UserRole.USER, 0);
+
+        //then
+        assertThat(verifier.verify(rotated).userId()).isEqualTo(7L);
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 키로 서명된 refresh token 은 bearer 로 받지 않는다 (invalid_token_type)")
+    void rejects_refresh_tokens() throws Exception {
+        //given
+        JwtProperties props = props("k1");
+        JwtKeyRing keyRing = new JwtKeyRing(props);
+        published.set(new JwksController(keyRing, props));
+        JwksTokenVerifier verifier = startStub();
+        String refresh = provider(props, keyRing).createRefreshToken(7L, 0);
+
+        //when & then
+        assertThatThrownBy(() -> verifier.verify(refresh))
+            .isInstanceOf(JwtException.class)
+            .hasMessage("invalid_token_type");
+    }
+
+    @Test
+    @DisplayName("v2 (짧은 클레임) access token 도 v1 과 같은 TokenClaims 로 읽는다")
+    void reads_v2_access_tokens() throws Exception {
+        //given
+        JwtProperties props = TestJwtProperties.from(props("k1")).accessTokenVersion(2).build();
+        JwtKeyRing keyRing = new JwtKeyRing(props);
+        published.set(new JwksController(keyRing, props));
+        JwksTokenVerifier verifier = startStub();
+        String token = provider(props, keyRing).createAccessToken(7L, "user@example.com", UserRole.ADMIN, 3);
+
+        //when
+        TokenClaims claims = verifier.verify(token);
+
+        //then
+        assertThat(claims.type()).isEqualTo(JwtTokenType.ACCESS);
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(claims.role()).isEqualTo(UserRole.ADMIN);
+        assertThat(claims.epoch()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.user.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtAuthenticationFilterTest {
+
+    // shouldNotFilter 는 경로만 보므로 검증에 쓰는 의존성은 필요 없다
+    final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(null, null, null, null, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("permitAll 경로와 정확히 일치할 때만 토큰 검증을 건너뛴다")
+    void skips_only_exact_public_paths() {
+        //when & then
+        assertThat(skips("GET", "/actuator/health")).isTrue();
+        assertThat(skips("GET", "/actuator/health/readiness")).isTrue();
+        assertThat(skips("POST", "/api/auth/login")).isTrue();
+        assertThat(skips("GET", "/actuator/healthz")).isFalse();
+        assertThat(skips("GET", "/actuator/health/db")).isFalse();
+        assertThat(skips("POST", "/api/auth/login/")).isFalse();
+        assertThat(skips("POST", "/api/auth/logout-all")).isFalse();
+        assertThat(skips("GET", "/actuator/prometheus")).isFalse();
+    }
+
+    @Test
+    @DisplayName("메서드가 정해진 경로는 그 메서드일 때만 건너뛴다 (JWKS 는 GET, 로그인은 POST)")
+    void method_restricted_paths_skip_only_for_their_method() {
+        //when & then
+        assertThat(skips("GET", "/.well-known/jwks.json")).isTrue();
+        assertThat(skips("POST", "/.well-known/jwks.json")).isFalse();
+        assertThat(skips("GET", "/api/auth/login")).isFalse();
+        assertThat(skips("DELETE", "/actuator/health")).isTrue();
+    }
+
+    @Test
+    @DisplayName("context path 를 뺀 경로로 비교한다")
+    void strips_context_path() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/actuator/health");
+        request.setContextPath("/app");
+
+        //when & then
+        assertThat(filter.shouldNotFilter(request)).isTrue();
+    }
+
+    @Test
+    @DisplayName("JwtAuthentication 은 setAuthenticated(true) 만 거부하고 false 는 받아들인다")
+    void authentication_can_only_be_cleared() {
+        //given
+        JwtAuthentication authentication = new JwtAuthentication(new JwtPrincipal(7L, "user@example.com", "USER"), UserRole.USER);
+
+        //when & then
+        assertThatThrownBy(() -> authentication.setAuthenticated(true)).isInstanceOf(IllegalArgumentException.class);
+        authentication.setAuthenticated(false);
+        assertThat(authentication.isAuthenticated()).isFalse();
+    }
+
+    private boolean skips(String method, String uri) {
+        return filter.shouldNotFilter(new MockHttpServletRequest(method, uri));
+    }
+}
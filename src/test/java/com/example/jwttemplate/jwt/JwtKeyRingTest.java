@@ -0,0 +1,103 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.TestJwtProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    static final String OLD_SECRET = "OLD_OLD_OLD_OLD_OLD_OLD_OLD_OLD_OLD_OLD_32_BYTES";
+    static final String RETIRED_SECRET = "RETIRED_RETIRED_RETIRED_RETIRED_RETIRED_32_BYTES";
+
+    final JwtProperties props = TestJwtProperties.builder()
+        .previousKeys(
+            new JwtProperties.PreviousKey("k0", OLD_SECRET, Instant.now().plusSeconds(3600)),
+            new JwtProperties.PreviousKey("kr", RETIRED_SECRET, Instant.now().minusSeconds(1))
+        )
+        .build();
+    final JwtKeyRing keyRing = new JwtKeyRing(props);
+    final JwtTokenProvider provider = new JwtTokenProvider(props, keyRing, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("교체 전 키(previous-keys)로 서명된 토큰은 retire-at 전까지 검증된다")
+    void verifies_with_previous_kid() {
+        //given
+        String token = signed("k0", OLD_SECRET);
+
+        //when
+        TokenClaims claims = provider.verify(token);
+
+        //then
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(keyRing.verificationKey("k0")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("retire-at 이 지난 키로 서명된 토큰은 거부한다")
+    void rejects_retired_kid() {
+        //given
+        String token = signed("kr", RETIRED_SECRET);
+
+        //when & then
+        assertThat(keyRing.verificationKey("kr")).isNull();
+        assertThatThrownBy(() -> provider.verify(token))
+            .isInstanceOf(JwtException.class)
+            .hasMessage("invalid_token");
+    }
+
+    @Test
+    @DisplayName("모르는 kid 는 같은 secret 으로 서명돼 있어도 거부하고, kid 가 없으면 활성 키로 검증한다")
+    void rejects_unknown_kid() {
+        //given
+        String unknown = signed("k9", TestJwtProperties.SECRET);
+        String withoutKid = signed(null, TestJwtProperties.SECRET);
+
+        //when & then
+        assertThat(keyRing.verificationKey("k9")).isNull();
+        assertThatThrownBy(() -> provider.verify(unknown))
+            .isInstanceOf(JwtException.class)
+            .hasMessage("invalid_token");
+        assertThat(provider.verify(withoutKid).userId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("같은 kid 가 두 번 설정되면 기동 시 실패한다")
+    void rejects_duplicate_kid() {
+        //given
+        JwtProperties duplicate = TestJwtProperties.builder()
+            .previousKeys(new JwtProperties.PreviousKey("k1", OLD_SECRET, Instant.now().plusSeconds(3600)))
+            .build();
+
+        //when & then
+        assertThatThrownBy(() -> new JwtKeyRing(duplicate))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("duplicate_jwt_key_id: k1");
+    }
+
+    private static String signed(String kid, String secret) {
+        Instant now = Instant.now();
+        var builder = Jwts.builder()
+            .issuer("test")
+            .subject("7")
+            .id(UUID.randomUUID().toString())
+            .claim("typ", JwtTokenType.ACCESS.name())
+            .claim("email", "user@example.com")
+            .claim("role", "USER")
+            .issuedAt(Date.from(now))
+            .expiration(Date.from(now.plusSeconds(60)));
+        if (kid != null) builder.header().keyId(kid).and();
+        return builder.signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))).compact();
+    }
+}
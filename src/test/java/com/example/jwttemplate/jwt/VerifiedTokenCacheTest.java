@@ -0,0 +1,97 @@
+package com.example.jwttemplate.jwt;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.TestJwtProperties;
+import com.example.jwttemplate.user.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    static final String OLD_SECRET = "OLD_OLD_OLD_OLD_OLD_OLD_OLD_OLD_OLD_OLD_32_BYTES";
+
+    final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    @DisplayName("같은 토큰은 한 번만 검증하고, Bearer 접두사 뒤를 가리켜도 같은 엔트리를 쓴다")
+    void caches_by_token_and_counts_hits_and_misses() {
+        //given
+        MeterRegistry registry = new SimpleMeterRegistry();
+        VerifiedTokenCache cache = cache(TestJwtProperties.builder().verifiedCache(true, 100).build(), registry);
+
+        //when
+        VerifiedAccess first = cache.getOrVerify("token-a", verifier(60_000));
+        VerifiedAccess second = cache.getOrVerify("Bearer token-a", 7, verifier(60_000));
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(verifications.get()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(registry.get("jwt.verified_cache.requests").tag("result", "hit").functionCounter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("검증 결과가 null 이면 캐시하지 않고, 꺼져 있으면 매번 검증한다")
+    void does_not_cache_null_or_when_disabled() {
+        //given
+        VerifiedTokenCache enabled = cache(TestJwtProperties.builder().verifiedCache(true, 100).build(),
+            new SimpleMeterRegistry());
+        VerifiedTokenCache disabled = cache(TestJwtProperties.builder().build(), new SimpleMeterRegistry());
+        Function<String, VerifiedAccess> rejecting = token -> {
+            verifications.incrementAndGet();
+            return null;
+        };
+
+        //when
+        enabled.getOrVerify("refresh-token", rejecting);
+        enabled.getOrVerify("refresh-token", rejecting);
+        disabled.getOrVerify("token-a", verifier(60_000));
+        disabled.getOrVerify("token-a", verifier(60_000));
+
+        //then
+        assertThat(verifications.get()).isEqualTo(4);
+        assertThat(disabled.isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("서명 키의 retire-at 이 토큰 exp 보다 먼저면 그 시각에 캐시에서 빠진다")
+    void entry_ttl_is_capped_at_key_retirement() throws Exception {
+        //given
+        JwtProperties props = TestJwtProperties.builder()
+            .verifiedCache(true, 100)
+            .previousKeys(new JwtProperties.PreviousKey("k0", OLD_SECRET, Instant.now().plusMillis(100)))
+            .build();
+        VerifiedTokenCache cache = cache(props, new SimpleMeterRegistry());
+        cache.getOrVerify("token-a", verifier(60_000));
+
+        //when
+        Thread.sleep(150);
+        cache.getOrVerify("token-a", verifier(60_000));
+
+        //then
+        assertThat(verifications.get()).isEqualTo(2);
+    }
+
+    private static VerifiedTokenCache cache(JwtProperties props, MeterRegistry registry) {
+        return new VerifiedTokenCache(props, new JwtKeyRing(props), registry);
+    }
+
+    private Function<String, VerifiedAccess> verifier(long ttlMillis) {
+        return token -> {
+            verifications.incrementAndGet();
+            JwtPrincipal principal = new JwtPrincipal(1L, "user@example.com", UserRole.USER.name());
+            return new VerifiedAccess(new JwtAuthentication(principal, UserRole.USER), token, 0,
+                System.currentTimeMillis() + ttlMillis);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.jwttemplate.refreshtoken;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(1000, null);
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    @Test
+    @DisplayName("max-entries를 넘으면 가장 먼저 만료되는 토큰부터 제거된다")
+    void evicts_soonest_expiring_when_full() {
+        //given
+        InMemoryRefreshTokenStore small = new InMemoryRefreshTokenStore(2, null);
+        Instant now = Instant.now();
+        byte[] soonest = newDigest();
+        byte[] later = newDigest();
+        byte[] latest = newDigest();
+        small.save(later, newUserId(), now.plus(Duration.ofDays(2)));
+        small.save(soonest, newUserId(), now.plus(Duration.ofDays(1)));
+
+        //when
+        small.save(latest, newUserId(), now.plus(Duration.ofDays(3)));
+
+        //then
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.find(soonest)).isEmpty();
+        assertThat(small.find(later)).isPresent();
+        assertThat(small.find(latest)).isPresent();
+    }
+
+    @Test
+    @DisplayName("snapshot 파일로 저장 후 재시작하면 활성/폐기 상태가 복구된다")
+    void restores_from_snapshot(@TempDir Path dir) {
+        //given
+        Path file = dir.resolve("refresh-tokens.snapshot");
+        InMemoryRefreshTokenStore first = new InMemoryRefreshTokenStore(1000, file);
+        Instant now = Instant.now();
+        Long userId = newUserId();
+        byte[] active = newDigest();
+        byte[] revoked = newDigest();
+        byte[] expired = newDigest();
+        first.save(active, userId, now.plus(Duration.ofDays(1)));
+        first.save(revoked, userId, now.plus(Duration.ofDays(1)));
+        first.revokeIfActive(revoked, now);
+        first.save(expired, userId, now.minusSeconds(1));
+
+        //when
+        first.snapshot();
+        InMemoryRefreshTokenStore restarted = new InMemoryRefreshTokenStore(1000, file);
+
+        //then
+        assertThat(restarted.find(active).orElseThrow().isRevoked()).isFalse();
+        assertThat(restarted.find(revoked).orElseThrow().isRevoked()).isTrue();
+        assertThat(restarted.find(expired)).isEmpty();
+        assertThat(restarted.revokeAllForUser(userId, now)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.jwttemplate.refreshtoken;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JpaRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    @Autowired
+    JpaRefreshTokenStore store;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    @Test
+    @DisplayName("binary 모드: hex 로 저장된 row 가 남아 있는 동안만 fallback 조회를 하고, 기동 시 스키마는 바꾸지 않는다")
+    void hex_fallback_is_kept_only_while_legacy_rows_exist() {
+        //given: HEX 모드 시절의 row
+        assertThat(store.hasLegacyHexRows()).isFalse();
+        assertThat(hexIndexExists()).isTrue();
+        byte[] digest = TokenHashing.sha256("legacy-" + System.nanoTime());
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.update("insert into refresh_tokens (token_hash, user_id, expires_at, created_at) "
+            + "values (?, ?, ?, ?)",
+            TokenHashing.toHex(digest), 42L, now.plus(Duration.ofDays(1)), now);
+
+        //when: 재시작
+        store.checkHashColumns();
+
+        //then
+        assertThat(store.hasLegacyHexRows()).isTrue();
+        assertThat(store.find(digest)).map(StoredRefreshToken::userId).contains(42L);
+        assertThat(store.revokeIfActive(digest, Instant.now())).isTrue();
+
+        //when: hex row 가 모두 사라진 뒤 재시작
+        jdbcTemplate.update("delete from refresh_tokens where token_hash is not null");
+        store.checkHashColumns();
+
+        //then
+        assertThat(store.hasLegacyHexRows()).isFalse();
+        assertThat(hexIndexExists()).isTrue();
+    }
+
+    // H2 는 unique 제약의 index 이름 뒤에 접미사를 붙인다
+    private boolean hexIndexExists() {
+        return jdbcTemplate.queryForObject("select count(*) from information_schema.indexes "
+            + "where lower(index_name) like 'idx_refresh_token_hash%'", Integer.class) > 0;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.config.JwtProperties;
+import com.example.jwttemplate.config.RefreshTokenProperties;
+import com.example.jwttemplate.global.JobLeases;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class PartitionedRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    JobLeases jobLeases;
+    @Autowired
+    RefreshTokenProperties refreshTokenProperties;
+    @Autowired
+    JwtProperties jwtProperties;
+
+    PartitionedRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new PartitionedRefreshTokenStore(
+            jdbcTemplate, jobLeases, refreshTokenProperties, jwtProperties, new SimpleMeterRegistry());
+    }
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    @Test
+    @DisplayName("exp 힌트로 해당 bucket 만 보고 조회/폐기한다")
+    void hinted_lookup_uses_the_bucket_of_the_expiry() {
+        //given
+        byte[] digest = newDigest();
+        Instant exp = Instant.now().plus(Duration.ofDays(3));
+        store.save(digest, newUserId(), exp);
+
+        //when & then
+        assertThat(store.find(digest, exp)).isPresent();
+        assertThat(store.find(digest, exp.plus(Duration.ofDays(1)))).isEmpty();
+        assertThat(store.revokeIfActive(digest, exp, Instant.now())).isTrue();
+        assertThat(store.find(digest, exp).orElseThrow().isRevoked()).isTrue();
+    }
+
+    @Test
+    @DisplayName("maintain: 모든 토큰이 만료된 bucket 은 테이블째 drop, 앞으로 쓸 bucket 은 미리 생성")
+    void maintain_drops_expired_buckets_and_creates_upcoming_ones() {
+        //given
+        Instant now = Instant.now();
+        byte[] expired = newDigest();
+        byte[] active = newDigest();
+        store.save(expired, newUserId(), now.minus(Duration.ofDays(3)));
+        store.save(active, newUserId(), now.plus(Duration.ofDays(1)));
+        String expiredTable = store.bucketFor(now.minus(Duration.ofDays(3)).toEpochMilli()).table();
+        String upcomingTable = store.bucketFor(now.plusSeconds(jwtProperties.refreshTtlSeconds()).toEpochMilli()).table();
+
+        //when
+        store.maintain();
+
+        //then
+        assertThat(store.buckets()).extracting(b -> b.table().toLowerCase())
+            .doesNotContain(expiredTable)
+            .contains(upcomingTable);
+        assertThat(store.find(expired)).isEmpty();
+        assertThat(store.find(active)).isPresent();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 새로 만든 bucket 도 exp 힌트 조회로 찾는다")
+    void hinted_lookup_finds_bucket_created_by_another_node() {
+        //given: 이 노드는 bucket 목록을 이미 읽었고, 그 뒤 다른 노드가 새 bucket 에 저장
+        Instant exp = Instant.now().plus(Duration.ofDays(1));
+        jdbcTemplate.execute("drop table if exists " + store.bucketFor(exp.toEpochMilli()).table());
+        store.buckets();
+        PartitionedRefreshTokenStore otherNode = new PartitionedRefreshTokenStore(
+            jdbcTemplate, jobLeases, refreshTokenProperties, jwtProperties, new SimpleMeterRegistry());
+        byte[] digest = newDigest();
+        otherNode.save(digest, newUserId(), exp);
+
+        //when & then
+        assertThat(store.find(digest, exp)).isPresent();
+        assertThat(store.revokeIfActive(digest, exp, Instant.now())).isTrue();
+    }
+
+    @Test
+    @DisplayName("끝나지 않은 bucket 의 테이블이 없으면 SQL 오류를 삼키지 않는다")
+    void missing_table_of_active_bucket_is_an_error() {
+        //given
+        byte[] digest = newDigest();
+        Instant exp = Instant.now().plus(Duration.ofDays(6));
+        store.save(digest, newUserId(), exp);
+        jdbcTemplate.execute("drop table " + store.bucketFor(exp.toEpochMilli()).table());
+
+        //when & then
+        assertThatThrownBy(() -> store.find(digest, exp)).isInstanceOf(BadSqlGrammarException.class);
+    }
+}
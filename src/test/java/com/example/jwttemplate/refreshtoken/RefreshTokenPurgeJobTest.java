@@ -0,0 +1,81 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.global.JobLease;
+import com.example.jwttemplate.global.JobLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RefreshTokenPurgeJobTest {
+
+    @Autowired
+    RefreshTokenPurgeJob purgeJob;
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    JobLeaseRepository jobLeaseRepository;
+
+    @AfterEach
+    void cleanUp() {
+        jobLeaseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("만료된 토큰과 grace 기간이 지난 폐기 토큰만 배치로 삭제된다")
+    void purges_expired_and_old_revoked_tokens_only() {
+        //given
+        Instant now = Instant.now();
+        Long active = save(now.plus(Duration.ofDays(1)));
+        Long recentlyRevoked = save(now.plus(Duration.ofDays(1)));
+        revoke(recentlyRevoked, now.minus(Duration.ofMinutes(1)));
+        Long oldRevoked = save(now.plus(Duration.ofDays(1)));
+        revoke(oldRevoked, now.minus(Duration.ofDays(2)));
+        Long expired1 = save(now.minusSeconds(10));
+        Long expired2 = save(now.minusSeconds(20));
+        Long expired3 = save(now.minusSeconds(30));
+
+        //when
+        purgeJob.run();
+
+        //then
+        assertThat(refreshTokenRepository.existsById(active)).isTrue();
+        assertThat(refreshTokenRepository.existsById(recentlyRevoked)).isTrue();
+        assertThat(refreshTokenRepository.existsById(oldRevoked)).isFalse();
+        assertThat(refreshTokenRepository.existsById(expired1)).isFalse();
+        assertThat(refreshTokenRepository.existsById(expired2)).isFalse();
+        assertThat(refreshTokenRepository.existsById(expired3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 lease를 잡고 있으면: 아무것도 삭제하지 않는다")
+    void skips_when_another_node_holds_the_lease() {
+        //given
+        Long expired = save(Instant.now().minusSeconds(10));
+        jobLeaseRepository.save(new JobLease(RefreshTokenPurgeJob.LEASE_NAME, "other-node", Instant.now().plusSeconds(60)));
+
+        //when
+        purgeJob.run();
+
+        //then
+        assertThat(refreshTokenRepository.existsById(expired)).isTrue();
+    }
+
+    private Long save(Instant expiresAt) {
+        byte[] digest = TokenHashing.sha256(UUID.randomUUID().toString());
+        return refreshTokenRepository.save(new RefreshToken(digest, 1L, expiresAt)).getId();
+    }
+
+    private void revoke(Long id, Instant at) {
+        RefreshToken rt = refreshTokenRepository.findById(id).orElseThrow();
+        refreshTokenRepository.revokeActiveByDigest(rt.getTokenDigest(), at);
+    }
+}
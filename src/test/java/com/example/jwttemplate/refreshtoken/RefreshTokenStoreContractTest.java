@@ -0,0 +1,148 @@
+package com.example.jwttemplate.refreshtoken;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 모든 RefreshTokenStore 구현이 지켜야 하는 동작
+ */
+abstract class RefreshTokenStoreContractTest {
+
+    private static final AtomicLong USER_IDS = new AtomicLong(10_000);
+
+    protected abstract RefreshTokenStore store();
+
+    @Test
+    @DisplayName("저장한 토큰은 digest로 조회된다")
+    void saved_token_is_found() {
+        //given
+        byte[] digest = newDigest();
+        Long userId = newUserId();
+        Instant exp = Instant.now().plus(Duration.ofDays(1));
+
+        //when
+        store().save(digest, userId, exp);
+
+        //then
+        StoredRefreshToken found = store().find(digest).orElseThrow();
+        assertThat(found.userId()).isEqualTo(userId);
+        assertThat(found.expiresAt().toEpochMilli()).isEqualTo(exp.toEpochMilli());
+        assertThat(found.isRevoked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("없는 토큰: 조회/폐기 모두 실패")
+    void missing_token() {
+        byte[] digest = newDigest();
+
+        assertThat(store().find(digest)).isEmpty();
+        assertThat(store().revokeIfActive(digest, Instant.now())).isFalse();
+    }
+
+    @Test
+    @DisplayName("활성 토큰은 한 번만 폐기된다")
+    void revokes_only_once() {
+        //given
+        byte[] digest = newDigest();
+        store().save(digest, newUserId(), Instant.now().plus(Duration.ofDays(1)));
+
+        //when & then
+        assertThat(store().revokeIfActive(digest, Instant.now())).isTrue();
+        assertThat(store().revokeIfActive(digest, Instant.now())).isFalse();
+        assertThat(store().find(digest).orElseThrow().isRevoked()).isTrue();
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 폐기(=rotate)할 수 없다")
+    void expired_token_cannot_be_revoked() {
+        //given
+        byte[] digest = newDigest();
+        Instant now = Instant.now();
+        store().save(digest, newUserId(), now.minusSeconds(1));
+
+        //when & then
+        assertThat(store().revokeIfActive(digest, now)).isFalse();
+    }
+
+    @Test
+    @DisplayName("revokeAllForUser: 해당 사용자의 활성 토큰만 폐기")
+    void revokes_all_tokens_of_user() {
+        //given
+        Instant now = Instant.now();
+        Long userId = newUserId();
+        Long other = newUserId();
+        byte[] a = newDigest();
+        byte[] b = newDigest();
+        byte[] alreadyRevoked = newDigest();
+        byte[] otherUsers = newDigest();
+        store().save(a, userId, now.plus(Duration.ofDays(1)));
+        store().save(b, userId, now.plus(Duration.ofDays(1)));
+        store().save(alreadyRevoked, userId, now.plus(Duration.ofDays(1)));
+        store().revokeIfActive(alreadyRevoked, now);
+        store().save(otherUsers, other, now.plus(Duration.ofDays(1)));
+
+        //when
+        int revoked = store().revokeAllForUser(userId, now);
+
+        //then
+        assertThat(revoked).isEqualTo(2);
+        assertThat(store().find(a).orElseThrow().isRevoked()).isTrue();
+        assertThat(store().find(b).orElseThrow().isRevoked()).isTrue();
+        assertThat(store().find(otherUsers).orElseThrow().isRevoked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("동시에 폐기를 시도하면 정확히 하나만 성공한다")
+    void concurrent_revoke_has_single_winner() throws Exception {
+        //given
+        byte[] digest = newDigest();
+        store().save(digest, newUserId(), Instant.now().plus(Duration.ofDays(1)));
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        //when
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Callable<Boolean> task = () -> {
+                    start.await();
+                    return store().revokeIfActive(digest, Instant.now());
+                };
+                results.add(pool.submit(task));
+            }
+            start.countDown();
+
+            //then
+            int winners = 0;
+            for (Future<Boolean> r : results) {
+                if (r.get()) winners++;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    protected static byte[] newDigest() {
+        return TokenHashing.sha256(UUID.randomUUID().toString());
+    }
+
+    protected static Long newUserId() {
+        return USER_IDS.incrementAndGet();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.jwttemplate.refreshtoken;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenHashingTest {
+
+    @Test
+    @DisplayName("toHex/sha256Hex 는 기존 String.format(\"%02x\") 구현과 같은 문자열을 만든다 (hex 로 저장된 row 호환)")
+    void hex_matches_previous_format() throws Exception {
+        //given
+        Random random = new Random(42);
+        byte[] edges = {0x00, 0x01, 0x0f, 0x10, 0x7f, (byte) 0x80, (byte) 0xf0, (byte) 0xff};
+
+        //when & then
+        assertThat(TokenHashing.toHex(edges)).isEqualTo(previousHex(edges));
+        for (int i = 0; i < 1000; i++) {
+            byte[] bytes = new byte[32];
+            random.nextBytes(bytes);
+            assertThat(TokenHashing.toHex(bytes)).isEqualTo(previousHex(bytes));
+
+            String token = "token-" + i + "-" + random.nextLong();
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            assertThat(TokenHashing.sha256Hex(token)).isEqualTo(previousHex(digest));
+        }
+    }
+
+    // binary 저장을 도입하기 전 TokenHashing.sha256Hex 의 인코딩
+    private static String previousHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+}
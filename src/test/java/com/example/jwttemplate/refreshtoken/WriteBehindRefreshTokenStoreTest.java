@@ -0,0 +1,169 @@
+package com.example.jwttemplate.refreshtoken;
+
+import com.example.jwttemplate.config.RefreshTokenProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = "refresh-token.write-behind.enabled=true")
+class WriteBehindRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    @Autowired
+    WriteBehindRefreshTokenStore store;
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    @Test
+    @DisplayName("flush 전에 폐기된 토큰은 폐기된 상태로 기록된다")
+    void token_revoked_while_pending_is_written_revoked() throws InterruptedException {
+        //given
+        byte[] digest = newDigest();
+        store.save(digest, newUserId(), Instant.now().plus(Duration.ofDays(1)));
+
+        //when
+        boolean revoked = store.revokeIfActive(digest, Instant.now());
+
+        //then
+        assertThat(revoked).isTrue();
+        RefreshToken row = awaitRow(digest);
+        assertThat(row.isRevoked()).isTrue();
+        assertThat(store.revokeIfActive(digest, Instant.now())).isFalse();
+    }
+
+    @Test
+    @DisplayName("DB에 기록된 토큰: 동시 폐기는 batch UPDATE 결과로 하나만 성공한다")
+    void concurrent_revoke_of_written_token_has_single_winner() throws Exception {
+        //given
+        byte[] digest = newDigest();
+        store.save(digest, newUserId(), Instant.now().plus(Duration.ofDays(1)));
+        awaitRow(digest);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        //when
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return store.revokeIfActive(digest, Instant.now());
+                }, pool));
+            }
+            start.countDown();
+
+            //then
+            long winners = results.stream().filter(CompletableFuture::join).count();
+            assertThat(winners).isEqualTo(1);
+            assertThat(refreshTokenRepository.findByTokenDigest(digest).orElseThrow().isRevoked()).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("큐 자리를 기다리다 timeout 나면 503 으로 응답할 예외를 던지고, pending 에도 남기지 않는다")
+    void save_that_cannot_be_queued_is_not_left_pending() throws Exception {
+        //given: flusher 가 첫 batch 를 쓰는 중에 멈춰 있고 큐(1칸)도 가득 찬 상태
+        JpaRefreshTokenStore delegate = mock(JpaRefreshTokenStore.class);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(delegate).insertBatch(anyList());
+        WriteBehindRefreshTokenStore stalled =
+            new WriteBehindRefreshTokenStore(delegate, properties(1, Duration.ofMillis(5), 1), new SimpleMeterRegistry());
+        try {
+            stalled.save(newDigest(), newUserId(), Instant.now().plus(Duration.ofDays(1)));
+            assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+            stalled.save(newDigest(), newUserId(), Instant.now().plus(Duration.ofDays(1)));
+            byte[] digest = newDigest();
+
+            //when & then
+            assertThatThrownBy(() -> stalled.save(digest, newUserId(), Instant.now().plus(Duration.ofDays(1))))
+                .isInstanceOf(RefreshTokenStoreUnavailableException.class)
+                .hasMessage("refresh_token_write_timeout");
+            assertThat(stalled.find(digest)).isEmpty();
+        } finally {
+            release.countDown();
+            stalled.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("batch insert 가 실패하면 한 건씩 다시 쓰고, 그래도 실패한 row 만 lost 로 센다")
+    void failed_batch_is_retried_row_by_row() throws Exception {
+        //given: 특정 row 가 들어 있으면 실패하는 DB
+        JpaRefreshTokenStore delegate = mock(JpaRefreshTokenStore.class);
+        byte[] bad = newDigest();
+        List<Long> written = new CopyOnWriteArrayList<>();
+        doAnswer(inv -> {
+            List<JpaRefreshTokenStore.Insert> rows = inv.getArgument(0);
+            if (rows.stream().anyMatch(r -> Arrays.equals(r.digest(), bad))) {
+                throw new IllegalStateException("duplicate");
+            }
+            rows.forEach(r -> written.add(r.userId()));
+            return null;
+        }).when(delegate).insertBatch(anyList());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WriteBehindRefreshTokenStore failing =
+            new WriteBehindRefreshTokenStore(delegate, properties(3, Duration.ofSeconds(1), 10), meterRegistry);
+        Instant exp = Instant.now().plus(Duration.ofDays(1));
+
+        //when
+        failing.save(newDigest(), 1L, exp);
+        failing.save(bad, 2L, exp);
+        failing.save(newDigest(), 3L, exp);
+        failing.shutdown();
+
+        //then
+        assertThat(written).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(meterRegistry.counter("refresh_token.write_behind.lost").count()).isEqualTo(1);
+    }
+
+    private static RefreshTokenProperties properties(int batchSize, Duration window, int queueCapacity) {
+        return new RefreshTokenProperties(null, RefreshTokenProperties.HashStorage.BINARY, null, null,
+            new RefreshTokenProperties.WriteBehind(true, batchSize, window, queueCapacity, Duration.ofMillis(100)), null);
+    }
+
+    private RefreshToken awaitRow(byte[] digest) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            var row = refreshTokenRepository.findByTokenDigest(digest);
+            if (row.isPresent()) return row.get();
+            Thread.sleep(10);
+        }
+        throw new AssertionError("refresh token was not written");
+    }
+}
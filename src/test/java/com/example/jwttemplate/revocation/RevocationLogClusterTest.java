@@ -0,0 +1,130 @@
+package com.example.jwttemplate.revocation;
+
+import com.example.jwttemplate.JwtTemplateApplication;
+import com.example.jwttemplate.auth.AuthDtos;
+import com.example.jwttemplate.auth.AuthService;
+import com.example.jwttemplate.jwt.AccessTokenDenylist;
+import com.example.jwttemplate.jwt.JwtException;
+import com.example.jwttemplate.jwt.JwtTokenProvider;
+import com.example.jwttemplate.jwt.TokenClaims;
+import com.example.jwttemplate.refreshtoken.TokenHashing;
+import com.example.jwttemplate.user.TokenEpochs;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 같은 H2 DB 를 쓰는 두 application context 를 노드 A, B 로 띄워 A 의 폐기가 B 에 전파되는지 확인한다.
+ */
+class RevocationLogClusterTest {
+
+    static ConfigurableApplicationContext nodeA;
+    static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    @DisplayName("A 에서 로그아웃한 access token 은 B 가 로그를 읽은 뒤 B 에서도 거부")
+    void logout_on_one_node_denies_access_token_on_the_other() {
+        //given
+        MockHttpServletResponse login = login(nodeA, "user@example.com");
+        String access = accessToken(login);
+        TokenClaims claims = nodeB.getBean(JwtTokenProvider.class).verify(access);
+        AccessTokenDenylist denylistB = nodeB.getBean(AccessTokenDenylist.class);
+
+        //when
+        nodeA.getBean(AuthService.class).logout(new MockHttpServletResponse(), refreshToken(login), "Bearer " + access);
+        boolean beforePoll = denylistB.isRevoked(claims.jti());
+        nodeB.getBean(RevocationLogTailer.class).poll();
+
+        //then
+        assertThat(beforePoll).isFalse();
+        assertThat(denylistB.isRevoked(claims.jti())).isTrue();
+    }
+
+    @Test
+    @DisplayName("A 에서 재발급으로 폐기된 refresh token 을 B 에 다시 내면 저장소 조회 없이 refresh_revoked")
+    void rotated_refresh_token_is_rejected_from_memory_on_the_other_node() {
+        //given
+        String oldRefresh = refreshToken(login(nodeA, "user@example.com"));
+        nodeA.getBean(AuthService.class).refresh(new MockHttpServletResponse(), oldRefresh);
+
+        //when
+        nodeB.getBean(RevocationLogTailer.class).poll();
+        double hits = revokedCacheHits(nodeB);
+
+        //then
+        assertThat(nodeB.getBean(Revocations.class).isRefreshTokenRevoked(TokenHashing.sha256(oldRefresh))).isTrue();
+        assertThatThrownBy(() -> nodeB.getBean(AuthService.class).refresh(new MockHttpServletResponse(), oldRefresh))
+            .isInstanceOf(JwtException.class)
+            .hasMessage("refresh_revoked");
+        assertThat(revokedCacheHits(nodeB)).isEqualTo(hits + 2);
+    }
+
+    @Test
+    @DisplayName("A 에서 logout-all 하면 B 는 epoch 캐시 TTL 을 기다리지 않고 이전 토큰을 거부")
+    void logout_all_on_one_node_invalidates_cached_epoch_on_the_other() {
+        //given
+        TokenClaims claims = nodeB.getBean(JwtTokenProvider.class)
+            .verify(accessToken(login(nodeA, "admin@example.com")));
+        TokenEpochs epochsB = nodeB.getBean(TokenEpochs.class);
+        assertThat(epochsB.isCurrent(claims.userId(), claims.epoch())).isTrue();
+
+        //when
+        nodeA.getBean(AuthService.class).logoutAll(new MockHttpServletResponse(), claims.userId());
+        boolean beforePoll = epochsB.isCurrent(claims.userId(), claims.epoch());
+        nodeB.getBean(RevocationLogTailer.class).poll();
+
+        //then
+        assertThat(beforePoll).isTrue();
+        assertThat(epochsB.isCurrent(claims.userId(), claims.epoch())).isFalse();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        // create-drop 이면 두 번째 노드가 첫 번째 노드의 테이블을 지운다
+        return new SpringApplicationBuilder(JwtTemplateApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:cluster;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.jpa.hibernate.ddl-auto=update"
+        );
+    }
+
+    private static MockHttpServletResponse login(ConfigurableApplicationContext node, String email) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        node.getBean(AuthService.class).login(new AuthDtos.LoginRequest(email, "password1234"), response);
+        return response;
+    }
+
+    private static String accessToken(MockHttpServletResponse response) {
+        return response.getHeader(HttpHeaders.AUTHORIZATION).substring("Bearer ".length());
+    }
+
+    private static String refreshToken(MockHttpServletResponse response) {
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        return cookie.substring(cookie.indexOf('=') + 1, cookie.indexOf(';'));
+    }
+
+    private static double revokedCacheHits(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("refresh_token.revoked_cache.requests")
+            .tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.jwttemplate.revocation;
+
+import com.example.jwttemplate.config.RevocationLogProperties;
+import com.example.jwttemplate.global.JobLeases;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevocationLogTailerTest {
+
+    static final RevocationLogProperties PROPS =
+        new RevocationLogProperties(true, Duration.ofHours(1), 100, Duration.ofSeconds(5), Duration.ofHours(1), 1000);
+
+    RevocationLog revocationLog = mock(RevocationLog.class);
+    Revocations revocations = mock(Revocations.class);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    RevocationLogTailer tailer =
+        new RevocationLogTailer(revocationLog, revocations, mock(JobLeases.class), PROPS, meterRegistry);
+
+    @Test
+    @DisplayName("첫 poll 때 head 아래에서 아직 commit 되지 않은 id 도 gap 으로 기다렸다가 반영한다")
+    void ids_uncommitted_at_bootstrap_are_applied_once_they_appear() {
+        //given: id 1, 4 만 commit 되어 있고 2, 3 은 진행 중
+        RevocationLog.Entry committed = entry(1);
+        RevocationLog.Entry head = entry(4);
+        RevocationLog.Entry late = entry(3);
+        when(revocationLog.maxId()).thenReturn(4L);
+        when(revocationLog.readRange(0, 4, PROPS.batchSize())).thenReturn(List.of(committed, head));
+        when(revocationLog.readIds(List.of(2L, 3L))).thenReturn(List.of(late));
+
+        //when
+        tailer.poll();
+        verify(revocations, never()).apply(late.kind(), late.userId(), late.tokenId(), late.expiresAt());
+        int applied = tailer.poll();
+
+        //then: 3 은 늦게 commit 되어 반영, 2 는 gap-timeout 까지 계속 기다린다
+        assertThat(applied).isEqualTo(1);
+        verify(revocations).apply(late.kind(), late.userId(), late.tokenId(), late.expiresAt());
+        assertThat(meterRegistry.get("revocation_log.gaps").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("gap 한도를 넘는 빈 id 는 기다리지 않고 gaps_dropped 로 센다")
+    void missing_ids_over_the_limit_are_counted() {
+        //given: head 까지 한 row 도 보이지 않는다
+        when(revocationLog.maxId()).thenReturn(20_000L);
+
+        //when
+        tailer.poll();
+
+        //then
+        assertThat(meterRegistry.get("revocation_log.gaps_dropped").counter().count()).isEqualTo(20_000);
+        assertThat(meterRegistry.get("revocation_log.gaps").gauge().value()).isZero();
+    }
+
+    private static RevocationLog.Entry entry(long id) {
+        Instant now = Instant.now();
+        return new RevocationLog.Entry(id, RevocationKind.ACCESS_TOKEN, 1L, "jti-" + id, now.plusSeconds(60), now);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.jwttemplate.revocation;
+
+import com.example.jwttemplate.auth.AuthDtos;
+import com.example.jwttemplate.auth.AuthService;
+import com.example.jwttemplate.jwt.AccessTokenDenylist;
+import com.example.jwttemplate.jwt.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+class RevocationsTest {
+
+    @SpyBean
+    RevocationLog revocationLog;
+    @Autowired
+    AuthService authService;
+    @Autowired
+    RevocationLogTailer tailer;
+    @Autowired
+    AccessTokenDenylist denylist;
+    @Autowired
+    JwtTokenProvider tokenProvider;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("revocation log append 가 실패해도 로그아웃은 성공하고, 다음 poll 에서 다시 append 한다")
+    void failed_append_does_not_fail_logout_and_is_retried_on_poll() {
+        //given
+        MockHttpServletResponse login = new MockHttpServletResponse();
+        authService.login(new AuthDtos.LoginRequest("user@example.com", "password1234"), login);
+        String access = login.getHeader(HttpHeaders.AUTHORIZATION).substring("Bearer ".length());
+        String jti = tokenProvider.verify(access).jti();
+        doThrow(new DataAccessResourceFailureException("revocation_log unavailable"))
+            .doCallRealMethod()
+            .when(revocationLog).append(any(), any(), any(), any());
+
+        //when
+        authService.logout(new MockHttpServletResponse(), null, "Bearer " + access);
+        double pendingBeforePoll = pending();
+        tailer.poll();
+
+        //then
+        assertThat(denylist.isRevoked(jti)).isTrue();
+        assertThat(pendingBeforePoll).isEqualTo(1);
+        assertThat(pending()).isZero();
+        assertThat(revocationLog.readAfter(0, Instant.now(), 10_000))
+            .anyMatch(e -> e.kind() == RevocationKind.ACCESS_TOKEN && jti.equals(e.tokenId()));
+    }
+
+    private double pending() {
+        return meterRegistry.get("revocation_log.pending").gauge().value();
+    }
+}
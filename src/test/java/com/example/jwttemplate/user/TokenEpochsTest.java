@@ -0,0 +1,75 @@
+package com.example.jwttemplate.user;
+
+import com.example.jwttemplate.config.TestJwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenEpochsTest {
+
+    final AtomicLong dbEpoch = new AtomicLong(0);
+    final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("bump 전에 epoch 를 읽은 로드가 invalidate 뒤에 끝나도: 옛 epoch 를 캐시에 남기지 않는다")
+    void load_racing_with_invalidate_does_not_recache_old_epoch() throws Exception {
+        //given: 로드가 DB 에서 epoch 0 을 읽은 채로 멈춰 있다
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        TokenEpochs epochs = new TokenEpochs(TestJwtProperties.builder().epochCache(100, Duration.ofMinutes(1)).build(), id -> {
+            long value = dbEpoch.get();
+            if (loads.incrementAndGet() == 1) {
+                read.countDown();
+                await(resume);
+            }
+            return value;
+        }, new SimpleMeterRegistry());
+        CompletableFuture<Boolean> racing = CompletableFuture.supplyAsync(() -> epochs.isCurrent(1L, 0));
+        assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when: logout-all 이 epoch 를 올리고 캐시를 지운 뒤에 로드가 끝난다
+        dbEpoch.set(1);
+        epochs.invalidate(1L);
+        resume.countDown();
+
+        //then: 진행 중이던 요청은 옛 값을 보지만, 다음 조회는 DB 에서 새 epoch 를 읽는다
+        assertThat(racing.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(epochs.isCurrent(1L, 0)).isFalse();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("invalidate 가 없으면 epoch 는 ttl 동안 캐시에서 읽는다")
+    void caches_epoch_without_invalidation() {
+        //given
+        TokenEpochs epochs = new TokenEpochs(TestJwtProperties.builder().epochCache(100, Duration.ofMinutes(1)).build(),
+            id -> {
+                loads.incrementAndGet();
+                return dbEpoch.get();
+            }, new SimpleMeterRegistry());
+
+        //when
+        epochs.isCurrent(1L, 0);
+        epochs.isCurrent(1L, 0);
+
+        //then
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
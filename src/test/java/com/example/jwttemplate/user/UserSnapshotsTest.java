@@ -0,0 +1,84 @@
+package com.example.jwttemplate.user;
+
+import com.example.jwttemplate.config.TestSecurityProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class UserSnapshotsTest {
+
+    @Autowired
+    UserSnapshots userSnapshots;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("email 로 한 번 읽으면 id 조회는 캐시에서 처리되고, invalidate 후에는 다시 DB 에서 읽는다")
+    void email_lookup_fills_id_index_and_invalidate_clears_both() {
+        //given
+        UserSnapshot user = userSnapshots.findByEmail("admin@example.com").orElseThrow();
+        double idHits = count("id", "hit");
+        double emailMisses = count("email", "miss");
+
+        //when
+        UserSnapshot byId = userSnapshots.findById(user.id()).orElseThrow();
+        userSnapshots.invalidate(user.id());
+        userSnapshots.findByEmail("admin@example.com").orElseThrow();
+
+        //then
+        assertThat(byId).isSameAs(user);
+        assertThat(byId.role()).isEqualTo(UserRole.ADMIN);
+        assertThat(count("id", "hit")).isEqualTo(idHits + 1);
+        assertThat(count("email", "miss")).isEqualTo(emailMisses + 1);
+    }
+
+    @Test
+    @DisplayName("id 인덱스에서 먼저 밀려난 사용자도 invalidate 후 email 로그인은 바뀐 비밀번호 해시를 읽는다")
+    void email_lookup_does_not_outlive_id_eviction() throws Exception {
+        //given: 크기 2, A 와 B 를 email 로 읽고 A 의 email 항목만 최근에 쓴다
+        UserRepository repository = mock(UserRepository.class);
+        User a = user(1L, "a@example.com", "old-hash");
+        when(repository.findByEmail("a@example.com")).thenReturn(Optional.of(a));
+        when(repository.findByEmail("b@example.com")).thenReturn(Optional.of(user(2L, "b@example.com", "b-hash")));
+        when(repository.findById(3L)).thenReturn(Optional.of(user(3L, "c@example.com", "c-hash")));
+        UserSnapshots snapshots = new UserSnapshots(
+            TestSecurityProperties.builder().userCache(2, Duration.ofMinutes(1)).build(), repository, new SimpleMeterRegistry());
+        snapshots.findByEmail("a@example.com");
+        Thread.sleep(5);
+        snapshots.findByEmail("b@example.com");
+        Thread.sleep(5);
+        snapshots.findByEmail("a@example.com");
+        Thread.sleep(5);
+
+        //when: C 를 읽으면 id 인덱스는 A 를, email 인덱스는 B 를 내보낸다. 그 뒤 A 의 비밀번호가 바뀐다
+        snapshots.findById(3L);
+        when(repository.findByEmail("a@example.com")).thenReturn(Optional.of(user(1L, "a@example.com", "new-hash")));
+        snapshots.invalidate(1L);
+
+        //then
+        assertThat(snapshots.findByEmail("a@example.com").orElseThrow().passwordHash()).isEqualTo("new-hash");
+    }
+
+    private static User user(Long id, String email, String passwordHash) {
+        User user = new User(email, passwordHash, UserRole.USER);
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+
+    private double count(String index, String result) {
+        return meterRegistry.get("user_cache.requests").tag("index", index).tag("result", result)
+            .functionCounter().count();
+    }
+}
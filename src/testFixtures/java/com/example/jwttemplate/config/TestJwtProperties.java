@@ -0,0 +1,120 @@
+package com.example.jwttemplate.config;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds {@link JwtProperties} for tests and benchmarks with defaults for every component, so adding
+ * a property only means adding it here instead of at every call site of the positional constructor.
+ */
+public final class TestJwtProperties {
+
+    public static final String SECRET = "TEST_TEST_TEST_TEST_TEST_TEST_TEST_TEST_32_BYTES";
+
+    private String secret = SECRET;
+    private String issuer = "test";
+    private long accessTtlSeconds = 120;
+    private long refreshTtlSeconds = 600;
+    private String keyId = "k1";
+    private List<JwtProperties.PreviousKey> previousKeys = List.of();
+    private JwtProperties.VerifiedCache verifiedCache;
+    private boolean fastVerify;
+    private JwtProperties.Denylist denylist;
+    private JwtProperties.EpochCache epochCache;
+    private JwtProperties.Signing signing;
+    private JwtProperties.AccessToken accessToken;
+    private JwtProperties.RefreshToken refreshToken;
+
+    private TestJwtProperties() {}
+
+    public static TestJwtProperties builder() {
+        return new TestJwtProperties();
+    }
+
+    /**
+     * Starts from existing properties, e.g. the application's, to change a single setting.
+     */
+    public static TestJwtProperties from(JwtProperties p) {
+        TestJwtProperties b = new TestJwtProperties();
+        b.secret = p.secret();
+        b.issuer = p.issuer();
+        b.accessTtlSeconds = p.accessTtlSeconds();
+        b.refreshTtlSeconds = p.refreshTtlSeconds();
+        b.keyId = p.keyId();
+        b.previousKeys = p.previousKeys();
+        b.verifiedCache = p.verifiedCache();
+        b.fastVerify = p.fastVerify();
+        b.denylist = p.denylist();
+        b.epochCache = p.epochCache();
+        b.signing = p.signing();
+        b.accessToken = p.accessToken();
+        b.refreshToken = p.refreshToken();
+        return b;
+    }
+
+    public TestJwtProperties secret(String secret) {
+        this.secret = secret;
+        return this;
+    }
+
+    public TestJwtProperties issuer(String issuer) {
+        this.issuer = issuer;
+        return this;
+    }
+
+    public TestJwtProperties ttlSeconds(long access, long refresh) {
+        this.accessTtlSeconds = access;
+        this.refreshTtlSeconds = refresh;
+        return this;
+    }
+
+    public TestJwtProperties keyId(String keyId) {
+        this.keyId = keyId;
+        return this;
+    }
+
+    public TestJwtProperties previousKeys(JwtProperties.PreviousKey... previousKeys) {
+        this.previousKeys = List.of(previousKeys);
+        return this;
+    }
+
+    public TestJwtProperties verifiedCache(boolean enabled, int maxSize) {
+        this.verifiedCache = new JwtProperties.VerifiedCache(enabled, maxSize);
+        return this;
+    }
+
+    public TestJwtProperties fastVerify(boolean fastVerify) {
+        this.fastVerify = fastVerify;
+        return this;
+    }
+
+    public TestJwtProperties denylist(boolean enabled, int expectedEntries, double falsePositiveRate) {
+        this.denylist = new JwtProperties.Denylist(enabled, expectedEntries, falsePositiveRate);
+        return this;
+    }
+
+    public TestJwtProperties epochCache(int maxSize, Duration ttl) {
+        this.epochCache = new JwtProperties.EpochCache(maxSize, ttl);
+        return this;
+    }
+
+    public TestJwtProperties signing(JwtProperties.SigningAlgorithm algorithm) {
+        this.signing = new JwtProperties.Signing(algorithm, null, null, Duration.ofMinutes(5));
+        return this;
+    }
+
+    public TestJwtProperties accessTokenVersion(int version) {
+        this.accessToken = new JwtProperties.AccessToken(version, true);
+        return this;
+    }
+
+    public TestJwtProperties refreshTokenFormat(JwtProperties.RefreshTokenFormat format) {
+        this.refreshToken = new JwtProperties.RefreshToken(format);
+        return this;
+    }
+
+    public JwtProperties build() {
+        return new JwtProperties(secret, issuer, accessTtlSeconds, refreshTtlSeconds, keyId, previousKeys,
+            verifiedCache, fastVerify, denylist, epochCache, signing, accessToken, refreshToken);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.jwttemplate.config;
+
+import java.time.Duration;
+
+/**
+ * Builds {@link SecurityProperties} for tests with the values of the test application.yml as defaults.
+ * See {@link TestJwtProperties}.
+ */
+public final class TestSecurityProperties {
+
+    private SecurityProperties.Cors cors = new SecurityProperties.Cors("http://localhost:3000");
+    private SecurityProperties.Cookie cookie = new SecurityProperties.Cookie("refresh_token", false, "Lax", "/api/auth");
+    private SecurityProperties.Login login = new SecurityProperties.Login(0, 64, 5000);
+    private SecurityProperties.UserCache userCache = new SecurityProperties.UserCache(100, Duration.ofSeconds(60));
+    private SecurityProperties.RateLimit rateLimit = new SecurityProperties.RateLimit(true,
+        new SecurityProperties.RateLimit.Bucket(1000, Duration.ofMillis(1)),
+        new SecurityProperties.RateLimit.Bucket(1000, Duration.ofMillis(1)),
+        1000);
+
+    private TestSecurityProperties() {}
+
+    public static TestSecurityProperties builder() {
+        return new TestSecurityProperties();
+    }
+
+    public TestSecurityProperties login(int passwordThreads, int passwordQueueCapacity, long passwordTimeoutMillis) {
+        this.login = new SecurityProperties.Login(passwordThreads, passwordQueueCapacity, passwordTimeoutMillis);
+        return this;
+    }
+
+    public TestSecurityProperties userCache(int maxSize, Duration ttl) {
+        this.userCache = new SecurityProperties.UserCache(maxSize, ttl);
+        return this;
+    }
+
+    public TestSecurityProperties rateLimit(SecurityProperties.RateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+        return this;
+    }
+
+    public SecurityProperties build() {
+        return new SecurityProperties(cors, cookie, login, userCache, rateLimit);
+    }
+}